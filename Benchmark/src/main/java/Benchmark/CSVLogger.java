@@ -34,6 +34,7 @@ public abstract class CSVLogger {
     private static final int NUMBER_OF_QUERIES = 5;
     private static final String INGEST_AVERAGE_FILE    = "ingestion_average.csv";
     private static final String INGEST_ENTRIES_FILE    = "ingestion_entries.csv";
+    private static final String INGEST_BATCHSIZE_FILE  = "ingestion_batchsize.csv";
     private static final String GENERAL_FILE           = "general.csv";
     private static final String QUERY_SUMMARY_FILE     = "query_summary.csv";
     private static final String QUERY_INDIVIDUALS_FILE = "query_individuals.csv";
@@ -103,12 +104,14 @@ public abstract class CSVLogger {
         Files.write(outPath.resolve("config.txt"), settingsPrint, StandardCharsets.UTF_8);
 
         boolean firstIngestLogger = true;
+        boolean firstBatchSizeLogger = true;
         boolean firstGeneralLogger = true;
         boolean firstQuerySummaryLogger = true;
         boolean firstIndividualQueryLogger = true;
 
         outPath.resolve(INGEST_AVERAGE_FILE).toFile().delete();
         outPath.resolve(INGEST_ENTRIES_FILE).toFile().delete();
+        outPath.resolve(INGEST_BATCHSIZE_FILE).toFile().delete();
         outPath.resolve(GENERAL_FILE).toFile().delete();
         outPath.resolve(QUERY_SUMMARY_FILE).toFile().delete();
         outPath.resolve(QUERY_INDIVIDUALS_FILE).toFile().delete();
@@ -131,6 +134,19 @@ public abstract class CSVLogger {
                 entriesOutput.add(ingestLogger.entriesOverTime());
                 Files.write(outPath.resolve(INGEST_AVERAGE_FILE), averageOutput, StandardCharsets.UTF_8, StandardOpenOption.APPEND, StandardOpenOption.CREATE);
                 Files.write(outPath.resolve(INGEST_ENTRIES_FILE), entriesOutput, StandardCharsets.UTF_8, StandardOpenOption.APPEND, StandardOpenOption.CREATE);
+            } else if(csv instanceof BatchSizeLogger){
+                BatchSizeLogger batchSizeLogger = (BatchSizeLogger) csv;
+                List<String> output = new ArrayList<>();
+
+                if(firstBatchSizeLogger){
+                    firstBatchSizeLogger = false;
+                    if(config.includeCsvHeaderInOutput()){
+                        output.add(batchSizeLogger.CSV_HEADER);
+                    }
+                }
+
+                output.add(batchSizeLogger.batchSizesOverTime());
+                Files.write(outPath.resolve(INGEST_BATCHSIZE_FILE), output, StandardCharsets.UTF_8, StandardOpenOption.APPEND, StandardOpenOption.CREATE);
             } else if(csv instanceof GeneralLogger){
                 GeneralLogger generalLogger = (GeneralLogger) csv;
                 List<String> output = new ArrayList<>();
@@ -243,6 +259,77 @@ public abstract class CSVLogger {
         }
     }
 
+    /**
+     * CSVLogger implementation for logging the batch-sizes that an ingest-target picks when it adapts its batch-size.
+     * Not thread-safe, so each target should get its own instance.
+     */
+    public static final class BatchSizeLogger extends CSVLogger{
+        private final LinkedList<String> threads = new LinkedList<>();
+        private final LinkedList<Integer> batchSizes = new LinkedList<>();
+        private final LinkedList<Double> rowsPerSec = new LinkedList<>();
+        private final LinkedList<Double> latencies = new LinkedList<>();
+        public final String CSV_HEADER = "Time since target start (sec)" + SEPARATOR + "Thread" + SEPARATOR + "Target" + SEPARATOR +
+                "Batch size" + SEPARATOR + "Ingested rows / sec" + SEPARATOR + "Avg. flush latency (ms)";
+        private final String target;
+
+        private BatchSizeLogger(String key, String target){
+            super(key);
+            this.target = target;
+        }
+
+        public static BatchSizeLogger createInstance(String key, String target){
+            BatchSizeLogger logger = new BatchSizeLogger(key, target);
+            CSVLogger.registerInstance(logger, key);
+            return logger;
+        }
+
+        /**
+         * @param batchSize The batch-size that was measured.
+         * @param ingestedRowsPerSec The rows / sec that the target ingested with the batch-size.
+         * @param avgLatencyMillis The average latency of the flushes of the batch-size.
+         */
+        public void write(String sendingThread, int batchSize, double ingestedRowsPerSec, double avgLatencyMillis){
+            timestamps.add(timer.elapsedNanoseconds());
+            threads.add(sendingThread);
+            batchSizes.add(batchSize);
+            rowsPerSec.add(ingestedRowsPerSec);
+            latencies.add(avgLatencyMillis);
+        }
+
+        public String batchSizesOverTime(){
+            assert timestamps.size() == batchSizes.size();
+            Iterator<Long> tsIterator = timestamps.iterator();
+            Iterator<String> threadIterator = threads.iterator();
+            Iterator<Integer> batchSizeIterator = batchSizes.iterator();
+            Iterator<Double> rowsPerSecIterator = rowsPerSec.iterator();
+            Iterator<Double> latencyIterator = latencies.iterator();
+            StringBuilder sb = new StringBuilder();
+
+            boolean first = true;
+            while(tsIterator.hasNext()){
+                if(first){
+                    first = false;
+                } else {
+                    sb.append("\n");
+                }
+
+                sb.append(String.format("%.3f", tsIterator.next() / 1e9));
+                sb.append(SEPARATOR);
+                sb.append(threadIterator.next());
+                sb.append(SEPARATOR);
+                sb.append(target);
+                sb.append(SEPARATOR);
+                sb.append(batchSizeIterator.next());
+                sb.append(SEPARATOR);
+                sb.append(String.format("%.0f", rowsPerSecIterator.next()));
+                sb.append(SEPARATOR);
+                sb.append(String.format("%.3f", latencyIterator.next()));
+            }
+
+            return sb.toString();
+        }
+    }
+
     /**
      * CSVLogger implementation for logging general information. Thread-safe.
      * Implemented as a single-ton due to the need to keep track of when program execution started.
@@ -1,9 +1,13 @@
 package Benchmark.Config;
 
 import Benchmark.Databases.DBTargets;
+import Benchmark.Databases.Influx.InfluxIngestMode;
+import Benchmark.Databases.Kudu.KuduFlushMode;
 import Benchmark.Databases.Kudu.KuduPartitionInterval;
 import Benchmark.Databases.Kudu.KuduPartitionType;
 import Benchmark.Databases.SchemaFormats;
+import Benchmark.Databases.Timescale.TimescaleIngestMode;
+import Benchmark.Generator.RandomStreams;
 
 import java.io.*;
 import java.nio.file.Paths;
@@ -99,6 +103,43 @@ public class ConfigFile {
     private final boolean   serialize;
     private final String    serializePath;
 
+    /**
+     * Type: String
+     * The address (host:port) of the coordinator that lets multiple benchmark processes ingest into the same database
+     * concurrently, or NONE to run without a coordinator.
+     *
+     * The coordinator assigns each ingest-process a disjoint shard of the APs and keeps track of how far each process
+     * has come. Query-processes that communicate dates directly ({@code QUERIES_DATE_COMM} < 0) then use the newest
+     * time that all the ingest-processes have reached as the newest queryable time. All processes must use the same
+     * serialized floors. Only the narrow schema is supported, since the rows of the wide schema must contain all APs.
+     */
+    private static final String COORDINATOR_ADDRESS = "coordinator.address";
+    private static final String COORDINATOR_ADDRESS_DEFAULT = "NONE";
+    /**
+     * Type: Boolean
+     * Controls whether this process hosts the coordinator on the port of {@code COORDINATOR_ADDRESS}. Exactly one of
+     * the coordinated processes must host the coordinator, and it must keep running until the other processes are done.
+     */
+    private static final String COORDINATOR_HOST = "coordinator.host";
+    private static final String COORDINATOR_HOST_DEFAULT = "false";
+    /**
+     * Type: Integer
+     * The number of ingest-processes that the hosted coordinator splits the APs between. Ingestion doesn't start
+     * until this many ingest-processes have connected to the coordinator. Only used by the hosting process.
+     */
+    private static final String COORDINATOR_INGEST_PROCESSES = "coordinator.ingestprocesses";
+    private static final String COORDINATOR_INGEST_PROCESSES_DEFAULT = "1";
+    /**
+     * Type: Integer
+     * The number of milliseconds between each process exchanging its progress with the coordinator.
+     */
+    private static final String COORDINATOR_SYNC_INTERVAL = "coordinator.syncinterval";
+    private static final String COORDINATOR_SYNC_INTERVAL_DEFAULT = "500";
+    private final String    coordinatorAddress;
+    private final boolean   coordinatorHost;
+    private final int       coordinatorIngestProcesses;
+    private final int       coordinatorSyncInterval;
+
     /**
      * Type: Boolean
      * Controls whether floor information and initial data is generated.
@@ -159,6 +200,29 @@ public class ConfigFile {
      */
     private static final String GENERATOR_INPUT_SEPARATOR = "generator.input.separator";
     private static final String GENERATOR_INPUT_SEPARATOR_DEFAULT = ";";
+    /**
+     * Type: String
+     * Path to a binary snapshot of the loaded seed data, or NONE to always load the seed data from the input-files.
+     *
+     * If the snapshot exists and was created from the current input-files, the seed data is read from the snapshot
+     * instead of being parsed. Otherwise the input-files are parsed and the snapshot is (re)written.
+     * The snapshot records a fingerprint (names, sizes and modification times) and a content hash of the input-files.
+     * If the fingerprint differs, the content hash is recomputed to decide whether the snapshot is stale.
+     */
+    private static final String GENERATOR_INPUT_SNAPSHOT_FILE = "generator.input.snapshotfile";
+    private static final String GENERATOR_INPUT_SNAPSHOT_FILE_DEFAULT = "NONE";
+    /**
+     * Type: Integer
+     * The number of seed days to keep in memory, or 0 to keep all seed days in memory.
+     *
+     * If positive, the seed days are streamed from the snapshot given by {@code GENERATOR_INPUT_SNAPSHOT_FILE}, which
+     * is required. The days following the day being generated from are loaded on a background thread (half the window
+     * is used for this), and days that were used the longest time ago are evicted. Since all generator- and
+     * ingest-threads share the window, it should be large enough to hold the day that each thread is on.
+     * Must be at least 2 if positive.
+     */
+    private static final String GENERATOR_INPUT_SEED_WINDOW = "generator.input.seedwindow";
+    private static final String GENERATOR_INPUT_SEED_WINDOW_DEFAULT = "0";
     private final String generatorInputIdmapFilePath;
     private final String generatorInputPropabilityFolder;
     private final String generatorInputFloorInfoFilePath;
@@ -166,6 +230,8 @@ public class ConfigFile {
     private final String generatorInputIgnoreFilePath;
     private final String generatorInputCombinedFilePath;
     private final String generatorInputSeparator;
+    private final String generatorInputSnapshotFilePath;
+    private final int    generatorInputSeedWindow;
 
     /**
      * Type: Double
@@ -248,6 +314,53 @@ public class ConfigFile {
      */
     private static final String GENERATOR_GENERATION_SAMPLE_RATE         = "generator.data.generationsamplerate";
     private static final String GENERATOR_GENERATION_SAMPLE_RATE_DEFAULT = "60";
+    /**
+     * Type: Boolean
+     * If true, the generator reuses a single mutable entry-instance for all the rows it generates,
+     * rather than allocating a new entry for each row. This avoids a large amount of short-lived allocations.
+     *
+     * All targets included in the benchmark consume each entry before returning from {@code add}. Disable this if
+     * a target needs to keep references to the entries it receives.
+     *
+     * Also used during ingest-generation.
+     */
+    private static final String GENERATOR_REUSE_ENTRIES          = "generator.data.reuseentries";
+    private static final String GENERATOR_REUSE_ENTRIES_DEFAULT  = "true";
+    /**
+     * Type: Integer
+     * The number of generation-ticks (generated timestamps) to collect into a single columnar batch before passing
+     * the batch to the targets. Targets can then bind or encode the whole batch in one go.
+     * A value of 0 disables batching, in which case entries are passed to the targets one at a time.
+     *
+     * Also used during ingest-generation.
+     */
+    private static final String GENERATOR_BATCH_TICKS            = "generator.data.batchticks";
+    private static final String GENERATOR_BATCH_TICKS_DEFAULT    = "1";
+    /**
+     * Type: A single accepted value. Accepted values are: SHARED, DAILY, KEYED
+     * Controls how the random numbers used during generation are drawn.
+     * SHARED draws all numbers from a single random-instance, meaning that days must be generated in order.
+     * DAILY draws the numbers of each day from an independent stream, meaning that days can be generated in parallel.
+     * KEYED derives every number from the seed, the AP and the time it is drawn for, meaning that any day can be
+     * generated on its own and that the values of an AP don't depend on how the APs are partitioned.
+     *
+     * The modes generate different data from the same seed.
+     *
+     * Also used during ingest-generation.
+     */
+    private static final String GENERATOR_RANDOM_STREAMS         = "generator.data.randomstreams";
+    private static final String GENERATOR_RANDOM_STREAMS_DEFAULT = RandomStreams.SHARED.toString();
+    /**
+     * Type: Integer
+     * The number of threads to use for the initial data generation. Each thread writes to its own instance of each
+     * of the {@code GENERATOR_OUTPUT_TARGETS}. When writing to a CSV file, each thread writes to its own file whose
+     * name is the configured file path suffixed with the thread number.
+     *
+     * Values above 1 require {@code GENERATOR_RANDOM_STREAMS} to not be SHARED. The generated data is then identical
+     * regardless of the number of threads.
+     */
+    private static final String GENERATOR_THREADS                = "generator.threads";
+    private static final String GENERATOR_THREADS_DEFAULT        = "1";
     /**
      * Type: LocalDate (YYYY-MM-DD)
      * The start date for initial data generation. Inclusive.
@@ -261,8 +374,10 @@ public class ConfigFile {
     private static final String GENERATOR_END_DATE                = "generator.data.enddate";
     private static final String GENERATOR_END_DATE_DEFAULT        = "2019-02-01";
     /**
-     * Type: Comma-separated string of accepted values. Accepted values are: CSV, INFLUX, TIMESCALE, KUDU
+     * Type: Comma-separated string of accepted values. Accepted values are: CSV, DATASET, INFLUX, TIMESCALE, KUDU
      * The outputs to add generated data to. If multiple targets are specified, all targets receive data as it is generated.
+     *
+     * DATASET requires a single generator-thread.
      */
     private static final String GENERATOR_OUTPUT_TARGETS          = "generator.output.targets";
     private static final String GENERATOR_OUTPUT_TARGETS_DEFAULT  = DBTargets.INFLUX.toString();
@@ -273,6 +388,13 @@ public class ConfigFile {
      */
     private static final String GENERATOR_OUTPUT_TO_DISK_TARGET   = "generator.output.filepath";
     private static final String GENERATOR_OUTPUT_TO_DISK_TARGET_DEFAULT = "./bench-out/generator-out.csv";
+    /**
+     * Type: String
+     * If DATASET is specified in {@code GENERATOR_OUTPUT_TARGETS} then this is the path of the binary dataset file that
+     * the generated data is written to. The file can be replayed during ingestion using {@code INGEST_REPLAY_FILE}.
+     */
+    private static final String GENERATOR_OUTPUT_DATASET_TARGET   = "generator.output.dataset.filepath";
+    private static final String GENERATOR_OUTPUT_DATASET_TARGET_DEFAULT = "./bench-out/generator-out.dataset";
     private final double    generatorScaleFloors;
     private final double    generatorScaleSensors;
     private final double    generatorScaleConnectedClients;
@@ -280,10 +402,15 @@ public class ConfigFile {
     private final int       generatorJitter;
     private final int       generatorSeedSamplerate;
     private final int       generatorGenerationSamplerate;
+    private final boolean   generatorReuseEntries;
+    private final int       generatorBatchTicks;
+    private final RandomStreams generatorRandomStreams;
+    private final int       generatorThreads;
     private final LocalDate generatorStartDate;
     private final LocalDate generatorEndDate;
     private final DBTargets[] generatorOutputTargets;
     private final String    generatorToDiskTarget;
+    private final String    generatorDatasetTarget;
 
     /**
      * Type: String
@@ -319,6 +446,7 @@ public class ConfigFile {
      * Type: Integer
      * The max number of inserts to batch together during generation/ingestion.
      * A batch-write is issued if either the batch-size or flush-time is reached
+     * When {@code INFLUX_INGEST_MODE} is LINE_PROTOCOL, this is the number of lines per write-request.
      */
     private static final String INFLUX_BATCHSIZE = "influx.batch.size";
     private static final String INFLUX_BATCHSIZE_DEFAULT = "3000";
@@ -326,9 +454,35 @@ public class ConfigFile {
      * Type: Integer
      * The max number of milliseconds between batch-writes.
      * A batch-write is issued if either the batch-size or flush-time is reached
+     * Not used when {@code INFLUX_INGEST_MODE} is LINE_PROTOCOL, since batches are then only written once they are full.
      */
     private static final String INFLUX_BATCH_FLUSH_TIME = "influx.batch.flushtime";
     private static final String INFLUX_BATCH_FLUSH_TIME_DEFAULT = "1000";
+    /**
+     * Type: A single accepted value. Accepted values are: CLIENT, LINE_PROTOCOL
+     * How generated data is written to Influx.
+     *
+     * CLIENT builds a Point per row and hands it to the Influx library, which batches the points and serializes them
+     * to line protocol on its own thread.
+     * LINE_PROTOCOL encodes the rows as line protocol directly into a reusable buffer, and posts full batches to the
+     * write-endpoint of Influx on the thread that generated them, or in the background if {@code INFLUX_LINE_PROTOCOL_INFLIGHT} is above 0.
+     */
+    private static final String INFLUX_INGEST_MODE = "influx.ingestmode";
+    private static final String INFLUX_INGEST_MODE_DEFAULT = InfluxIngestMode.CLIENT.toString();
+    /**
+     * Type: Boolean
+     * If enabled, the write-requests are gzip-compressed when {@code INFLUX_INGEST_MODE} is LINE_PROTOCOL.
+     */
+    private static final String INFLUX_LINE_PROTOCOL_GZIP = "influx.lineprotocol.gzip";
+    private static final String INFLUX_LINE_PROTOCOL_GZIP_DEFAULT = "false";
+    /**
+     * Type: Integer
+     * The number of write-requests that each Influx-target may have in flight in the background while it encodes the
+     * next batch, when {@code INFLUX_INGEST_MODE} is LINE_PROTOCOL.
+     * With 0, each batch is written on the thread that generated it.
+     */
+    private static final String INFLUX_LINE_PROTOCOL_INFLIGHT = "influx.lineprotocol.inflight";
+    private static final String INFLUX_LINE_PROTOCOL_INFLIGHT_DEFAULT = "0";
     private final String  influxUrl;
     private final String  influxUsername;
     private final String  influxPassword;
@@ -336,6 +490,9 @@ public class ConfigFile {
     private final String  influxTable;
     private final int     influxBatchsize;
     private final int     influxFlushtime;
+    private final InfluxIngestMode influxIngestMode;
+    private final boolean influxLineProtocolGzip;
+    private final int     influxLineProtocolInflight;
 
     /**
      * Type: String
@@ -386,6 +543,35 @@ public class ConfigFile {
      */
     private static final String TIMESCALE_CREATE_SECONDARY_INDEX = "timescale.createsecondaryindex";
     private static final String TIMESCALE_CREATE_SECONDARY_INDEX_DEFAULT = "false";
+    /**
+     * Type: A single accepted value. Accepted values are: INSERT, COPY_TEXT, COPY_BINARY
+     * How generated data is written to Timescale.
+     *
+     * INSERT binds each row to a prepared INSERT-statement, and executes the statement in batches of {@code TIMESCALE_BATCHSIZE} rows.
+     * COPY_TEXT and COPY_BINARY stream the rows to the database using the COPY-protocol ({@code COPY ... FROM STDIN})
+     * in the text- or binary-format respectively, which avoids the overhead of binding each row to a statement.
+     * Timestamps are written in the default time-zone of the JVM in all modes.
+     */
+    private static final String TIMESCALE_INGEST_MODE = "timescale.ingestmode";
+    private static final String TIMESCALE_INGEST_MODE_DEFAULT = TimescaleIngestMode.INSERT.toString();
+    /**
+     * Type: Integer
+     * The number of rows to write per COPY-operation when {@code TIMESCALE_INGEST_MODE} uses COPY.
+     * Each COPY-operation is committed as a whole once it ends.
+     */
+    private static final String TIMESCALE_COPY_CHUNKSIZE = "timescale.copy.chunksize";
+    private static final String TIMESCALE_COPY_CHUNKSIZE_DEFAULT = "10000";
+    /**
+     * Type: Integer
+     * The number of connections that each Timescale-target uses to execute its batches when {@code TIMESCALE_INGEST_MODE} is INSERT.
+     *
+     * With more than 1 connection, a full batch is executed in the background on one connection while the thread that
+     * owns the target binds the next batch on another connection. At most this many batches minus 1 are then being
+     * executed at once per target. This makes it possible to scale the load on the database independently of the
+     * number of generator- and ingest-threads.
+     */
+    private static final String TIMESCALE_FLUSH_CONNECTIONS = "timescale.flushconnections";
+    private static final String TIMESCALE_FLUSH_CONNECTIONS_DEFAULT = "1";
     private final String  timescaleHost;
     private final String  timescaleUsername;
     private final String  timescalePassword;
@@ -394,6 +580,9 @@ public class ConfigFile {
     private final Integer timescaleBatchSize;
     private final boolean timescaleReWriteBatchedInserts;
     private final boolean timescaleCreateSecondaryIndex;
+    private final TimescaleIngestMode timescaleIngestMode;
+    private final int     timescaleCopyChunkSize;
+    private final int     timescaleFlushConnections;
 
     /**
      * Type: String with single hostname or comma-separated list of masters
@@ -419,6 +608,8 @@ public class ConfigFile {
     /**
      * Type: Integer
      * The number of inserts to batch together during generation/ingestion before a flush is issued.
+     * When {@code KUDU_FLUSH_MODE} is BACKGROUND, this is instead the number of inserts between checks for errors
+     * that occurred during the background-flushes.
      */
     private static final String KUDU_BATCH_SIZE = "kudu.batchsize";
     private static final String KUDU_BATCH_SIZE_DEFAULT = "3000";
@@ -429,6 +620,8 @@ public class ConfigFile {
      * This does not have a 1-to-1 correlation with the batch size. If the batch size is too
      * big the buffer might overflow and throw an exception, in which case you'll need to
      * increase this value.
+     * When {@code KUDU_FLUSH_MODE} is BACKGROUND, a buffer is flushed once it is full, and inserts wait when
+     * the buffers are full instead of throwing an exception.
      */
     // NOTE: The internals of the Kudu client library sets this value to 1000 by default, but that's not guaranteed to be a good value.
     // NOTE: How big this ends up making the buffer (i.e. how many things can be added to the batch before the buffer is filled)
@@ -436,6 +629,19 @@ public class ConfigFile {
     //       (it might only fit 50, or might fit 5000... I'm unsure)
     private static final String KUDU_MUTATION_BUFFER_SPACE = "kudu.mutationbufferspace";
     private static final String KUDU_MUTATION_BUFFER_SPACE_DEFAULT = "6000";
+    /**
+     * Type: A single accepted value. Accepted values are: MANUAL, BACKGROUND
+     *
+     * Controls how the inserts buffered by the Kudu library are flushed to the database.
+     *
+     * MANUAL flushes the buffer on the ingest-thread every {@code KUDU_BATCH_SIZE} inserts, and checks the result of
+     * every insert.
+     * BACKGROUND lets the Kudu library flush a full buffer in the background while the ingest-thread fills another.
+     * Errors from the flushes are collected by the library and checked periodically. The number of times and the
+     * total time that inserts waited for a full buffer to be flushed is logged when ingestion finishes.
+     */
+    private static final String KUDU_FLUSH_MODE = "kudu.flushmode";
+    private static final String KUDU_FLUSH_MODE_DEFAULT = KuduFlushMode.MANUAL.toString();
     /**
      * Type: A single accepted value. Accepted values are: NONE, HASH, RANGE, HASH_AND_RANGE
      *
@@ -467,8 +673,9 @@ public class ConfigFile {
      * Type: Integer
      *
      * The number of years of range-partitions to pre-create during table-creation.
-     * The benchmark doesn't (currently) support creating new partitions on-the-fly during ingestion to keep
+     * By default, the benchmark doesn't create new partitions on-the-fly during ingestion to keep
      * synchronization-overhead down, since Kudu can fill 1 year of data in less than 20 seconds in some configurations.
+     * See {@code KUDU_RANGE_PARTITION_AHEAD} for creating the partitions on-the-fly instead.
      *
      * Ingestion/generation will warn when the pre-created range-partitions have been exceeded. All writes from then on
      * land in a final pre-created unbounded partition.
@@ -478,13 +685,39 @@ public class ConfigFile {
      */
     private static final String KUDU_RANGE_PARTITION_PRECREATE_YEARS = "kudu.partitioning.range.precreatedyears";
     private static final String KUDU_RANGE_PARTITION_PRECREATE_YEARS_DEFAULT = "4";
+    /**
+     * Type: Integer
+     *
+     * If above 0, range-partitions are created on-the-fly during ingestion rather than pre-created, keeping this many
+     * partitions ahead of the newest ingested data. The table is created with this many partitions, and a background
+     * thread adds new partitions as ingestion progresses. Ingestion waits if it reaches the last partition before the
+     * next one has been added. {@code KUDU_RANGE_PARTITION_PRECREATE_YEARS} isn't used in this case.
+     *
+     * The table must have been created with this setting enabled, since partitions can't be added after the unbounded
+     * last partition that is created otherwise.
+     */
+    private static final String KUDU_RANGE_PARTITION_AHEAD = "kudu.partitioning.range.ahead";
+    private static final String KUDU_RANGE_PARTITION_AHEAD_DEFAULT = "0";
+    /**
+     * Type: Integer
+     *
+     * If above 0 while {@code KUDU_RANGE_PARTITION_AHEAD} is above 0, range-partitions are dropped once more than this
+     * many partitions lie entirely before the newest ingested data. This keeps the number of tablets at what a
+     * long-running deployment with a retention-policy would have.
+     * 0 keeps all partitions.
+     */
+    private static final String KUDU_RANGE_PARTITION_RETENTION = "kudu.partitioning.range.retention";
+    private static final String KUDU_RANGE_PARTITION_RETENTION_DEFAULT = "0";
     private final String kuduMasters;
     private final String kuduTable;
     private final int    kuduMaxColumns;
     private final int    kuduBatchSize;
     private final int    kuduMutationBufferSpace;
+    private final KuduFlushMode kuduFlushMode;
     private final int    kuduHashBuckets;
     private final int    kuduRangePrecreatedNumberOfYears;
+    private final int    kuduRangePartitionsAhead;
+    private final int    kuduRangePartitionsRetained;
     private final KuduPartitionType kuduPartitionType;
     private final KuduPartitionInterval kuduPartitionInterval;
 
@@ -502,8 +735,9 @@ public class ConfigFile {
     private static final String INGEST_START_DATE_DEFAULT  = "2019-02-01";
     /**
      * Type: Integer
-     * The desired number of entries for each ingestion-thread to generate per second.
-     * The desired number of entries are spread out over each second with a variable delay to reach the desired speed.
+     * The desired number of entries for ingestion to generate per second, combined across all ingest-threads.
+     * The desired number of entries are spread out over each second by a rate limiter that is shared by the threads.
+     * When entries are batched, each batch waits for the permits of all its entries before it is inserted.
      * A value <= 0 will not throttle the ingestion-speed.
      */
     private static final String INGEST_SPEED               = "ingest.speed";
@@ -552,18 +786,121 @@ public class ConfigFile {
      * Type: Boolean
      * Controls whether the ingest-threads share a single Target-instance or whether they each get one instance.
      *
-     * A single instance allows sharing of handles and resources, but no external synchronization is provided.
-     * The Target-implementation for the specified {@code INGEST_TARGET} must be thread-safe if this is enabled.
+     * A single instance shares its handles and resources, such as its database-connection or -session, between the
+     * threads. Each thread buffers its entries separately (see {@code INGEST_SHARED_INSTANCE_BATCH_ROWS}), and the
+     * buffered batches are then written to the shared instance by 1 thread at a time.
      */
     private static final String INGEST_SHARED_INSTANCE     = "ingest.target.sharedinstance";
     private static final String INGEST_SHARED_INSTANCE_DEFAULT = "false";
+    /**
+     * Type: Integer
+     * The number of entries that each ingest-thread buffers before writing them to the shared Target-instance, when
+     * {@code INGEST_SHARED_INSTANCE} is enabled. Entries that are generated in batches (see {@code GENERATOR_BATCH_TICKS})
+     * are written a batch at a time instead.
+     */
+    private static final String INGEST_SHARED_INSTANCE_BATCH_ROWS     = "ingest.target.sharedinstance.batchrows";
+    private static final String INGEST_SHARED_INSTANCE_BATCH_ROWS_DEFAULT = "1000";
     /**
      * Type: Integer
      * The number of threads to create for ingestion. A dedicated ingest-threadpool is created with this many threads,
      * and this many ingest-tasks are then submitted to the pool.
+     *
+     * With the wide schema, each row must contain all APs. Multiple ingest-threads then each generate the columns of
+     * their own APs, which are assembled into whole rows and inserted by {@code INGEST_WIDE_WRITER_THREADS} additional
+     * threads. Replayed wide rows are already whole, so replay splits them between the ingest-threads as usual.
      */
     private static final String INGEST_THREADS             = "ingest.threads";
     private static final String INGEST_THREADS_DEFAULT     = "1";
+    /**
+     * Type: String
+     * The path of a binary dataset file to replay during ingestion, or NONE to generate the ingest-data as usual.
+     *
+     * A dataset file is created by running the generator with the DATASET target. When replaying, the rows of the file
+     * are added to the ingest-target as fast as {@code INGEST_SPEED} allows without running the generator, so every
+     * database receives identical input and ingestion isn't slowed down by data generation. Ingestion ends when the
+     * end of the file is reached. With multiple ingest-threads, the blocks of the file are split between the threads.
+     *
+     * The file must have been generated with the same schema and floors as the ingesting benchmark run. Generate it
+     * with the generator start date set to {@code INGEST_START_DATE} to replay the data that ingestion would generate.
+     */
+    private static final String INGEST_REPLAY_FILE         = "ingest.replay.filepath";
+    private static final String INGEST_REPLAY_FILE_DEFAULT = "NONE";
+    /**
+     * Type: Integer
+     * The number of threads that insert the assembled rows when multiple ingest-threads generate data for the wide schema.
+     * Each writer-thread gets its own Target-instance unless {@code INGEST_SHARED_INSTANCE} is enabled.
+     */
+    private static final String INGEST_WIDE_WRITER_THREADS = "ingest.wide.writerthreads";
+    private static final String INGEST_WIDE_WRITER_THREADS_DEFAULT = "1";
+    /**
+     * Type: Integer
+     * The number of rows that can be assembled at a time when multiple ingest-threads generate data for the wide schema.
+     * The ingest-threads wait for the writer-threads once this many rows are waiting to be inserted, so it should be
+     * at least a few times {@code GENERATOR_BATCH_TICKS} times {@code INGEST_WIDE_WRITER_THREADS}.
+     */
+    private static final String INGEST_WIDE_BUFFER_ROWS    = "ingest.wide.bufferrows";
+    private static final String INGEST_WIDE_BUFFER_ROWS_DEFAULT = "4096";
+    /**
+     * Type: Integer
+     * The number of generated batches that each ingest-thread can have waiting to be written, or 0 to disable pipelining.
+     *
+     * When pipelining is enabled, each ingest-thread gets a dedicated writer-thread that writes the generated batches
+     * to the ingest-target, so that the next batch is generated while the previous one is being inserted. Generation
+     * blocks when this many batches are waiting. Requires batching ({@code GENERATOR_BATCH_TICKS} > 0).
+     * Has no effect on the writer-threads of wide rows that are assembled from multiple ingest-threads, since their
+     * rows are already generated by other threads.
+     */
+    private static final String INGEST_PIPELINE_DEPTH      = "ingest.pipeline.depth";
+    private static final String INGEST_PIPELINE_DEPTH_DEFAULT = "0";
+    /**
+     * Type: Integer
+     * The maximum number of seconds of generated time that an ingest-thread may get ahead of the slowest ingest-thread.
+     * A thread that gets further ahead waits until the slowest thread catches up.
+     * A value < 0 lets the threads run at independent speeds.
+     *
+     * Regardless of this setting, the newest time that ingestion communicates to queries is the time that all the
+     * ingest-threads have reached, so that queries for recent data don't hit data that slower threads haven't
+     * inserted yet. Limiting the skew keeps that time close to the time of the fastest thread, which keeps the
+     * workload of mixed runs comparable when the number of ingest-threads changes.
+     */
+    private static final String INGEST_MAX_SKEW            = "ingest.maxskew";
+    private static final String INGEST_MAX_SKEW_DEFAULT    = "-1";
+    /**
+     * Type: Boolean
+     * Controls whether the ingest-targets adjust their batch-size while ingesting, instead of using the fixed batch-size
+     * of the target ({@code TIMESCALE_BATCHSIZE}, {@code TIMESCALE_COPY_CHUNKSIZE}, {@code KUDU_BATCH_SIZE} or
+     * {@code INFLUX_BATCHSIZE}), which is then only used as the initial batch-size.
+     *
+     * Each target measures the latency of its flushes and the rows / sec that it ingests, including the time spent
+     * generating and encoding the rows, and repeatedly grows or shrinks its batch-size in the direction that gives the
+     * most rows / sec, within {@code INGEST_ADAPTIVE_BATCH_MIN} and {@code INGEST_ADAPTIVE_BATCH_MAX}.
+     * The batch-sizes are logged to the csv-file 'ingestion_batchsize.csv'.
+     * Has no effect on Influx when {@code INFLUX_INGEST_MODE} is CLIENT, or on Kudu when {@code KUDU_FLUSH_MODE} is
+     * BACKGROUND, since the batches are then flushed by the database library.
+     */
+    private static final String INGEST_ADAPTIVE_BATCH      = "ingest.adaptivebatch.enabled";
+    private static final String INGEST_ADAPTIVE_BATCH_DEFAULT = "false";
+    /**
+     * Type: Integer
+     * The smallest batch-size that the adaptive batch-size may use, when {@code INGEST_ADAPTIVE_BATCH} is enabled.
+     */
+    private static final String INGEST_ADAPTIVE_BATCH_MIN  = "ingest.adaptivebatch.min";
+    private static final String INGEST_ADAPTIVE_BATCH_MIN_DEFAULT = "100";
+    /**
+     * Type: Integer
+     * The largest batch-size that the adaptive batch-size may use, when {@code INGEST_ADAPTIVE_BATCH} is enabled.
+     * For Kudu, the batches must fit in {@code KUDU_MUTATION_BUFFER_SPACE}.
+     */
+    private static final String INGEST_ADAPTIVE_BATCH_MAX  = "ingest.adaptivebatch.max";
+    private static final String INGEST_ADAPTIVE_BATCH_MAX_DEFAULT = "50000";
+    /**
+     * Type: Integer
+     * The longest that a flush may take on average, in milliseconds, when {@code INGEST_ADAPTIVE_BATCH} is enabled.
+     * The batch-size is shrunk whenever the flushes take longer than this, regardless of their rows / sec.
+     * A value of 0 doesn't limit the latency of the flushes.
+     */
+    private static final String INGEST_ADAPTIVE_BATCH_MAX_LATENCY = "ingest.adaptivebatch.maxlatency";
+    private static final String INGEST_ADAPTIVE_BATCH_MAX_LATENCY_DEFAULT = "0";
     private final boolean   ingestEnabled;
     private final LocalDate ingestStartDate;
     private final int       ingestSpeed;
@@ -573,7 +910,17 @@ public class ConfigFile {
     private final DBTargets ingestTarget;
     private final boolean   ingestTargetRecreate;
     private final boolean   ingestTargetSharedInstance;
+    private final int       ingestSharedInstanceBatchRows;
     private final int       ingestThreads;
+    private final String    ingestReplayFile;
+    private final int       ingestWideWriterThreads;
+    private final int       ingestWideBufferRows;
+    private final int       ingestPipelineDepth;
+    private final int       ingestMaxSkew;
+    private final boolean   ingestAdaptiveBatch;
+    private final int       ingestAdaptiveBatchMin;
+    private final int       ingestAdaptiveBatchMax;
+    private final int       ingestAdaptiveBatchMaxLatency;
 
     /**
      * Type: Boolean
@@ -971,6 +1318,12 @@ public class ConfigFile {
         prop.setProperty(SERIALIZE_ENABLED, SERIALIZE_ENABLED_DEFAULT);
         prop.setProperty(SERIALIZE_PATH, SERIALIZE_PATH_DEFAULT);
 
+        //Coordinator
+        prop.setProperty(COORDINATOR_ADDRESS, COORDINATOR_ADDRESS_DEFAULT);
+        prop.setProperty(COORDINATOR_HOST, COORDINATOR_HOST_DEFAULT);
+        prop.setProperty(COORDINATOR_INGEST_PROCESSES, COORDINATOR_INGEST_PROCESSES_DEFAULT);
+        prop.setProperty(COORDINATOR_SYNC_INTERVAL, COORDINATOR_SYNC_INTERVAL_DEFAULT);
+
         //Generator
         prop.setProperty(GENERATOR_ENABLED, GENERATOR_ENABLED_DEFAULT);
         prop.setProperty(GENERATOR_INPUT_IDMAP_FILE, GENERATOR_INPUT_IDMAP_FILE_DEFAULT);
@@ -980,6 +1333,8 @@ public class ConfigFile {
         prop.setProperty(GENERATOR_INPUT_IGNORE_FILE, GENERATOR_INPUT_IGNORE_FILE_DEFAULT);
         prop.setProperty(GENERATOR_INPUT_COMBINED_FILE, GENERATOR_INPUT_COMBINED_FILE_DEFAULT);
         prop.setProperty(GENERATOR_INPUT_SEPARATOR, GENERATOR_INPUT_SEPARATOR_DEFAULT);
+        prop.setProperty(GENERATOR_INPUT_SNAPSHOT_FILE, GENERATOR_INPUT_SNAPSHOT_FILE_DEFAULT);
+        prop.setProperty(GENERATOR_INPUT_SEED_WINDOW, GENERATOR_INPUT_SEED_WINDOW_DEFAULT);
         prop.setProperty(GENERATOR_SCALE_FLOORS, GENERATOR_SCALE_FLOORS_DEFAULT);
         prop.setProperty(GENERATOR_SCALE_SENSORS, GENERATOR_SCALE_SENSORS_DEFAULT);
         prop.setProperty(GENERATOR_SCALE_CONNECTED_CLIENTS, GENERATOR_SCALE_CONNECTED_CLIENTS_DEFAULT);
@@ -987,10 +1342,15 @@ public class ConfigFile {
         prop.setProperty(GENERATOR_JITTER, GENERATOR_JITTER_DEFAULT);
         prop.setProperty(GENERATOR_SEED_SAMPLE_RATE, GENERATOR_SEED_SAMPLE_RATE_DEFAULT);
         prop.setProperty(GENERATOR_GENERATION_SAMPLE_RATE, GENERATOR_GENERATION_SAMPLE_RATE_DEFAULT);
+        prop.setProperty(GENERATOR_REUSE_ENTRIES, GENERATOR_REUSE_ENTRIES_DEFAULT);
+        prop.setProperty(GENERATOR_BATCH_TICKS, GENERATOR_BATCH_TICKS_DEFAULT);
+        prop.setProperty(GENERATOR_RANDOM_STREAMS, GENERATOR_RANDOM_STREAMS_DEFAULT);
+        prop.setProperty(GENERATOR_THREADS, GENERATOR_THREADS_DEFAULT);
         prop.setProperty(GENERATOR_START_DATE, GENERATOR_START_DATE_DEFAULT);
         prop.setProperty(GENERATOR_END_DATE, GENERATOR_END_DATE_DEFAULT);
         prop.setProperty(GENERATOR_OUTPUT_TARGETS, GENERATOR_OUTPUT_TARGETS_DEFAULT);
         prop.setProperty(GENERATOR_OUTPUT_TO_DISK_TARGET, GENERATOR_OUTPUT_TO_DISK_TARGET_DEFAULT);
+        prop.setProperty(GENERATOR_OUTPUT_DATASET_TARGET, GENERATOR_OUTPUT_DATASET_TARGET_DEFAULT);
 
         //Influx
         prop.setProperty(INFLUX_URL, INFLUX_URL_DEFAULT);
@@ -1000,6 +1360,9 @@ public class ConfigFile {
         prop.setProperty(INFLUX_TABLE, INFLUX_TABLE_DEFAULT);
         prop.setProperty(INFLUX_BATCHSIZE, INFLUX_BATCHSIZE_DEFAULT);
         prop.setProperty(INFLUX_BATCH_FLUSH_TIME, INFLUX_BATCH_FLUSH_TIME_DEFAULT);
+        prop.setProperty(INFLUX_INGEST_MODE, INFLUX_INGEST_MODE_DEFAULT);
+        prop.setProperty(INFLUX_LINE_PROTOCOL_GZIP, INFLUX_LINE_PROTOCOL_GZIP_DEFAULT);
+        prop.setProperty(INFLUX_LINE_PROTOCOL_INFLIGHT, INFLUX_LINE_PROTOCOL_INFLIGHT_DEFAULT);
 
         //Timescale
         prop.setProperty(TIMESCALE_HOST, TIMESCALE_HOST_DEFAULT);
@@ -1010,6 +1373,9 @@ public class ConfigFile {
         prop.setProperty(TIMESCALE_BATCHSIZE, TIMESCALE_BATCHSIZE_DEFAULT);
         prop.setProperty(TIMESCALE_REWRITE_BATCH, TIMESCALE_REWRITE_BATCH_DEFAULT);
         prop.setProperty(TIMESCALE_CREATE_SECONDARY_INDEX, TIMESCALE_CREATE_SECONDARY_INDEX_DEFAULT);
+        prop.setProperty(TIMESCALE_INGEST_MODE, TIMESCALE_INGEST_MODE_DEFAULT);
+        prop.setProperty(TIMESCALE_COPY_CHUNKSIZE, TIMESCALE_COPY_CHUNKSIZE_DEFAULT);
+        prop.setProperty(TIMESCALE_FLUSH_CONNECTIONS, TIMESCALE_FLUSH_CONNECTIONS_DEFAULT);
 
         //Kudu
         prop.setProperty(KUDU_HOST, KUDU_HOST_DEFAULT);
@@ -1017,10 +1383,13 @@ public class ConfigFile {
         prop.setProperty(KUDU_MAX_SUPPORTED_COLUMNS, KUDU_MAX_SUPPORTED_COLUMNS_DEFAULT);
         prop.setProperty(KUDU_BATCH_SIZE, KUDU_BATCH_SIZE_DEFAULT);
         prop.setProperty(KUDU_MUTATION_BUFFER_SPACE, KUDU_MUTATION_BUFFER_SPACE_DEFAULT);
+        prop.setProperty(KUDU_FLUSH_MODE, KUDU_FLUSH_MODE_DEFAULT);
         prop.setProperty(KUDU_PARTITION_TYPE, KUDU_PARTITION_TYPE_DEFAULT);
         prop.setProperty(KUDU_HASH_PARTITION_BUCKETS, KUDU_HASH_PARTITION_BUCKETS_DEFAULT);
         prop.setProperty(KUDU_RANGE_PARTITION_INTERVAL, KUDU_RANGE_PARTITION_INTERVAL_DEFAULT);
         prop.setProperty(KUDU_RANGE_PARTITION_PRECREATE_YEARS, KUDU_RANGE_PARTITION_PRECREATE_YEARS_DEFAULT);
+        prop.setProperty(KUDU_RANGE_PARTITION_AHEAD, KUDU_RANGE_PARTITION_AHEAD_DEFAULT);
+        prop.setProperty(KUDU_RANGE_PARTITION_RETENTION, KUDU_RANGE_PARTITION_RETENTION_DEFAULT);
 
         //Ingest
         prop.setProperty(INGEST_ENABLED, INGEST_ENABLED_DEFAULT);
@@ -1032,7 +1401,17 @@ public class ConfigFile {
         prop.setProperty(INGEST_TARGET, INGEST_TARGET_DEFAULT);
         prop.setProperty(INGEST_TARGET_RECREATE, INGEST_TARGET_RECREATE_DEFAULT);
         prop.setProperty(INGEST_SHARED_INSTANCE, INGEST_SHARED_INSTANCE_DEFAULT);
+        prop.setProperty(INGEST_SHARED_INSTANCE_BATCH_ROWS, INGEST_SHARED_INSTANCE_BATCH_ROWS_DEFAULT);
         prop.setProperty(INGEST_THREADS, INGEST_THREADS_DEFAULT);
+        prop.setProperty(INGEST_REPLAY_FILE, INGEST_REPLAY_FILE_DEFAULT);
+        prop.setProperty(INGEST_WIDE_WRITER_THREADS, INGEST_WIDE_WRITER_THREADS_DEFAULT);
+        prop.setProperty(INGEST_WIDE_BUFFER_ROWS, INGEST_WIDE_BUFFER_ROWS_DEFAULT);
+        prop.setProperty(INGEST_PIPELINE_DEPTH, INGEST_PIPELINE_DEPTH_DEFAULT);
+        prop.setProperty(INGEST_MAX_SKEW, INGEST_MAX_SKEW_DEFAULT);
+        prop.setProperty(INGEST_ADAPTIVE_BATCH, INGEST_ADAPTIVE_BATCH_DEFAULT);
+        prop.setProperty(INGEST_ADAPTIVE_BATCH_MIN, INGEST_ADAPTIVE_BATCH_MIN_DEFAULT);
+        prop.setProperty(INGEST_ADAPTIVE_BATCH_MAX, INGEST_ADAPTIVE_BATCH_MAX_DEFAULT);
+        prop.setProperty(INGEST_ADAPTIVE_BATCH_MAX_LATENCY, INGEST_ADAPTIVE_BATCH_MAX_LATENCY_DEFAULT);
 
         //Queries
         prop.setProperty(QUERIES_ENABLED, QUERIES_ENABLED_DEFAULT);
@@ -1090,6 +1469,12 @@ public class ConfigFile {
         serialize        = Boolean.parseBoolean(prop.getProperty(SERIALIZE_ENABLED).trim());
         serializePath    =                      prop.getProperty(SERIALIZE_PATH);
 
+        //Coordinator
+        coordinatorAddress         =                      prop.getProperty(COORDINATOR_ADDRESS).trim();
+        coordinatorHost            = Boolean.parseBoolean(prop.getProperty(COORDINATOR_HOST).trim());
+        coordinatorIngestProcesses = Integer.parseInt(    prop.getProperty(COORDINATOR_INGEST_PROCESSES).trim());
+        coordinatorSyncInterval    = Integer.parseInt(    prop.getProperty(COORDINATOR_SYNC_INTERVAL).trim());
+
         //Generator
         generatorEnabled               = Boolean.parseBoolean(prop.getProperty(GENERATOR_ENABLED).trim());
         // Generator input
@@ -1100,6 +1485,8 @@ public class ConfigFile {
         generatorInputIgnoreFilePath    = prop.getProperty(GENERATOR_INPUT_IGNORE_FILE);
         generatorInputCombinedFilePath  = prop.getProperty(GENERATOR_INPUT_COMBINED_FILE);
         generatorInputSeparator         = prop.getProperty(GENERATOR_INPUT_SEPARATOR);
+        generatorInputSnapshotFilePath  = prop.getProperty(GENERATOR_INPUT_SNAPSHOT_FILE).trim();
+        generatorInputSeedWindow        = Integer.parseInt(prop.getProperty(GENERATOR_INPUT_SEED_WINDOW).trim());
         // Generator settings
         generatorGranularity           = Granularity.valueOf( prop.getProperty(GENERATOR_GRANULARITY).toUpperCase().trim());
         generatorJitter                = Integer.parseInt(    prop.getProperty(GENERATOR_JITTER).trim());
@@ -1108,11 +1495,16 @@ public class ConfigFile {
         generatorScaleConnectedClients = Double.parseDouble(  prop.getProperty(GENERATOR_SCALE_CONNECTED_CLIENTS).trim());
         generatorSeedSamplerate        = Integer.parseInt(    prop.getProperty(GENERATOR_SEED_SAMPLE_RATE).trim());
         generatorGenerationSamplerate  = Integer.parseInt(    prop.getProperty(GENERATOR_GENERATION_SAMPLE_RATE).trim());
+        generatorReuseEntries          = Boolean.parseBoolean(prop.getProperty(GENERATOR_REUSE_ENTRIES).trim());
+        generatorBatchTicks            = Integer.parseInt(    prop.getProperty(GENERATOR_BATCH_TICKS).trim());
+        generatorRandomStreams         = RandomStreams.valueOf(prop.getProperty(GENERATOR_RANDOM_STREAMS).toUpperCase().trim());
+        generatorThreads               = Integer.parseInt(    prop.getProperty(GENERATOR_THREADS).trim());
         generatorStartDate             = LocalDate.parse(     prop.getProperty(GENERATOR_START_DATE).trim());
         generatorEndDate               = LocalDate.parse(     prop.getProperty(GENERATOR_END_DATE).trim());
         generatorOutputTargets         = Arrays.stream(       prop.getProperty(GENERATOR_OUTPUT_TARGETS).split(","))
                 .map(String::toUpperCase).map(String::trim).map(DBTargets::valueOf).toArray(DBTargets[]::new);
         generatorToDiskTarget          =                      prop.getProperty(GENERATOR_OUTPUT_TO_DISK_TARGET);
+        generatorDatasetTarget         =                      prop.getProperty(GENERATOR_OUTPUT_DATASET_TARGET).trim();
 
         //Influx
         String influxUrlInput =            prop.getProperty(INFLUX_URL);
@@ -1123,6 +1515,9 @@ public class ConfigFile {
         influxTable     =                  prop.getProperty(INFLUX_TABLE);
         influxBatchsize = Integer.parseInt(prop.getProperty(INFLUX_BATCHSIZE).trim());
         influxFlushtime = Integer.parseInt(prop.getProperty(INFLUX_BATCH_FLUSH_TIME).trim());
+        influxIngestMode = InfluxIngestMode.valueOf(prop.getProperty(INFLUX_INGEST_MODE).toUpperCase().trim());
+        influxLineProtocolGzip = Boolean.parseBoolean(prop.getProperty(INFLUX_LINE_PROTOCOL_GZIP).trim());
+        influxLineProtocolInflight = Integer.parseInt(prop.getProperty(INFLUX_LINE_PROTOCOL_INFLIGHT).trim());
 
         //Timescale
         timescaleHost                  =                      prop.getProperty(TIMESCALE_HOST);
@@ -1133,6 +1528,9 @@ public class ConfigFile {
         timescaleBatchSize             = Integer.parseInt(    prop.getProperty(TIMESCALE_BATCHSIZE).trim());
         timescaleReWriteBatchedInserts = Boolean.parseBoolean(prop.getProperty(TIMESCALE_REWRITE_BATCH).trim());
         timescaleCreateSecondaryIndex  = Boolean.parseBoolean(prop.getProperty(TIMESCALE_CREATE_SECONDARY_INDEX).trim());
+        timescaleIngestMode            = TimescaleIngestMode.valueOf(prop.getProperty(TIMESCALE_INGEST_MODE).toUpperCase().trim());
+        timescaleCopyChunkSize         = Integer.parseInt(    prop.getProperty(TIMESCALE_COPY_CHUNKSIZE).trim());
+        timescaleFlushConnections      = Integer.parseInt(    prop.getProperty(TIMESCALE_FLUSH_CONNECTIONS).trim());
 
         //Kudu
         kuduMasters             =                  prop.getProperty(KUDU_HOST);
@@ -1140,8 +1538,11 @@ public class ConfigFile {
         kuduMaxColumns          = Integer.parseInt(prop.getProperty(KUDU_MAX_SUPPORTED_COLUMNS).trim());
         kuduBatchSize           = Integer.parseInt(prop.getProperty(KUDU_BATCH_SIZE).trim());
         kuduMutationBufferSpace = Integer.parseInt(prop.getProperty(KUDU_MUTATION_BUFFER_SPACE).trim());
+        kuduFlushMode           = KuduFlushMode.valueOf(prop.getProperty(KUDU_FLUSH_MODE).toUpperCase().trim());
         kuduHashBuckets         = Integer.parseInt(prop.getProperty(KUDU_HASH_PARTITION_BUCKETS).trim());
         kuduRangePrecreatedNumberOfYears = Integer.parseInt(prop.getProperty(KUDU_RANGE_PARTITION_PRECREATE_YEARS).trim());
+        kuduRangePartitionsAhead    = Integer.parseInt(prop.getProperty(KUDU_RANGE_PARTITION_AHEAD).trim());
+        kuduRangePartitionsRetained = Integer.parseInt(prop.getProperty(KUDU_RANGE_PARTITION_RETENTION).trim());
         kuduPartitionInterval   = KuduPartitionInterval.valueOf(prop.getProperty(KUDU_RANGE_PARTITION_INTERVAL).toUpperCase().trim());
         kuduPartitionType       = KuduPartitionType.valueOf(prop.getProperty(KUDU_PARTITION_TYPE).toUpperCase().trim());
 
@@ -1155,7 +1556,17 @@ public class ConfigFile {
         ingestTarget               = DBTargets.valueOf(   prop.getProperty(INGEST_TARGET).toUpperCase().trim());
         ingestTargetRecreate       = Boolean.parseBoolean(prop.getProperty(INGEST_TARGET_RECREATE).trim());
         ingestTargetSharedInstance = Boolean.parseBoolean(prop.getProperty(INGEST_SHARED_INSTANCE).trim());
+        ingestSharedInstanceBatchRows = Integer.parseInt(prop.getProperty(INGEST_SHARED_INSTANCE_BATCH_ROWS).trim());
         ingestThreads              = Integer.parseInt(    prop.getProperty(INGEST_THREADS).trim());
+        ingestReplayFile           =                      prop.getProperty(INGEST_REPLAY_FILE).trim();
+        ingestWideWriterThreads    = Integer.parseInt(    prop.getProperty(INGEST_WIDE_WRITER_THREADS).trim());
+        ingestWideBufferRows       = Integer.parseInt(    prop.getProperty(INGEST_WIDE_BUFFER_ROWS).trim());
+        ingestPipelineDepth        = Integer.parseInt(    prop.getProperty(INGEST_PIPELINE_DEPTH).trim());
+        ingestMaxSkew              = Integer.parseInt(    prop.getProperty(INGEST_MAX_SKEW).trim());
+        ingestAdaptiveBatch        = Boolean.parseBoolean(prop.getProperty(INGEST_ADAPTIVE_BATCH).trim());
+        ingestAdaptiveBatchMin     = Integer.parseInt(    prop.getProperty(INGEST_ADAPTIVE_BATCH_MIN).trim());
+        ingestAdaptiveBatchMax     = Integer.parseInt(    prop.getProperty(INGEST_ADAPTIVE_BATCH_MAX).trim());
+        ingestAdaptiveBatchMaxLatency = Integer.parseInt(prop.getProperty(INGEST_ADAPTIVE_BATCH_MAX_LATENCY).trim());
 
         //Queries
         queriesEnabled           = Boolean.parseBoolean(prop.getProperty(QUERIES_ENABLED).trim());
@@ -1214,6 +1625,16 @@ public class ConfigFile {
             if(!generatorEnabled) return "Both serialization (" + SERIALIZE_ENABLED + ") and the generator (" + GENERATOR_ENABLED + ") are disabled. One or both must be enabled to create/load the data needed for ingestion and queries.";
         }
 
+        // ---- Coordinator ----
+        if(isCoordinated()){
+            if(!coordinatorAddress.matches(".+:\\d+")) return COORDINATOR_ADDRESS + ": Address must be of the form host:port";
+            if(!(coordinatorIngestProcesses > 0)) return COORDINATOR_INGEST_PROCESSES + ": Ingest processes must be > 0";
+            if(!(coordinatorSyncInterval > 0)) return COORDINATOR_SYNC_INTERVAL + ": Sync interval must be > 0";
+            if(ingestEnabled && schema == SchemaFormats.WIDE) return COORDINATOR_ADDRESS + ": Coordinated ingestion only supports the narrow schema-format";
+            if(ingestEnabled && isIngestReplayEnabled()) return COORDINATOR_ADDRESS + ": Coordinated ingestion doesn't support replaying a dataset file";
+        }
+        if(coordinatorHost && !isCoordinated()) return COORDINATOR_HOST + ": Hosting the coordinator requires an address (" + COORDINATOR_ADDRESS + ")";
+
         if(ingestEnabled || generatorEnabled){
             // Serialization doesn't serialize the source-data that ingestion relies on because that's a stupidly large
             //   amount of data, so we need to ensure that those paths are valid if either the generator or ingestion is enabled.
@@ -1228,12 +1649,18 @@ public class ConfigFile {
             if(!Paths.get(generatorInputFloorMapFilePath).toFile().exists())  return GENERATOR_INPUT_FLOOR_AP_FILE +   ": Path doesn't exist: " + Paths.get(generatorInputFloorMapFilePath).toFile().getAbsolutePath();
             if(!Paths.get(generatorInputIgnoreFilePath).toFile().exists())    return GENERATOR_INPUT_IGNORE_FILE +     ": Path doesn't exist: " + Paths.get(generatorInputIgnoreFilePath).toFile().getAbsolutePath();
             if(!Paths.get(generatorInputCombinedFilePath).toFile().exists())  return GENERATOR_INPUT_COMBINED_FILE +   ": Path doesn't exist: " + Paths.get(generatorInputCombinedFilePath).toFile().getAbsolutePath();
+            if(useSeedSnapshot() && Paths.get(generatorInputSnapshotFilePath).toFile().isDirectory()) return GENERATOR_INPUT_SNAPSHOT_FILE + ": Path is a folder: " + Paths.get(generatorInputSnapshotFilePath).toFile().getAbsolutePath();
+            if(!(generatorInputSeedWindow == 0 || generatorInputSeedWindow >= 2)) return GENERATOR_INPUT_SEED_WINDOW + ": Seed window must be 0 or >= 2";
+            if(generatorInputSeedWindow > 0 && !useSeedSnapshot()) return GENERATOR_INPUT_SEED_WINDOW + ": Streaming the seed days requires a seed snapshot (" + GENERATOR_INPUT_SNAPSHOT_FILE + ")";
         }
 
         // ---- Generator ----
         if(generatorEnabled){
             if(!(generatorStartDate.isBefore(generatorEndDate) || generatorStartDate.isEqual(generatorEndDate))) return GENERATOR_START_DATE + ": Start date " + generatorStartDate + " must be before end date " + generatorEndDate + "(" + GENERATOR_END_DATE + ")";
             if(!(generatorOutputTargets.length > 0)) return "Generator enabled but no generator targets specified (" + GENERATOR_OUTPUT_TARGETS + ")";
+            if(!(generatorThreads > 0)) return GENERATOR_THREADS + ": Generator threads must be > 0";
+            if(generatorThreads > 1 && generatorRandomStreams == RandomStreams.SHARED) return GENERATOR_THREADS + ": Multiple generator threads require " + GENERATOR_RANDOM_STREAMS + " to not be " + RandomStreams.SHARED;
+            if(generatorThreads > 1 && Arrays.asList(generatorOutputTargets).contains(DBTargets.DATASET)) return GENERATOR_THREADS + ": The DATASET target requires a single generator thread";
         }
 
         if(generatorEnabled || ingestEnabled){
@@ -1243,6 +1670,7 @@ public class ConfigFile {
             if(!(generatorSeedSamplerate > 0)) return GENERATOR_SEED_SAMPLE_RATE + ": Seed sample rate must be > 0";
             if(!(generatorGenerationSamplerate > 0)) return GENERATOR_GENERATION_SAMPLE_RATE + ": Generation sample rate must be > 0";
             if(!(generatorJitter >= 0)) return GENERATOR_JITTER + ": Generation jitter must be >= 0";
+            if(!(generatorBatchTicks >= 0)) return GENERATOR_BATCH_TICKS + ": Batch ticks must be >= 0";
             if(!(generatorGenerationSamplerate == generatorSeedSamplerate ||
                     (generatorGenerationSamplerate < generatorSeedSamplerate && generatorSeedSamplerate % generatorGenerationSamplerate == 0) ||
                     (generatorGenerationSamplerate > generatorSeedSamplerate && generatorGenerationSamplerate % generatorSeedSamplerate == 0))) return GENERATOR_SEED_SAMPLE_RATE + " and " + GENERATOR_GENERATION_SAMPLE_RATE + ": Seed sample rate and generation sample rate must be equal, or one must be evenly divisible by the other";
@@ -1251,7 +1679,18 @@ public class ConfigFile {
         // ---- Ingest ----
         if(ingestEnabled){
             if(!(ingestThreads > 0)) return INGEST_THREADS + ": Ingest threads must be > 0";
-            if(ingestThreads > 1 && schema == SchemaFormats.WIDE) return INGEST_THREADS + ": Wide schema-format does not support multiple ingest threads.";
+            if(!(ingestWideWriterThreads > 0)) return INGEST_WIDE_WRITER_THREADS + ": Writer threads must be > 0";
+            if(!(ingestWideBufferRows > 0)) return INGEST_WIDE_BUFFER_ROWS + ": Buffer rows must be > 0";
+            if(!(ingestPipelineDepth >= 0)) return INGEST_PIPELINE_DEPTH + ": Pipeline depth must be >= 0";
+            if(!(ingestSharedInstanceBatchRows > 0)) return INGEST_SHARED_INSTANCE_BATCH_ROWS + ": Batch rows must be > 0";
+            if(ingestAdaptiveBatch){
+                if(!(ingestAdaptiveBatchMin > 0)) return INGEST_ADAPTIVE_BATCH_MIN + ": Minimum batch-size must be > 0";
+                if(!(ingestAdaptiveBatchMin <= ingestAdaptiveBatchMax)) return INGEST_ADAPTIVE_BATCH_MIN + " and " + INGEST_ADAPTIVE_BATCH_MAX + ": Minimum batch-size must be <= maximum batch-size";
+                if(!(ingestAdaptiveBatchMaxLatency >= 0)) return INGEST_ADAPTIVE_BATCH_MAX_LATENCY + ": Maximum latency must be >= 0";
+            }
+            if(ingestPipelineDepth > 0 && generatorBatchTicks == 0 && !isIngestReplayEnabled()) return INGEST_PIPELINE_DEPTH + ": Pipelining requires batching to be enabled (" + GENERATOR_BATCH_TICKS + " > 0)";
+            if(ingestTarget == DBTargets.DATASET) return INGEST_TARGET + ": The DATASET target is only supported by the generator";
+            if(isIngestReplayEnabled() && !Paths.get(ingestReplayFile).toFile().exists()) return INGEST_REPLAY_FILE + ": Path doesn't exist: " + Paths.get(ingestReplayFile).toFile().getAbsolutePath();
 
             if(generatorEnabled && !ingestTargetRecreate){
                 if(!(ingestStartDate.isAfter(generatorStartDate) || ingestStartDate.isEqual(generatorStartDate))) return INGEST_START_DATE + ": Ingest start date " + ingestStartDate + " must be equal/after start date " + generatorStartDate + "(" + GENERATOR_START_DATE + ")";
@@ -1265,6 +1704,7 @@ public class ConfigFile {
         // ---- Queries ----
         if(queriesEnabled){
             if(queriesTarget == DBTargets.CSV) return "Unsupported query target 'CSV' (" + QUERIES_TARGET + ")";
+            if(queriesTarget == DBTargets.DATASET) return "Unsupported query target 'DATASET' (" + QUERIES_TARGET + ")";
             if(!(queriesThreads > 0)) return QUERIES_THREADS + ": Query threads must be > 0";
             if(!(queriesDuration > 0 || queriesMaxCount > 0)) return "Query-duration (" + QUERIES_DURATION + ") must be > 0 or max query count (" + QUERIES_MAX_COUNT + ") must be > 0";
             if(!(queriesWeightTotalClients >= 0)) return QUERIES_WEIGHT_TOTAL_CLIENTS + ": Query-weight for 'TotalClients' must be >= 0";
@@ -1289,7 +1729,12 @@ public class ConfigFile {
         // ---- Databases ----
         if(!(influxBatchsize > 0)) return INFLUX_BATCHSIZE + ": Batch size must be > 0";
         if(!(influxFlushtime > 0)) return INFLUX_BATCH_FLUSH_TIME + ": Flush time must be > 0";
+        if(!(influxLineProtocolInflight >= 0)) return INFLUX_LINE_PROTOCOL_INFLIGHT + ": In-flight requests must be >= 0";
         if(!(timescaleBatchSize > 0)) return TIMESCALE_BATCHSIZE + ": Batch size must be > 0";
+        if(!(timescaleCopyChunkSize > 0)) return TIMESCALE_COPY_CHUNKSIZE + ": Chunk size must be > 0";
+        if(!(timescaleFlushConnections > 0)) return TIMESCALE_FLUSH_CONNECTIONS + ": Flush connections must be > 0";
+        if(!(kuduRangePartitionsAhead >= 0)) return KUDU_RANGE_PARTITION_AHEAD + ": Partitions ahead must be >= 0";
+        if(!(kuduRangePartitionsRetained >= 0)) return KUDU_RANGE_PARTITION_RETENTION + ": Retained partitions must be >= 0";
 
         return null;
     }
@@ -1372,6 +1817,11 @@ public class ConfigFile {
         settings.put(SERIALIZE_ENABLED, serialize);
         settings.put(SERIALIZE_PATH, serializePath);
 
+        settings.put(COORDINATOR_ADDRESS, coordinatorAddress);
+        settings.put(COORDINATOR_HOST, coordinatorHost);
+        settings.put(COORDINATOR_INGEST_PROCESSES, coordinatorIngestProcesses);
+        settings.put(COORDINATOR_SYNC_INTERVAL, coordinatorSyncInterval);
+
         settings.put(GENERATOR_ENABLED, generatorEnabled);
         settings.put(GENERATOR_INPUT_IDMAP_FILE, generatorInputIdmapFilePath);
         settings.put(GENERATOR_INPUT_PROBABILITY_FOLDER, generatorInputPropabilityFolder);
@@ -1380,6 +1830,8 @@ public class ConfigFile {
         settings.put(GENERATOR_INPUT_IGNORE_FILE, generatorInputIgnoreFilePath);
         settings.put(GENERATOR_INPUT_COMBINED_FILE, generatorInputCombinedFilePath);
         settings.put(GENERATOR_INPUT_SEPARATOR, generatorInputSeparator);
+        settings.put(GENERATOR_INPUT_SNAPSHOT_FILE, generatorInputSnapshotFilePath);
+        settings.put(GENERATOR_INPUT_SEED_WINDOW, generatorInputSeedWindow);
 
         settings.put(GENERATOR_GRANULARITY, generatorGranularity);
         settings.put(GENERATOR_JITTER, generatorJitter);
@@ -1388,10 +1840,15 @@ public class ConfigFile {
         settings.put(GENERATOR_SCALE_CONNECTED_CLIENTS, generatorScaleConnectedClients);
         settings.put(GENERATOR_SEED_SAMPLE_RATE, generatorSeedSamplerate);
         settings.put(GENERATOR_GENERATION_SAMPLE_RATE, generatorGenerationSamplerate);
+        settings.put(GENERATOR_REUSE_ENTRIES, generatorReuseEntries);
+        settings.put(GENERATOR_BATCH_TICKS, generatorBatchTicks);
+        settings.put(GENERATOR_RANDOM_STREAMS, generatorRandomStreams);
+        settings.put(GENERATOR_THREADS, generatorThreads);
         settings.put(GENERATOR_START_DATE, generatorStartDate);
         settings.put(GENERATOR_END_DATE, generatorEndDate);
         settings.put(GENERATOR_OUTPUT_TARGETS, generatorOutputTargets);
         settings.put(GENERATOR_OUTPUT_TO_DISK_TARGET, generatorToDiskTarget);
+        settings.put(GENERATOR_OUTPUT_DATASET_TARGET, generatorDatasetTarget);
 
         settings.put(INFLUX_URL, influxUrl);
         settings.put(INFLUX_USERNAME, influxUsername);
@@ -1400,6 +1857,9 @@ public class ConfigFile {
         settings.put(INFLUX_TABLE, influxTable);
         settings.put(INFLUX_BATCHSIZE, influxBatchsize);
         settings.put(INFLUX_BATCH_FLUSH_TIME, influxFlushtime);
+        settings.put(INFLUX_INGEST_MODE, influxIngestMode);
+        settings.put(INFLUX_LINE_PROTOCOL_GZIP, influxLineProtocolGzip);
+        settings.put(INFLUX_LINE_PROTOCOL_INFLIGHT, influxLineProtocolInflight);
 
         settings.put(TIMESCALE_HOST, timescaleHost);
         settings.put(TIMESCALE_USERNAME, timescaleUsername);
@@ -1409,16 +1869,22 @@ public class ConfigFile {
         settings.put(TIMESCALE_BATCHSIZE, timescaleBatchSize);
         settings.put(TIMESCALE_REWRITE_BATCH, timescaleReWriteBatchedInserts);
         settings.put(TIMESCALE_CREATE_SECONDARY_INDEX, timescaleCreateSecondaryIndex);
+        settings.put(TIMESCALE_INGEST_MODE, timescaleIngestMode);
+        settings.put(TIMESCALE_COPY_CHUNKSIZE, timescaleCopyChunkSize);
+        settings.put(TIMESCALE_FLUSH_CONNECTIONS, timescaleFlushConnections);
 
         settings.put(KUDU_HOST, kuduMasters);
         settings.put(KUDU_TABLE, kuduTable);
         settings.put(KUDU_MAX_SUPPORTED_COLUMNS, kuduMaxColumns);
         settings.put(KUDU_BATCH_SIZE, kuduBatchSize);
         settings.put(KUDU_MUTATION_BUFFER_SPACE, kuduMutationBufferSpace);
+        settings.put(KUDU_FLUSH_MODE, kuduFlushMode);
         settings.put(KUDU_PARTITION_TYPE, kuduPartitionType);
         settings.put(KUDU_HASH_PARTITION_BUCKETS, kuduHashBuckets);
         settings.put(KUDU_RANGE_PARTITION_INTERVAL, kuduPartitionInterval);
         settings.put(KUDU_RANGE_PARTITION_PRECREATE_YEARS, kuduRangePrecreatedNumberOfYears);
+        settings.put(KUDU_RANGE_PARTITION_AHEAD, kuduRangePartitionsAhead);
+        settings.put(KUDU_RANGE_PARTITION_RETENTION, kuduRangePartitionsRetained);
 
         settings.put(INGEST_ENABLED, ingestEnabled);
         settings.put(INGEST_START_DATE, ingestStartDate);
@@ -1429,7 +1895,17 @@ public class ConfigFile {
         settings.put(INGEST_TARGET, ingestTarget);
         settings.put(INGEST_TARGET_RECREATE, ingestTargetRecreate);
         settings.put(INGEST_SHARED_INSTANCE, ingestTargetSharedInstance);
+        settings.put(INGEST_SHARED_INSTANCE_BATCH_ROWS, ingestSharedInstanceBatchRows);
         settings.put(INGEST_THREADS, ingestThreads);
+        settings.put(INGEST_REPLAY_FILE, ingestReplayFile);
+        settings.put(INGEST_WIDE_WRITER_THREADS, ingestWideWriterThreads);
+        settings.put(INGEST_WIDE_BUFFER_ROWS, ingestWideBufferRows);
+        settings.put(INGEST_PIPELINE_DEPTH, ingestPipelineDepth);
+        settings.put(INGEST_MAX_SKEW, ingestMaxSkew);
+        settings.put(INGEST_ADAPTIVE_BATCH, ingestAdaptiveBatch);
+        settings.put(INGEST_ADAPTIVE_BATCH_MIN, ingestAdaptiveBatchMin);
+        settings.put(INGEST_ADAPTIVE_BATCH_MAX, ingestAdaptiveBatchMax);
+        settings.put(INGEST_ADAPTIVE_BATCH_MAX_LATENCY, ingestAdaptiveBatchMaxLatency);
 
         settings.put(QUERIES_ENABLED, queriesEnabled);
         settings.put(QUERIES_TARGET, queriesTarget);
@@ -1528,6 +2004,15 @@ public class ConfigFile {
     public String getGeneratorInputSeparator() {
         return generatorInputSeparator;
     }
+    public boolean useSeedSnapshot() {
+        return !generatorInputSnapshotFilePath.equalsIgnoreCase("NONE");
+    }
+    public String getGeneratorInputSnapshotFile() {
+        return generatorInputSnapshotFilePath;
+    }
+    public int getGeneratorInputSeedWindow() {
+        return generatorInputSeedWindow;
+    }
 
     public int getGeneratorSeedSamplerate() {
         return generatorSeedSamplerate;
@@ -1553,6 +2038,10 @@ public class ConfigFile {
         return generatorToDiskTarget;
     }
 
+    public String getGeneratorDatasetTarget() {
+        return generatorDatasetTarget;
+    }
+
     public String getInfluxUrl() {
         return influxUrl;
     }
@@ -1617,6 +2106,26 @@ public class ConfigFile {
         return serializePath;
     }
 
+    public boolean isCoordinated() {
+        return !coordinatorAddress.equalsIgnoreCase("NONE");
+    }
+
+    public String getCoordinatorAddress() {
+        return coordinatorAddress;
+    }
+
+    public boolean isCoordinatorHost() {
+        return coordinatorHost;
+    }
+
+    public int getCoordinatorIngestProcessCount() {
+        return coordinatorIngestProcesses;
+    }
+
+    public int getCoordinatorSyncIntervalInMillisec() {
+        return coordinatorSyncInterval;
+    }
+
     public LocalDate getIngestStartDate() {
         return ingestStartDate;
     }
@@ -1705,6 +2214,53 @@ public class ConfigFile {
         return ingestThreads;
     }
 
+    public boolean isIngestReplayEnabled() {
+        return !ingestReplayFile.equalsIgnoreCase("NONE");
+    }
+
+    public String getIngestReplayFile() {
+        return ingestReplayFile;
+    }
+
+    /**
+     * @return Whether the ingest-threads generate slices of wide rows that are assembled and inserted by dedicated writer-threads.
+     */
+    public boolean isWideRowAssemblyEnabled() {
+        return schema == SchemaFormats.WIDE && ingestThreads > 1 && !isIngestReplayEnabled();
+    }
+
+    public int getIngestWideWriterThreadCount() {
+        return ingestWideWriterThreads;
+    }
+
+    public int getIngestWideBufferRows() {
+        return ingestWideBufferRows;
+    }
+
+    public int getIngestPipelineDepth() {
+        return ingestPipelineDepth;
+    }
+
+    public int getIngestMaxSkewInSeconds() {
+        return ingestMaxSkew;
+    }
+
+    public boolean isIngestAdaptiveBatchEnabled() {
+        return ingestAdaptiveBatch;
+    }
+
+    public int getIngestAdaptiveBatchMin() {
+        return ingestAdaptiveBatchMin;
+    }
+
+    public int getIngestAdaptiveBatchMax() {
+        return ingestAdaptiveBatchMax;
+    }
+
+    public int getIngestAdaptiveBatchMaxLatency() {
+        return ingestAdaptiveBatchMaxLatency;
+    }
+
     public int getQueriesThreadCount() {
         return queriesThreads;
     }
@@ -1737,6 +2293,10 @@ public class ConfigFile {
         return ingestTargetSharedInstance;
     }
 
+    public int getIngestSharedInstanceBatchRows() {
+        return ingestSharedInstanceBatchRows;
+    }
+
     public boolean recreateIngestTarget() {
         return ingestTargetRecreate;
     }
@@ -1773,6 +2333,18 @@ public class ConfigFile {
         return timescaleCreateSecondaryIndex;
     }
 
+    public TimescaleIngestMode getTimescaleIngestMode(){
+        return timescaleIngestMode;
+    }
+
+    public int getTimescaleCopyChunkSize(){
+        return timescaleCopyChunkSize;
+    }
+
+    public int getTimescaleFlushConnections(){
+        return timescaleFlushConnections;
+    }
+
     public int getInfluxBatchsize() {
         return influxBatchsize;
     }
@@ -1781,6 +2353,18 @@ public class ConfigFile {
         return influxFlushtime;
     }
 
+    public InfluxIngestMode getInfluxIngestMode() {
+        return influxIngestMode;
+    }
+
+    public boolean getInfluxLineProtocolGzip() {
+        return influxLineProtocolGzip;
+    }
+
+    public int getInfluxLineProtocolInflight() {
+        return influxLineProtocolInflight;
+    }
+
     public Granularity getGeneratorGranularity() {
         return generatorGranularity;
     }
@@ -1793,6 +2377,22 @@ public class ConfigFile {
         return generatorJitter;
     }
 
+    public boolean doReuseGeneratedEntries() {
+        return generatorReuseEntries;
+    }
+
+    public int getGeneratorBatchTicks() {
+        return generatorBatchTicks;
+    }
+
+    public RandomStreams getGeneratorRandomStreams() {
+        return generatorRandomStreams;
+    }
+
+    public int getGeneratorThreadCount() {
+        return generatorThreads;
+    }
+
     public int getQueryDateCommunicationIntervalInMillisec() {
         return queriesDateCommIntervalMilliseconds;
     }
@@ -1825,6 +2425,10 @@ public class ConfigFile {
         return kuduMutationBufferSpace;
     }
 
+    public KuduFlushMode getKuduFlushMode(){
+        return kuduFlushMode;
+    }
+
     public KuduPartitionInterval getKuduPartitionInterval() {
         return kuduPartitionInterval;
     }
@@ -1841,6 +2445,14 @@ public class ConfigFile {
         return kuduRangePrecreatedNumberOfYears;
     }
 
+    public int getKuduRangePartitionsAhead(){
+        return kuduRangePartitionsAhead;
+    }
+
+    public int getKuduRangePartitionsRetained(){
+        return kuduRangePartitionsRetained;
+    }
+
     public boolean doLoggingToCSV(){
         return logToCSV;
     }
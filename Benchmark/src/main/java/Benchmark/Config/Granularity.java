@@ -36,19 +36,40 @@ public enum Granularity{
         assert instant.equals(datetime.toInstant(ZoneOffset.ofHours(0))) :
                 "'instant' and 'datetime' must correspond to same point in time. (bad API design but it allows us to cache the 'instant'-instance)";
 
+        return getTime(instant.getEpochSecond() * 1_000_000_000 + datetime.getNano());
+    }
+
+    /**
+     * Truncates the given UTC timestamp, specified as nanoseconds since the epoch, to this granularity.
+     */
+    public long getTime(long epochNanos){
         switch (this){
             case NANOSECOND:
-                return instant.getEpochSecond() * 1_000_000_000 + datetime.getNano();
+                return epochNanos;
             case MICROSECOND:
-                return (instant.getEpochSecond() * 1_000_000_000 + datetime.getNano()) / 1000;
+                return epochNanos / 1000;
             case MILLISECOND:
-                return instant.toEpochMilli();
+                return Math.floorDiv(epochNanos, 1_000_000);
             case SECOND:
-                return instant.getEpochSecond();
+                return Math.floorDiv(epochNanos, 1_000_000_000);
             case MINUTE:
-                return instant.getEpochSecond() / 60;
+                return Math.floorDiv(epochNanos, 1_000_000_000) / 60;
             default:
                 throw new IllegalStateException("Unexpected value: " + this);
         }
     }
+
+    /**
+     * @return The given date-time, interpreted as UTC, as nanoseconds since the epoch.
+     */
+    public static long toEpochNanos(LocalDateTime datetime){
+        return datetime.toEpochSecond(ZoneOffset.ofHours(0)) * 1_000_000_000 + datetime.getNano();
+    }
+
+    /**
+     * @return The UTC date-time corresponding to the given number of nanoseconds since the epoch.
+     */
+    public static LocalDateTime fromEpochNanos(long epochNanos){
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, 1_000_000_000), (int)Math.floorMod(epochNanos, 1_000_000_000), ZoneOffset.ofHours(0));
+    }
 }
\ No newline at end of file
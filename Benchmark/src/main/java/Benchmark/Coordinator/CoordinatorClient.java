@@ -0,0 +1,164 @@
+package Benchmark.Coordinator;
+
+import Benchmark.Config.Granularity;
+import Benchmark.DateCommunication;
+import Benchmark.Logger;
+
+import java.io.*;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The connection of a benchmark process to the {@link IngestCoordinator}. See the coordinator for the protocol.
+ */
+public class CoordinatorClient implements AutoCloseable {
+    private static final int CONNECT_ATTEMPTS = 120;
+    private static final int CONNECT_RETRY_MILLIS = 500;
+
+    /**
+     * The APs that an ingest-process is assigned by the coordinator.
+     */
+    public static class Shard {
+        public final int index;
+        public final int count;
+        public final String[] apNames;
+
+        Shard(int index, int count, String[] apNames){
+            this.index = index;
+            this.count = count;
+            this.apNames = apNames;
+        }
+    }
+
+    private final Socket socket;
+    private final BufferedReader in;
+    private final PrintWriter out;
+    private ScheduledExecutorService syncExecutor;
+
+    /**
+     * Connects to the coordinator at the given address (host:port). Since the processes are started independently,
+     * the coordinator may not be running yet, so the connection is retried for a while before giving up.
+     */
+    public CoordinatorClient(String address) throws IOException {
+        int separator = address.lastIndexOf(':');
+        String host = address.substring(0, separator);
+        int port = Integer.parseInt(address.substring(separator + 1));
+
+        Socket connected = null;
+        for(int attempt = 1; connected == null; attempt++){
+            try {
+                connected = new Socket(host, port);
+            } catch (ConnectException e) {
+                if(attempt == CONNECT_ATTEMPTS) throw e;
+                try {
+                    Thread.sleep(CONNECT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while connecting to the coordinator at " + address, interrupted);
+                }
+            }
+        }
+        socket = connected;
+        in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Registers this process as an ingest-process. Blocks until all the ingest-processes have registered.
+     *
+     * @return The shard of the APs that this process must ingest data for.
+     */
+    public synchronized Shard register() throws IOException {
+        String[] response = request(IngestCoordinator.REGISTER, IngestCoordinator.SHARD);
+        int index = Integer.parseInt(response[1]);
+        int count = Integer.parseInt(response[2]);
+        String[] apNames = new String[Integer.parseInt(response[3])];
+        for(int i = 0; i < apNames.length; i++){
+            apNames[i] = readLine();
+        }
+        return new Shard(index, count, apNames);
+    }
+
+    /**
+     * Signals that the first shard has prepared its ingest-target, so the other shards can prepare theirs.
+     */
+    public synchronized void markPrepared() throws IOException {
+        request(IngestCoordinator.PREPARED, IngestCoordinator.OK);
+    }
+
+    /**
+     * Blocks until the first shard has prepared its ingest-target. Ensures that the other shards don't add data to
+     * the target before the first shard has recreated it.
+     */
+    public synchronized void awaitFirstShardPrepared() throws IOException {
+        request(IngestCoordinator.AWAIT, IngestCoordinator.OK);
+    }
+
+    /**
+     * Reports the newest time that the given shard has ingested, if any.
+     *
+     * @param shard The shard of this process, or null if this process doesn't ingest.
+     * @return The newest time that all the shards have reached, or null if some shards haven't reported yet.
+     */
+    public synchronized LocalDateTime sync(Shard shard, LocalDateTime newestTime) throws IOException {
+        String request = shard == null ?
+                IngestCoordinator.SYNC + " " + IngestCoordinator.NONE + " " + IngestCoordinator.NONE :
+                IngestCoordinator.SYNC + " " + shard.index + " " + Granularity.toEpochNanos(newestTime);
+        String[] response = request(request, IngestCoordinator.LOW);
+        if(response[1].equals(IngestCoordinator.NONE)) return null;
+        return Granularity.fromEpochNanos(Long.parseLong(response[1]));
+    }
+
+    /**
+     * Starts exchanging progress with the coordinator in the background.
+     *
+     * @param shard The shard of this process, or null if this process doesn't ingest.
+     * @param ingestDateComm The newest time ingested by this process. Only used if the shard isn't null.
+     * @param queryDateComm Receives the low watermark of all the shards, or null if this process doesn't run queries.
+     */
+    public void startSync(Shard shard, DateCommunication ingestDateComm, DateCommunication queryDateComm, int intervalMillis){
+        assert syncExecutor == null;
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Coordinator sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                LocalDateTime low = sync(shard, shard == null ? null : ingestDateComm.getNewestTime());
+                if(low != null && queryDateComm != null) queryDateComm.setNewestTime(low);
+            } catch (IOException | RuntimeException e) {
+                // Keep running with the last known watermark rather than failing the benchmark.
+                Logger.LOG("Coordinator: Lost connection to the coordinator: " + e.getMessage());
+                syncExecutor.shutdown();
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private String[] request(String request, String expectedResponse) throws IOException {
+        out.println(request);
+        out.flush();
+        String[] response = readLine().split(" ");
+        if(!response[0].equals(expectedResponse)){
+            throw new IOException("Unexpected response from the coordinator to '" + request + "': " + String.join(" ", response));
+        }
+        return response;
+    }
+
+    private String readLine() throws IOException {
+        String line = in.readLine();
+        if(line == null) throw new EOFException("The coordinator closed the connection.");
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(syncExecutor != null) syncExecutor.shutdownNow();
+        socket.close();
+    }
+}
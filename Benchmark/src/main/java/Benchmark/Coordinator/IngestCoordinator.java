@@ -0,0 +1,202 @@
+package Benchmark.Coordinator;
+
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedFloor;
+import Benchmark.Logger;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coordinates multiple benchmark processes that ingest into the same database.
+ *
+ * The coordinator is hosted by one of the benchmark processes, and the processes talk to it over TCP using
+ * {@link CoordinatorClient}. Each ingest-process is assigned a disjoint shard of the APs on the floors, so that
+ * together the processes generate the same data as a single process would. The processes regularly report the
+ * newest time they have ingested, and the coordinator answers with the low watermark: the newest time that all
+ * the ingest-processes have reached. Queries can safely use data up to the low watermark.
+ *
+ * The protocol is line-based, with one response for each request:
+ * <ul>
+ *     <li>{@code REGISTER} assigns the next shard, once all ingest-processes have registered.
+ *     Response: {@code SHARD <index> <shardCount> <apCount>}, followed by one line with the name of each AP in the
+ *     shard.</li>
+ *     <li>{@code PREPARED} marks that the first shard has prepared its ingest-target, which may recreate the target.
+ *     Response: {@code OK}</li>
+ *     <li>{@code AWAIT} waits until the first shard has prepared its ingest-target. Response: {@code OK}</li>
+ *     <li>{@code SYNC <shard> <epochNanos>} reports the progress of a shard. Processes that don't ingest send
+ *     {@code -} for both values. Response: {@code LOW <epochNanos>}, or {@code LOW -} until all shards have
+ *     reported their progress.</li>
+ * </ul>
+ */
+public class IngestCoordinator implements AutoCloseable {
+    static final String REGISTER = "REGISTER";
+    static final String SHARD = "SHARD";
+    static final String PREPARED = "PREPARED";
+    static final String AWAIT = "AWAIT";
+    static final String SYNC = "SYNC";
+    static final String LOW = "LOW";
+    static final String OK = "OK";
+    static final String ERROR = "ERROR";
+    static final String NONE = "-";
+
+    private final ServerSocket serverSocket;
+    private final List<List<String>> shards;
+    private final long[] watermarks;
+    private int registeredShards;
+    private boolean firstShardPrepared;
+    private volatile boolean closed;
+
+    /**
+     * Starts listening for processes on the given port.
+     *
+     * @param ingestProcesses The number of ingest-processes to split the APs between.
+     */
+    public IngestCoordinator(int port, GeneratedFloor[] floors, int ingestProcesses) throws IOException {
+        assert ingestProcesses > 0;
+        GeneratedAccessPoint[] allAPs = GeneratedFloor.allAPsOnFloors(floors);
+        shards = new ArrayList<>(ingestProcesses);
+        for(int i = 0; i < ingestProcesses; i++){
+            shards.add(new ArrayList<>());
+        }
+        for(int i = 0; i < allAPs.length; i++){
+            shards.get(i % ingestProcesses).add(allAPs[i].getAPname());
+        }
+        watermarks = new long[ingestProcesses];
+        Arrays.fill(watermarks, Long.MIN_VALUE);
+
+        serverSocket = new ServerSocket(port);
+        Thread acceptThread = new Thread(this::accept, "Coordinator");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+        Logger.LOG("Coordinator: Listening on port " + port + " for " + ingestProcesses + " ingest-processes.");
+    }
+
+    private void accept(){
+        while(!closed){
+            try {
+                Socket socket = serverSocket.accept();
+                Thread connectionThread = new Thread(() -> serve(socket), "Coordinator " + socket.getRemoteSocketAddress());
+                connectionThread.setDaemon(true);
+                connectionThread.start();
+            } catch (IOException e) {
+                if(!closed) Logger.LOG("Coordinator: Failed to accept connection: " + e.getMessage());
+            }
+        }
+    }
+
+    private void serve(Socket socket){
+        try(Socket s = socket;
+            BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+            PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8)))){
+            String line;
+            while((line = in.readLine()) != null){
+                String[] request = line.trim().split(" ");
+                switch (request[0]){
+                    case REGISTER:
+                        int shard = register();
+                        if(shard < 0){
+                            out.println(ERROR + " All " + shards.size() + " shards have already been assigned");
+                            break;
+                        }
+                        List<String> names = shards.get(shard);
+                        out.println(SHARD + " " + shard + " " + shards.size() + " " + names.size());
+                        for(String name : names){
+                            out.println(name);
+                        }
+                        break;
+                    case PREPARED:
+                        setFirstShardPrepared();
+                        out.println(OK);
+                        break;
+                    case AWAIT:
+                        awaitFirstShardPrepared();
+                        out.println(OK);
+                        break;
+                    case SYNC:
+                        if(request.length != 3){
+                            out.println(ERROR + " Malformed request: " + line);
+                            break;
+                        }
+                        if(!request[1].equals(NONE)){
+                            int reportingShard = Integer.parseInt(request[1]);
+                            if(reportingShard < 0 || reportingShard >= watermarks.length){
+                                out.println(ERROR + " Unknown shard: " + reportingShard);
+                                break;
+                            }
+                            report(reportingShard, Long.parseLong(request[2]));
+                        }
+                        long low = getLowWatermark();
+                        out.println(LOW + " " + (low == Long.MIN_VALUE ? NONE : Long.toString(low)));
+                        break;
+                    default:
+                        out.println(ERROR + " Unknown request: " + line);
+                }
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // The process disconnected.
+        } catch (IOException | NumberFormatException e) {
+            Logger.LOG("Coordinator: Connection failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Assigns the next shard, and waits until all the shards have been assigned so that the processes start together.
+     *
+     * @return The index of the shard, or -1 if all the shards have already been assigned.
+     */
+    private synchronized int register() throws InterruptedException {
+        if(registeredShards == shards.size()) return -1;
+        int shard = registeredShards++;
+        Logger.LOG("Coordinator: Ingest-process " + (shard + 1) + " of " + shards.size() + " registered.");
+        notifyAll();
+        while(registeredShards < shards.size() && !closed){
+            wait();
+        }
+        return shard;
+    }
+
+    private synchronized void setFirstShardPrepared(){
+        firstShardPrepared = true;
+        notifyAll();
+    }
+
+    private synchronized void awaitFirstShardPrepared() throws InterruptedException {
+        while(!firstShardPrepared && !closed){
+            wait();
+        }
+    }
+
+    private synchronized void report(int shard, long epochNanos){
+        if(epochNanos > watermarks[shard]) watermarks[shard] = epochNanos;
+    }
+
+    /**
+     * @return The newest time that all shards have reached, or {@code Long.MIN_VALUE} if a shard hasn't reported yet.
+     */
+    private synchronized long getLowWatermark(){
+        long low = Long.MAX_VALUE;
+        for(long watermark : watermarks){
+            low = Math.min(low, watermark);
+        }
+        return low;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        synchronized (this){
+            notifyAll();
+        }
+        serverSocket.close();
+    }
+}
@@ -0,0 +1,139 @@
+package Benchmark.Databases;
+
+import Benchmark.CSVLogger;
+import Benchmark.Config.ConfigFile;
+import Benchmark.Logger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The batch-size of an ingest-target. Unless {@code INGEST_ADAPTIVE_BATCH} is enabled, this is just the fixed
+ * batch-size of the target.
+ *
+ * When the batch-size is adaptive, the target reports the number of rows and the latency of each of its flushes.
+ * Every {@code FLUSHES_PER_STEP} flushes, the rows of those flushes divided by the wall-clock time since the previous
+ * step ended is compared with the rows / sec of the previous step. The rows / sec thereby include the time spent
+ * generating, encoding and binding the rows, and not just the time spent flushing them, since larger batches would
+ * otherwise always look faster. The batch-size is then grown or shrunk by a factor (hill-climbing). The batch-size keeps
+ * moving in the same direction while the rows / sec improve. When a step makes it worse, the direction is reversed
+ * and the factor is reduced, so the batch-size settles around the best size within the configured bounds, while
+ * still following changes in the speed of the database. Flushes that are slower than the configured latency
+ * always shrink the batch-size.
+ *
+ * Not thread-safe. Each step is logged to the csv-file of the batch-sizes, and the size that the target settled on
+ * is logged when the batch-size is closed.
+ */
+public class AdaptiveBatchSize {
+    private static final AtomicInteger instances = new AtomicInteger();
+    private static final int FLUSHES_PER_STEP = 5;
+    private static final double INITIAL_FACTOR = 2.0;
+    private static final double MIN_FACTOR = 1.1;
+
+    private final String target;
+    private final boolean adaptive;
+    private final int minSize;
+    private final int maxSize;
+    private final long maxLatencyNanos;
+    private final boolean doCsvLogging;
+    private final CSVLogger.BatchSizeLogger csvLogger;
+    private int batchSize;
+
+    private boolean growing = true;
+    private double factor = INITIAL_FACTOR;
+    private double previousRowsPerSec = -1;
+    private int stepFlushes;
+    private long stepRows;
+    private long stepLatencyNanos;
+    private long stepStartNanos = -1;
+    private int steps;
+
+    /**
+     * @param target The name of the target, which is included in the logs.
+     * @param fixedSize The fixed batch-size of the target, which is the initial batch-size when it's adaptive.
+     * @param adaptive False if the target can't adapt its batch-size, regardless of the config.
+     */
+    public AdaptiveBatchSize(ConfigFile config, String target, int fixedSize, boolean adaptive){
+        this.target = target;
+        this.adaptive = adaptive && config.isIngestAdaptiveBatchEnabled();
+        this.minSize = config.getIngestAdaptiveBatchMin();
+        this.maxSize = config.getIngestAdaptiveBatchMax();
+        this.maxLatencyNanos = config.getIngestAdaptiveBatchMaxLatency() * 1_000_000L;
+        this.batchSize = this.adaptive ? clamp(fixedSize) : fixedSize;
+
+        this.doCsvLogging = this.adaptive && config.doLoggingToCSV();
+        if(doCsvLogging){
+            csvLogger = CSVLogger.BatchSizeLogger.createInstance("BATCHSIZE-" + instances.incrementAndGet(), target);
+            csvLogger.startTimer();
+        } else {
+            csvLogger = null;
+        }
+    }
+
+    public int get(){
+        return batchSize;
+    }
+
+    /**
+     * Records a flush of the target, and adjusts the batch-size once enough flushes have been recorded.
+     * The first flush only starts the clock of the first step, since the time before it includes setting up the target.
+     *
+     * @param rows The number of rows that were flushed.
+     * @param flushNanos How long the flush took.
+     */
+    public void record(int rows, long flushNanos){
+        if(!adaptive) return;
+        long now = System.nanoTime();
+        if(stepStartNanos < 0){
+            stepStartNanos = now;
+            return;
+        }
+        stepFlushes++;
+        stepRows += rows;
+        stepLatencyNanos += flushNanos;
+        if(stepFlushes < FLUSHES_PER_STEP) return;
+
+        double rowsPerSec = stepRows / (Math.max(now - stepStartNanos, 1) / 1e9);
+        long avgLatencyNanos = stepLatencyNanos / stepFlushes;
+        if(doCsvLogging) csvLogger.write(Thread.currentThread().getName(), batchSize, rowsPerSec, avgLatencyNanos / 1e6);
+
+        if(maxLatencyNanos > 0 && avgLatencyNanos > maxLatencyNanos){
+            growing = false;
+        } else if(previousRowsPerSec >= 0 && rowsPerSec < previousRowsPerSec){
+            // The previous step made it worse, so step back in the other direction with a smaller factor.
+            growing = !growing;
+            factor = Math.max(MIN_FACTOR, 1 + (factor - 1) / 2);
+        }
+        previousRowsPerSec = rowsPerSec;
+
+        int next = growing ? clamp(Math.max(batchSize + 1, (int) Math.round(batchSize * factor)))
+                           : clamp(Math.min(batchSize - 1, (int) Math.round(batchSize / factor)));
+        // A bound was reached, so the next step measures the bound and then heads back.
+        if(next == batchSize) growing = !growing;
+        batchSize = next;
+
+        steps++;
+        stepFlushes = 0;
+        stepRows = 0;
+        stepLatencyNanos = 0;
+        stepStartNanos = now;
+    }
+
+    private int clamp(int size){
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+
+    /**
+     * Logs the batch-size that the target settled on.
+     */
+    public void close(){
+        if(!adaptive) return;
+
+        String message = String.format("%s adaptive batch-size settled on %d rows after %d steps. Last measured speed was %.0f rows / sec.",
+                target, batchSize, steps, Math.max(previousRowsPerSec, 0));
+        Logger.LOG(String.format("%s: %s", Thread.currentThread().getName(), message));
+        if(doCsvLogging){
+            CSVLogger.GeneralLogger.createOrGetInstance().write(Thread.currentThread().getName(), message);
+            csvLogger.setDone();
+        }
+    }
+}
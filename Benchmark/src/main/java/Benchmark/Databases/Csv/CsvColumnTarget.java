@@ -2,6 +2,8 @@ package Benchmark.Databases.Csv;
 
 import Benchmark.Config.ConfigFile;
 import Benchmark.Config.Granularity;
+import Benchmark.Generator.GeneratedData.AccessPointMapping;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
@@ -10,19 +12,21 @@ import Benchmark.Generator.Targets.ITarget;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
 
 /**
  * Writes the added entries to the specified file in column-format, separated by a newline.
  */
 public class CsvColumnTarget implements ITarget {
     private final GeneratedAccessPoint[] allAPs;
+    private final AccessPointMapping apMapping;
     private final BufferedWriter writer;
     private final Granularity granularity;
+    private final StringBuilder batchBuilder = new StringBuilder();
 
-    public CsvColumnTarget(ConfigFile config, GeneratedAccessPoint[] allAPs) throws IOException {
+    public CsvColumnTarget(ConfigFile config, GeneratedAccessPoint[] allAPs, String filePath) throws IOException {
         this.allAPs = allAPs;
-        writer = new BufferedWriter(new FileWriter(config.getGeneratorDiskTarget()));
+        this.apMapping = new AccessPointMapping(allAPs);
+        writer = new BufferedWriter(new FileWriter(filePath));
         this.granularity = config.getGeneratorGranularity();
 
         // Write a header for the CSV file:
@@ -42,19 +46,33 @@ public class CsvColumnTarget implements ITarget {
         assert entry instanceof GeneratedColumnEntry : "Generated entry passed to column target must be a column-entry";
         GeneratedColumnEntry columnEntry = (GeneratedColumnEntry) entry;
 
-        HashMap<String, Integer> map = columnEntry.getMapping();
+        int[] apIndices = apMapping.sourceIndices(columnEntry.getAccessPoints());
         StringBuilder sb = new StringBuilder();
         sb.append(columnEntry.getTime(granularity));
 
-        for(GeneratedAccessPoint AP : allAPs){
+        for(int apId = 0; apId < allAPs.length; apId++){
             sb.append(";");
-            sb.append(map.getOrDefault(AP.getAPname(), 0));
+            sb.append(columnEntry.getClients(apIndices[apId]));
         }
 
         writer.write(sb.toString());
         writer.write("\n");
     }
 
+    @Override
+    public void addBatch(EntryBatch batch) throws IOException {
+        int[] apIndices = apMapping.sourceIndices(batch.getAccessPoints());
+        batchBuilder.setLength(0);
+        for(int i = 0; i < batch.size(); i++){
+            batchBuilder.append(batch.getTime(i, granularity));
+            for(int apId = 0; apId < allAPs.length; apId++){
+                batchBuilder.append(';').append(batch.getClients(i, apIndices[apId]));
+            }
+            batchBuilder.append('\n');
+        }
+        writer.append(batchBuilder);
+    }
+
     @Override
     public boolean shouldStopEarly() {
         return false;
@@ -2,6 +2,7 @@ package Benchmark.Databases.Csv;
 
 import Benchmark.Config.ConfigFile;
 import Benchmark.Config.Granularity;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 import Benchmark.Generator.Targets.ITarget;
@@ -16,9 +17,10 @@ import java.io.IOException;
 public class CsvRowTarget implements ITarget {
     private final BufferedWriter writer;
     private final Granularity granularity;
+    private final StringBuilder batchBuilder = new StringBuilder();
 
-    public CsvRowTarget(ConfigFile config) throws IOException {
-        writer = new BufferedWriter(new FileWriter(config.getGeneratorDiskTarget()));
+    public CsvRowTarget(ConfigFile config, String filePath) throws IOException {
+        writer = new BufferedWriter(new FileWriter(filePath));
         this.granularity = config.getGeneratorGranularity();
     }
 
@@ -31,6 +33,19 @@ public class CsvRowTarget implements ITarget {
         writer.write("\n");
     }
 
+    @Override
+    public void addBatch(EntryBatch batch) throws IOException {
+        // Encode the whole batch before handing it to the writer. Same format as GeneratedRowEntry.toString
+        batchBuilder.setLength(0);
+        for(int i = 0; i < batch.size(); i++){
+            batchBuilder.append(batch.getTime(i, granularity))
+                    .append(';').append(batch.getAccessPoint(i).getAPname())
+                    .append(';').append(batch.getClients(i))
+                    .append('\n');
+        }
+        writer.append(batchBuilder);
+    }
+
     @Override
     public boolean shouldStopEarly() {
         return false;
@@ -9,6 +9,11 @@ public enum DBTargets{
      * Querying these csv-files isn't supported.
      */
     CSV,
+    /**
+     * Generated data can be written to a binary dataset file, which can then be replayed into the other targets during
+     * ingestion without running the generator. Querying these files isn't supported.
+     */
+    DATASET,
     /**
      * Writing generated data to InfluxDB and querying it afterward is supported by the benchmark.
      * The benchmark was tested with Influx v1.7.10
@@ -12,7 +12,7 @@ import Benchmark.Queries.IQueries;
 public class DatabaseQueriesFactory {
     /**
      * Creates a new instance of an IQueries-implementation for the database that's selected in the config file.
-     * An exception will be thrown if the config-file specifies the CSV-target, since it has no IQueries implementation.
+     * An exception will be thrown if the config-file specifies the CSV- or DATASET-target, since they have no IQueries implementation.
      *
      * @param config The config-file of the benchmark.
      * @return A new instance of the IQueries-implementation for the specified database.
@@ -29,6 +29,8 @@ public class DatabaseQueriesFactory {
                         return new KuduRowQueries();
                     case CSV:
                         throw new IllegalStateException("The CSV target is only for writing generated data to disk for later loading into databases. Querying the csv files isn't implemented.");
+                    case DATASET:
+                        throw new IllegalStateException("The DATASET target is only for writing generated data to disk for later replay into databases. Querying the dataset files isn't implemented.");
                     default:
                         throw new IllegalStateException("Unknown query target: " + config.getQueriesTarget());
                 }
@@ -42,6 +44,8 @@ public class DatabaseQueriesFactory {
                         return new KuduColumnQueries();
                     case CSV:
                         throw new IllegalStateException("The CSV target is only for writing generated data to disk for later loading into databases. Querying the csv files isn't implemented.");
+                    case DATASET:
+                        throw new IllegalStateException("The DATASET target is only for writing generated data to disk for later replay into databases. Querying the dataset files isn't implemented.");
                     default:
                         throw new IllegalStateException("Unknown query target: " + config.getQueriesTarget());
                 }
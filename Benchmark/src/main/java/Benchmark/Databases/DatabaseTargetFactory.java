@@ -3,11 +3,18 @@ package Benchmark.Databases;
 import Benchmark.Config.ConfigFile;
 import Benchmark.Databases.Csv.CsvColumnTarget;
 import Benchmark.Databases.Csv.CsvRowTarget;
+import Benchmark.Databases.Dataset.DatasetTarget;
+import Benchmark.Databases.Influx.InfluxColumnLineProtocolTarget;
 import Benchmark.Databases.Influx.InfluxColumnTarget;
+import Benchmark.Databases.Influx.InfluxIngestMode;
+import Benchmark.Databases.Influx.InfluxRowLineProtocolTarget;
 import Benchmark.Databases.Influx.InfluxRowTarget;
 import Benchmark.Databases.Kudu.KuduColumnTarget;
 import Benchmark.Databases.Kudu.KuduRowTarget;
+import Benchmark.Databases.Timescale.TimescaleColumnCopyTarget;
 import Benchmark.Databases.Timescale.TimescaleColumnTarget;
+import Benchmark.Databases.Timescale.TimescaleIngestMode;
+import Benchmark.Databases.Timescale.TimescaleRowCopyTarget;
 import Benchmark.Databases.Timescale.TimescaleRowTarget;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.Targets.ITarget;
@@ -26,14 +33,26 @@ public class DatabaseTargetFactory {
      * @return A new instance of the ITarget-implementation for the specified database.
      */
     public static ITarget createDatabaseTarget(DBTargets target, ConfigFile config, boolean recreate, GeneratedAccessPoint[] allAPs) throws IOException, SQLException {
+        return createDatabaseTarget(target, config, recreate, allAPs, config.getGeneratorDiskTarget());
+    }
+
+    /**
+     * Same as {@link #createDatabaseTarget(DBTargets, ConfigFile, boolean, GeneratedAccessPoint[])}, but CSV-targets
+     * write to the given file path instead of the path specified in the config.
+     */
+    public static ITarget createDatabaseTarget(DBTargets target, ConfigFile config, boolean recreate, GeneratedAccessPoint[] allAPs, String csvFilePath) throws IOException, SQLException {
         switch (config.getSchema()){
             case NARROW:
                 switch (target){
                     case INFLUX:
+                        if(config.getInfluxIngestMode() == InfluxIngestMode.LINE_PROTOCOL) return new InfluxRowLineProtocolTarget(config, recreate);
                         return new InfluxRowTarget(config, recreate);
                     case CSV:
-                        return new CsvRowTarget(config);
+                        return new CsvRowTarget(config, csvFilePath);
+                    case DATASET:
+                        return new DatasetTarget(config, allAPs, config.getGeneratorDatasetTarget());
                     case TIMESCALE:
+                        if(config.getTimescaleIngestMode() != TimescaleIngestMode.INSERT) return new TimescaleRowCopyTarget(config, recreate);
                         return new TimescaleRowTarget(config, recreate);
                     case KUDU:
                         return new KuduRowTarget(config, recreate);
@@ -45,10 +64,14 @@ public class DatabaseTargetFactory {
 
                 switch (target){
                     case CSV:
-                        return new CsvColumnTarget(config, allAPs);
+                        return new CsvColumnTarget(config, allAPs, csvFilePath);
+                    case DATASET:
+                        return new DatasetTarget(config, allAPs, config.getGeneratorDatasetTarget());
                     case INFLUX:
+                        if(config.getInfluxIngestMode() == InfluxIngestMode.LINE_PROTOCOL) return new InfluxColumnLineProtocolTarget(config, recreate, allAPs);
                         return new InfluxColumnTarget(config, recreate, allAPs);
                     case TIMESCALE:
+                        if(config.getTimescaleIngestMode() != TimescaleIngestMode.INSERT) return new TimescaleColumnCopyTarget(config, recreate, allAPs);
                         return new TimescaleColumnTarget(config, recreate, allAPs);
                     case KUDU:
                         return new KuduColumnTarget(config, recreate, allAPs);
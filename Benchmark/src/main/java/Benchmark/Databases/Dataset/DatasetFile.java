@@ -0,0 +1,121 @@
+package Benchmark.Databases.Dataset;
+
+import Benchmark.Databases.SchemaFormats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The layout of the binary dataset files written by {@link DatasetTarget} and replayed by {@link DatasetReplay}.
+ *
+ * All values are little-endian. The file starts with a header:
+ * <pre>
+ *   long   MAGIC
+ *   int    VERSION
+ *   int    schema (0 = NARROW, 1 = WIDE)
+ *   int    number of APs
+ *   per AP: int length, followed by that many bytes of the UTF-8 encoded AP name
+ * </pre>
+ * Followed by any number of blocks, each storing its rows column by column:
+ * <pre>
+ *   int    number of bytes in the block, excluding this int
+ *   int    number of rows
+ *   NARROW: long[rows] epoch-nanos, int[rows] AP-indices, int[rows] clients
+ *   WIDE:   long[rows] epoch-nanos, long[(rows * APs + 63) / 64] presence-bitset, int[rows * APs] clients
+ * </pre>
+ * AP-indices, and the columns of the wide schema, refer to the APs in the order of the header.
+ */
+class DatasetFile {
+    static final long MAGIC = 0x315445534443434FL; // "OCCDSET1" read as a little-endian long
+    static final int VERSION = 1;
+
+    /**
+     * The maximum number of rows in a block of the narrow schema.
+     */
+    static final int NARROW_BLOCK_ROWS = 16_384;
+    /**
+     * The maximum number of values (rows * APs) in a block of the wide schema.
+     */
+    static final int WIDE_BLOCK_VALUES = 262_144;
+
+    static int BlockRows(SchemaFormats schema, int accessPoints){
+        switch (schema){
+            case NARROW:
+                return NARROW_BLOCK_ROWS;
+            case WIDE:
+                return Math.max(1, WIDE_BLOCK_VALUES / accessPoints);
+            default:
+                throw new IllegalStateException("Unknown schema: " + schema);
+        }
+    }
+
+    /**
+     * @return The size of a block with the given number of rows, excluding the leading length-int.
+     */
+    static int BlockBytes(SchemaFormats schema, int accessPoints, int rows){
+        switch (schema){
+            case NARROW:
+                return 4 + rows * (8 + 4 + 4);
+            case WIDE:
+                return 4 + rows * 8 + PresenceLongs(rows, accessPoints) * 8 + rows * accessPoints * 4;
+            default:
+                throw new IllegalStateException("Unknown schema: " + schema);
+        }
+    }
+
+    static int PresenceLongs(int rows, int accessPoints){
+        return (rows * accessPoints + 63) >>> 6;
+    }
+
+    static void WriteHeader(FileChannel channel, SchemaFormats schema, String[] apNames) throws IOException {
+        byte[][] encodedNames = new byte[apNames.length][];
+        int size = 8 + 4 + 4 + 4;
+        for(int i = 0; i < apNames.length; i++){
+            encodedNames[i] = apNames[i].getBytes(StandardCharsets.UTF_8);
+            size += 4 + encodedNames[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putLong(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(SchemaCode(schema));
+        buffer.putInt(apNames.length);
+        for(byte[] name : encodedNames){
+            buffer.putInt(name.length);
+            buffer.put(name);
+        }
+        buffer.flip();
+        WriteFully(channel, buffer);
+    }
+
+    static void WriteFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+
+    private static int SchemaCode(SchemaFormats schema){
+        switch (schema){
+            case NARROW:
+                return 0;
+            case WIDE:
+                return 1;
+            default:
+                throw new IllegalStateException("Unknown schema: " + schema);
+        }
+    }
+
+    static SchemaFormats SchemaFromCode(int code){
+        switch (code){
+            case 0:
+                return SchemaFormats.NARROW;
+            case 1:
+                return SchemaFormats.WIDE;
+            default:
+                throw new IllegalStateException("Dataset file has an unknown schema-code: " + code);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package Benchmark.Databases.Dataset;
+
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.Targets.ITarget;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.HashMap;
+
+/**
+ * Replays a dataset file written by {@link DatasetTarget} into a target, as batches of the rows in each block.
+ * The file is memory-mapped, so replay doesn't run the generator and is only bounded by I/O and the target itself.
+ */
+public class DatasetReplay {
+    // Blocks are read through mapped windows of the file, since a single mapping is limited to 2GB.
+    private static final long WINDOW_BYTES = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final SchemaFormats schema;
+    private final GeneratedAccessPoint[] allAPs;
+    private final int[] mapping;
+    private final int fileAPs;
+    private final long firstBlockOffset;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    /**
+     * Opens the given dataset file for replay.
+     *
+     * @param filePath The path of the dataset file.
+     * @param schema The schema that the dataset must have been written with.
+     * @param allAPs The APs of the benchmark. The batches passed to the target refer to these APs.
+     */
+    public DatasetReplay(String filePath, SchemaFormats schema, GeneratedAccessPoint[] allAPs) throws IOException {
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.schema = schema;
+        this.allAPs = allAPs;
+
+        ByteBuffer header = ByteBuffer.allocate(8 + 4 + 4 + 4).order(ByteOrder.LITTLE_ENDIAN);
+        long position = readFully(header, 0);
+        if(header.getLong() != DatasetFile.MAGIC) throw new IllegalStateException("Not a dataset file: " + filePath);
+        int version = header.getInt();
+        if(version != DatasetFile.VERSION) throw new IllegalStateException("Dataset file " + filePath + " has version " + version + ", but only version " + DatasetFile.VERSION + " is supported.");
+        SchemaFormats fileSchema = DatasetFile.SchemaFromCode(header.getInt());
+        if(fileSchema != schema) throw new IllegalStateException("Dataset file " + filePath + " was written with the " + fileSchema + " schema, but the benchmark uses the " + schema + " schema.");
+        this.fileAPs = header.getInt();
+
+        // Map the APs of the file to the APs of the benchmark. Fails if the dataset wasn't generated from the same floors.
+        HashMap<String, Integer> apIndices = new HashMap<>();
+        for(int i = 0; i < allAPs.length; i++){
+            apIndices.put(allAPs[i].getAPname(), i);
+        }
+        this.mapping = new int[fileAPs];
+        ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        for(int i = 0; i < fileAPs; i++){
+            length.clear();
+            position = readFully(length, position);
+            ByteBuffer name = ByteBuffer.allocate(length.getInt());
+            position = readFully(name, position);
+            String apName = new String(name.array(), StandardCharsets.UTF_8);
+            Integer index = apIndices.get(apName);
+            if(index == null) throw new IllegalStateException("Dataset file " + filePath + " contains the AP '" + apName + "' which isn't one of the generated APs. Was it generated with a different config?");
+            mapping[i] = index;
+        }
+        this.firstBlockOffset = position;
+    }
+
+    private long readFully(ByteBuffer buffer, long position) throws IOException {
+        while(buffer.hasRemaining()){
+            int read = channel.read(buffer, position);
+            if(read < 0) throw new IOException("Unexpected end of dataset file.");
+            position += read;
+        }
+        buffer.flip();
+        return position;
+    }
+
+    /**
+     * Adds the blocks of the file to the given target. The blocks are split between multiple replaying threads by
+     * giving every {@code parts}'th block to the same thread, so that all threads together replay the file exactly once.
+     *
+     * Replay stops early if the target asks to stop.
+     *
+     * @param part The index of the part of the file to replay.
+     * @param parts The number of parts to split the file into.
+     * @return The number of replayed rows.
+     */
+    public long replay(ITarget target, int part, int parts) throws IOException, SQLException {
+        assert 0 <= part && part < parts;
+        int[] fileApIds = null;
+        int[] clients = null;
+        long[] times = null;
+        long[] present = null;
+        EntryBatch batch = null;
+        int batchRows = 0;
+        long replayedRows = 0;
+
+        long offset = firstBlockOffset;
+        for(long block = 0; offset < fileSize; block++){
+            int blockBytes = map(offset, 4).getInt();
+            if(block % parts != part){
+                offset += 4 + blockBytes;
+                continue;
+            }
+            if(target.shouldStopEarly()) break;
+
+            ByteBuffer buffer = map(offset + 4, blockBytes);
+            int rows = buffer.getInt();
+            if(times == null || times.length < rows){
+                times = new long[rows];
+                fileApIds = new int[rows];
+                clients = new int[schema == SchemaFormats.WIDE ? rows * fileAPs : rows];
+                present = new long[DatasetFile.PresenceLongs(rows, fileAPs)];
+            }
+            if(batch == null || batchRows < rows){
+                // Narrow batches hold a row per AP for each tick, while wide batches hold a single row per tick.
+                int ticks = schema == SchemaFormats.WIDE ? rows : (rows + allAPs.length - 1) / allAPs.length;
+                batch = new EntryBatch(schema, allAPs, ticks);
+                batchRows = schema == SchemaFormats.WIDE ? ticks : ticks * allAPs.length;
+            }
+
+            batch.clear();
+            buffer.asLongBuffer().get(times, 0, rows);
+            buffer.position(buffer.position() + rows * 8);
+            switch (schema){
+                case NARROW:
+                    buffer.asIntBuffer().get(fileApIds, 0, rows);
+                    buffer.position(buffer.position() + rows * 4);
+                    buffer.asIntBuffer().get(clients, 0, rows);
+                    for(int i = 0; i < rows; i++){
+                        batch.addRow(times[i], mapping[fileApIds[i]], clients[i]);
+                    }
+                    break;
+                case WIDE:
+                    int presenceLongs = DatasetFile.PresenceLongs(rows, fileAPs);
+                    buffer.asLongBuffer().get(present, 0, presenceLongs);
+                    buffer.position(buffer.position() + presenceLongs * 8);
+                    buffer.asIntBuffer().get(clients, 0, rows * fileAPs);
+                    for(int i = 0; i < rows; i++){
+                        int row = batch.addWideRow();
+                        batch.setEpochNanos(row, times[i]);
+                        for(int apId = 0; apId < fileAPs; apId++){
+                            int index = i * fileAPs + apId;
+                            if((present[index >>> 6] & (1L << index)) != 0) batch.setClients(row, mapping[apId], clients[index]);
+                        }
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown schema: " + schema);
+            }
+
+            target.addBatch(batch);
+            replayedRows += rows;
+            offset += 4 + blockBytes;
+        }
+
+        return replayedRows;
+    }
+
+    /**
+     * @return A little-endian buffer of the given region of the file.
+     */
+    private ByteBuffer map(long offset, int length) throws IOException {
+        if(offset + length > fileSize) throw new IOException("Dataset file is truncated.");
+        if(window == null || offset < windowStart || offset + length > windowStart + window.capacity()){
+            windowStart = offset;
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(fileSize - offset, Math.max(WINDOW_BYTES, length)));
+        }
+        ByteBuffer buffer = window.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position((int) (offset - windowStart));
+        buffer.limit((int) (offset - windowStart) + length);
+        return buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,190 @@
+package Benchmark.Databases.Dataset;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Config.Granularity;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.*;
+import Benchmark.Generator.Targets.ITarget;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Writes the added entries to a binary dataset file that can be replayed during ingestion, so that ingestion doesn't
+ * have to run the generator. See {@link DatasetFile} for the format.
+ *
+ * Times are always stored with nanosecond precision, and are truncated to the granularity of the target they are
+ * replayed into.
+ */
+public class DatasetTarget implements ITarget {
+    private final SchemaFormats schema;
+    private final GeneratedAccessPoint[] allAPs;
+    private final HashMap<String, Integer> apIndices = new HashMap<>();
+    private final AccessPointMapping apMapping;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int blockRows;
+
+    private final long[] times;
+    private final int[] apIds;
+    private final int[] clients;
+    private final long[] present;
+    private int rows;
+    // The last AP-array whose APs have been checked to be in the file.
+    private GeneratedAccessPoint[] checkedAPs;
+
+    public DatasetTarget(ConfigFile config, GeneratedAccessPoint[] allAPs, String filePath) throws IOException {
+        this.schema = config.getSchema();
+        this.allAPs = allAPs;
+        String[] apNames = new String[allAPs.length];
+        for(int i = 0; i < allAPs.length; i++){
+            apNames[i] = allAPs[i].getAPname();
+            apIndices.put(apNames[i], i);
+        }
+        this.apMapping = new AccessPointMapping(allAPs);
+
+        this.blockRows = DatasetFile.BlockRows(schema, allAPs.length);
+        this.times = new long[blockRows];
+        switch (schema){
+            case NARROW:
+                apIds = new int[blockRows];
+                clients = new int[blockRows];
+                present = null;
+                break;
+            case WIDE:
+                apIds = null;
+                clients = new int[blockRows * allAPs.length];
+                present = new long[DatasetFile.PresenceLongs(blockRows, allAPs.length)];
+                break;
+            default:
+                throw new IllegalStateException("Unknown schema: " + schema);
+        }
+        this.buffer = ByteBuffer.allocateDirect(4 + DatasetFile.BlockBytes(schema, allAPs.length, blockRows)).order(ByteOrder.LITTLE_ENDIAN);
+
+        this.channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        DatasetFile.WriteHeader(channel, schema, apNames);
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) throws IOException {
+        long epochNanos = entry.getTime(Granularity.NANOSECOND);
+        switch (schema){
+            case NARROW: {
+                assert entry instanceof GeneratedRowEntry : "Generated entry passed to row target must be a row-entry";
+                GeneratedRowEntry rowEntry = (GeneratedRowEntry) entry;
+                times[rows] = epochNanos;
+                apIds[rows] = indexOf(rowEntry.getAP());
+                clients[rows] = rowEntry.getNumClients();
+                break;
+            }
+            case WIDE: {
+                assert entry instanceof GeneratedColumnEntry : "Generated entry passed to column target must be a column-entry";
+                GeneratedColumnEntry columnEntry = (GeneratedColumnEntry) entry;
+                times[rows] = epochNanos;
+                int[] mapping = mappingFor(columnEntry.getAccessPoints());
+                for(int apId = 0; apId < mapping.length; apId++){
+                    if(columnEntry.hasClients(apId)) setClients(rows, mapping[apId], columnEntry.getClients(apId));
+                }
+                break;
+            }
+        }
+        rows++;
+        if(rows == blockRows) writeBlock();
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws IOException {
+        int[] mapping = mappingFor(batch.getAccessPoints());
+        for(int i = 0; i < batch.size(); i++){
+            times[rows] = batch.getEpochNanos(i);
+            switch (schema){
+                case NARROW:
+                    int apId = batch.getAccessPointId(i);
+                    apIds[rows] = mapping[apId];
+                    clients[rows] = batch.getClients(i);
+                    break;
+                case WIDE:
+                    for(int batchApId = 0; batchApId < mapping.length; batchApId++){
+                        if(batch.hasClients(i, batchApId)) setClients(rows, mapping[batchApId], batch.getClients(i, batchApId));
+                    }
+                    break;
+            }
+            rows++;
+            if(rows == blockRows) writeBlock();
+        }
+    }
+
+    private void setClients(int row, int apId, int numClients){
+        int index = row * allAPs.length + apId;
+        clients[index] = numClients;
+        present[index >>> 6] |= 1L << index;
+    }
+
+    private int indexOf(String apName){
+        Integer index = apIndices.get(apName);
+        if(index == null) throw new IllegalStateException("Dataset target received an entry for the unknown AP: " + apName);
+        return index;
+    }
+
+    /**
+     * @return A mapping from the indices of the given APs to our indices.
+     */
+    private int[] mappingFor(GeneratedAccessPoint[] APs){
+        int[] mapping = apMapping.targetIndices(APs);
+        if(APs != checkedAPs){
+            // APs that aren't in the file can't be written, so fail on them the same way as unknown row-entries.
+            for(int apId = 0; apId < mapping.length; apId++){
+                if(mapping[apId] == AccessPointMapping.MISSING) indexOf(APs[apId].getAPname());
+            }
+            checkedAPs = APs;
+        }
+        return mapping;
+    }
+
+    private void writeBlock() throws IOException {
+        if(rows == 0) return;
+
+        buffer.clear();
+        buffer.putInt(DatasetFile.BlockBytes(schema, allAPs.length, rows));
+        buffer.putInt(rows);
+        buffer.asLongBuffer().put(times, 0, rows);
+        buffer.position(buffer.position() + rows * 8);
+        switch (schema){
+            case NARROW:
+                buffer.asIntBuffer().put(apIds, 0, rows);
+                buffer.position(buffer.position() + rows * 4);
+                buffer.asIntBuffer().put(clients, 0, rows);
+                buffer.position(buffer.position() + rows * 4);
+                break;
+            case WIDE:
+                int presenceLongs = DatasetFile.PresenceLongs(rows, allAPs.length);
+                buffer.asLongBuffer().put(present, 0, presenceLongs);
+                buffer.position(buffer.position() + presenceLongs * 8);
+                buffer.asIntBuffer().put(clients, 0, rows * allAPs.length);
+                buffer.position(buffer.position() + rows * allAPs.length * 4);
+                // Values that aren't overwritten by the next block must read as holes.
+                Arrays.fill(present, 0L);
+                break;
+        }
+        buffer.flip();
+        DatasetFile.WriteFully(channel, buffer);
+        rows = 0;
+    }
+
+    @Override
+    public boolean shouldStopEarly() {
+        return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeBlock();
+        channel.close();
+    }
+}
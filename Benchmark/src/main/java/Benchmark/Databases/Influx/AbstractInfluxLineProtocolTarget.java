@@ -0,0 +1,310 @@
+package Benchmark.Databases.Influx;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Config.Granularity;
+import Benchmark.Databases.AdaptiveBatchSize;
+import Benchmark.Generator.Targets.ITarget;
+import Benchmark.Logger;
+import okhttp3.Credentials;
+import okhttp3.HttpUrl;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.influxdb.InfluxDB;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Abstract class for Influx target-implementations that encode their rows as line protocol themselves and POST them
+ * to the {@code /write}-endpoint of InfluxDB, rather than building a Point per row and letting the Influx library
+ * batch and serialize them on its own thread.
+ *
+ * Rows are encoded directly into a reusable byte-buffer, and the buffer is written once it contains
+ * {@code INFLUX_BATCHSIZE} lines. If {@code INFLUX_LINE_PROTOCOL_INFLIGHT} is above 0, the target owns that many
+ * additional buffers and a full buffer is then written in the background while the next batch is encoded. The
+ * writes are awaited in the order they were issued, so errors are reported in the same order as without them.
+ * The latency of each write is measured on the thread that issues it, and is reported to the adaptive batch-size.
+ *
+ * Implementations encode a line by calling {@link #beginLine(int)}, then the write-methods for the parts of the line,
+ * and then {@link #endLine()}. Names are escaped once up front using the escape-methods, and written with
+ * {@link #writeBytes(byte[])}.
+ */
+public abstract class AbstractInfluxLineProtocolTarget implements ITarget {
+    private static final int MIN_BUFFER_SIZE = 64 * 1024;
+    private static final MediaType LINE_PROTOCOL = MediaType.parse("text/plain; charset=utf-8");
+
+    // Upper bounds on the number of bytes that a value takes up, including its separator or type-suffix.
+    protected static final int MAX_INTEGER_BYTES = 12;
+    protected static final int MAX_TIMESTAMP_BYTES = 21;
+
+    protected final Granularity granularity;
+    protected final byte[] escapedMeasurement;
+    protected volatile boolean errorsOccurred;
+
+    private final OkHttpClient httpClient;
+    private final HttpUrl writeUrl;
+    private final String credentials;
+    private final boolean gzip;
+    private final AdaptiveBatchSize batchSize;
+    private final byte[][] buffers;
+    private final Future<?>[] pendingWrites;
+    private final int[] pendingLines;
+    private final long[] pendingNanos;
+    private final ExecutorService writeExecutor;
+    private int currentBuffer;
+    private byte[] buffer;
+    private int position;
+    private int linesInBatch;
+
+    public AbstractInfluxLineProtocolTarget(ConfigFile config, boolean recreate) throws IOException {
+        assert config.getInfluxIngestMode() == InfluxIngestMode.LINE_PROTOCOL;
+        this.granularity = config.getGeneratorGranularity();
+        this.escapedMeasurement = encode(escapeMeasurement(config.getInfluxTable()));
+        this.gzip = config.getInfluxLineProtocolGzip();
+        this.batchSize = new AdaptiveBatchSize(config, "Influx", config.getInfluxBatchsize(), true);
+
+        // The Influx library is still used for the database-setup, and to check that the database can be reached.
+        InfluxDB influxDB = InfluxHelper.openConnection(config.getInfluxUrl(), config.getInfluxUsername(), config.getInfluxPassword());
+        try {
+            if(recreate){
+                InfluxHelper.dropTable(influxDB, config.getInfluxTable());
+                // InfluxDB creates its table (measurement) just inserting into it. We cant create it explicitly.
+            }
+        } finally {
+            influxDB.close();
+        }
+
+        HttpUrl baseUrl = HttpUrl.parse(config.getInfluxUrl());
+        if(baseUrl == null) throw new IOException("Invalid Influx url: " + config.getInfluxUrl());
+        this.writeUrl = baseUrl.newBuilder()
+                .addPathSegment("write")
+                .addQueryParameter("db", config.getInfluxDBName())
+                .addQueryParameter("precision", precisionOf(granularity))
+                .build();
+        this.credentials = Credentials.basic(config.getInfluxUsername(), config.getInfluxPassword());
+        this.httpClient = new OkHttpClient.Builder().readTimeout(60, TimeUnit.SECONDS).build();
+
+        int inflight = config.getInfluxLineProtocolInflight();
+        buffers = new byte[inflight + 1][];
+        for(int i = 0; i < buffers.length; i++){
+            buffers[i] = new byte[MIN_BUFFER_SIZE];
+        }
+        buffer = buffers[0];
+        pendingWrites = new Future<?>[buffers.length];
+        pendingLines = new int[buffers.length];
+        pendingNanos = new long[buffers.length];
+        writeExecutor = inflight == 0 ? null : Executors.newFixedThreadPool(inflight, runnable -> {
+            Thread thread = new Thread(runnable, "Influx write");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a new line.
+     *
+     * @param maxBytes An upper bound on the number of bytes that the encoded line takes up, including its line-break.
+     */
+    protected void beginLine(int maxBytes){
+        // Lines are never split between writes, so that the encoders don't have to check the remaining space.
+        if(position + maxBytes > buffer.length){
+            byte[] grown = new byte[Math.max(buffer.length * 2, position + maxBytes)];
+            System.arraycopy(buffer, 0, grown, 0, position);
+            buffer = grown;
+            buffers[currentBuffer] = grown;
+        }
+    }
+
+    protected void endLine() throws IOException {
+        buffer[position++] = '\n';
+        linesInBatch++;
+        if(linesInBatch >= batchSize.get()){
+            flushBatch();
+        }
+    }
+
+    /**
+     * Writes an integer field-value.
+     */
+    protected void writeInteger(int value){
+        writeDigits(value);
+        buffer[position++] = 'i';
+    }
+
+    /**
+     * Writes the timestamp of the line, in the granularity of the generated data.
+     */
+    protected void writeTimestamp(long granularTime){
+        buffer[position++] = ' ';
+        writeDigits(granularTime);
+    }
+
+    protected void writeBytes(byte[] bytes){
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    protected void writeByte(char value){
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Escapes the characters that have a special meaning in the measurement-name of a line.
+     */
+    protected static String escapeMeasurement(String measurement){
+        return measurement.replace(",", "\\,").replace(" ", "\\ ");
+    }
+
+    /**
+     * Escapes the characters that have a special meaning in tag-keys, tag-values and field-keys.
+     */
+    protected static String escapeKey(String key){
+        return key.replace(",", "\\,").replace("=", "\\=").replace(" ", "\\ ");
+    }
+
+    protected static byte[] encode(String text){
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void writeDigits(long value){
+        if(value < 0){
+            buffer[position++] = '-';
+        }
+        int digits = 1;
+        for(long rest = value / 10; rest != 0; rest /= 10){
+            digits++;
+        }
+        // Digits are computed from the negative value, since the absolute value of Long.MIN_VALUE isn't representable.
+        long remaining = value < 0 ? value : -value;
+        for(int i = position + digits - 1; i >= position; i--){
+            buffer[i] = (byte) ('0' - remaining % 10);
+            remaining /= 10;
+        }
+        position += digits;
+    }
+
+    /**
+     * Writes the lines in the current buffer. With in-flight writes, the buffer is written in the background and the
+     * following lines are encoded into the next buffer.
+     */
+    private void flushBatch() throws IOException {
+        if(position == 0) return;
+        if(writeExecutor == null){
+            long start = System.nanoTime();
+            write(buffer, position);
+            batchSize.record(linesInBatch, System.nanoTime() - start);
+        } else {
+            byte[] fullBuffer = buffer;
+            int length = position;
+            int bufferIndex = currentBuffer;
+            pendingLines[bufferIndex] = linesInBatch;
+            pendingWrites[bufferIndex] = writeExecutor.submit(() -> {
+                long start = System.nanoTime();
+                write(fullBuffer, length);
+                // Read by the ingest-thread once the write has been awaited.
+                pendingNanos[bufferIndex] = System.nanoTime() - start;
+                return null;
+            });
+            currentBuffer = (currentBuffer + 1) % buffers.length;
+            // The next buffer may still be written from a full round ago. Since the buffers are used in round-robin
+            //   order, that's also the oldest write that is still pending.
+            awaitWrite(currentBuffer);
+            buffer = buffers[currentBuffer];
+        }
+        position = 0;
+        linesInBatch = 0;
+    }
+
+    private void write(byte[] data, int length) throws IOException {
+        Request.Builder request = new Request.Builder().url(writeUrl).header("Authorization", credentials);
+        if(gzip){
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 4);
+            try(GZIPOutputStream gzipStream = new GZIPOutputStream(compressed)){
+                gzipStream.write(data, 0, length);
+            }
+            request.header("Content-Encoding", "gzip").post(RequestBody.create(LINE_PROTOCOL, compressed.toByteArray()));
+        } else {
+            request.post(RequestBody.create(LINE_PROTOCOL, data, 0, length));
+        }
+
+        try(Response response = httpClient.newCall(request.build()).execute()){
+            if(!response.isSuccessful()){
+                errorsOccurred = true;
+                ResponseBody body = response.body();
+                Logger.LOG("INFLUX: Error during influx write. Status was " + response.code() + ": " + (body == null ? "" : body.string()));
+            }
+        }
+    }
+
+    private void awaitWrite(int bufferIndex) throws IOException {
+        Future<?> pending = pendingWrites[bufferIndex];
+        if(pending == null) return;
+        pendingWrites[bufferIndex] = null;
+        try {
+            pending.get();
+            batchSize.record(pendingLines[bufferIndex], pendingNanos[bufferIndex]);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an Influx batch to be written.", e);
+        } catch (ExecutionException e) {
+            errorsOccurred = true;
+            if(e.getCause() instanceof IOException) throw (IOException) e.getCause();
+            throw new IllegalStateException("Writing an Influx batch failed.", e.getCause());
+        }
+    }
+
+    private static String precisionOf(Granularity granularity){
+        switch (granularity){
+            case NANOSECOND:
+                return "n";
+            case MICROSECOND:
+                return "u";
+            case MILLISECOND:
+                return "ms";
+            case SECOND:
+                return "s";
+            case MINUTE:
+                return "m";
+            default:
+                throw new IllegalStateException("Unexpected value: " + granularity);
+        }
+    }
+
+    @Override
+    public boolean shouldStopEarly() {
+        return errorsOccurred;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            if(writeExecutor == null){
+                flushBatch();
+                batchSize.close();
+                return;
+            }
+
+            // Wait for the pending writes in the order they were issued, then write the remaining lines.
+            for(int i = 1; i <= buffers.length; i++){
+                awaitWrite((currentBuffer + i) % buffers.length);
+            }
+            if(position > 0) write(buffer, position);
+            batchSize.close();
+        } finally {
+            if(writeExecutor != null) writeExecutor.shutdownNow();
+            httpClient.dispatcher().executorService().shutdown();
+            httpClient.connectionPool().evictAll();
+        }
+    }
+}
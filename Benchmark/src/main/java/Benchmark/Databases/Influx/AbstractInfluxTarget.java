@@ -36,6 +36,16 @@ public abstract class AbstractInfluxTarget implements ITarget {
         });
     }
 
+    /**
+     * Uses the given handle as-is, without any of the database-setup or batching. Lets the microbenchmarks measure
+     * how points are built, by passing a handle that discards the written points.
+     */
+    protected AbstractInfluxTarget(ConfigFile config, InfluxDB influxDB){
+        this.measurementName = config.getInfluxTable();
+        this.granularity = config.getGeneratorGranularity();
+        this.influxDB = influxDB;
+    }
+
     @Override
     public boolean shouldStopEarly() {
         return errorsOccurred;
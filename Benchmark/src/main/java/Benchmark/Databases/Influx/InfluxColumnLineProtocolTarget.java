@@ -0,0 +1,70 @@
+package Benchmark.Databases.Influx;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.AccessPointMapping;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+
+import java.io.IOException;
+
+/**
+ * Writes the added entries to InfluxDB with nanosecond precision, in column-format, by encoding them as line protocol.
+ */
+public class InfluxColumnLineProtocolTarget extends AbstractInfluxLineProtocolTarget {
+    private final GeneratedAccessPoint[] allAPs;
+    private final AccessPointMapping apMapping;
+    // The escaped field-key of each AP followed by '=', and preceded by the separator of the previous field.
+    private final byte[][] fieldPrefixes;
+    private final int maxLineBytes;
+
+    public InfluxColumnLineProtocolTarget(ConfigFile config, boolean recreate, GeneratedAccessPoint[] allAPs) throws IOException {
+        super(config, recreate);
+        this.allAPs = allAPs;
+        this.apMapping = new AccessPointMapping(allAPs);
+
+        fieldPrefixes = new byte[allAPs.length][];
+        int lineBytes = escapedMeasurement.length + 1 + MAX_TIMESTAMP_BYTES + 1;
+        for(int apId = 0; apId < allAPs.length; apId++){
+            fieldPrefixes[apId] = encode((apId == 0 ? "" : ",") + escapeKey(allAPs[apId].getAPname()) + "=");
+            lineBytes += fieldPrefixes[apId].length + MAX_INTEGER_BYTES;
+        }
+        maxLineBytes = lineBytes;
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) throws IOException {
+        assert entry instanceof GeneratedColumnEntry : "Generated entry passed to column target must be a column-entry";
+        GeneratedColumnEntry columnEntry = (GeneratedColumnEntry) entry;
+
+        int[] apIndices = apMapping.sourceIndices(columnEntry.getAccessPoints());
+        beginLine(maxLineBytes);
+        writeBytes(escapedMeasurement);
+        writeByte(' ');
+        for(int apId = 0; apId < allAPs.length; apId++){
+            //Note: Influx doesn't support null as field-values so we are forced to write '0' here for non-existent APs.
+            writeBytes(fieldPrefixes[apId]);
+            writeInteger(columnEntry.getClients(apIndices[apId]));
+        }
+        writeTimestamp(columnEntry.getTime(granularity));
+        endLine();
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws IOException {
+        int[] apIndices = apMapping.sourceIndices(batch.getAccessPoints());
+        for(int i = 0; i < batch.size(); i++){
+            beginLine(maxLineBytes);
+            writeBytes(escapedMeasurement);
+            writeByte(' ');
+            for(int apId = 0; apId < allAPs.length; apId++){
+                //Note: Influx doesn't support null as field-values so we are forced to write '0' here for non-existent APs.
+                writeBytes(fieldPrefixes[apId]);
+                writeInteger(batch.getClients(i, apIndices[apId]));
+            }
+            writeTimestamp(batch.getTime(i, granularity));
+            endLine();
+        }
+    }
+}
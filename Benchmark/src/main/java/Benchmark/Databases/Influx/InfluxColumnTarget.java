@@ -1,23 +1,37 @@
 package Benchmark.Databases.Influx;
 
 import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.AccessPointMapping;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import org.influxdb.InfluxDB;
 import org.influxdb.dto.Point;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Writes the added entries to InfluxDB with nanosecond precision, in column-format.
  */
 public class InfluxColumnTarget extends AbstractInfluxTarget {
     private final GeneratedAccessPoint[] allAPs;
+    private final AccessPointMapping apMapping;
 
     public InfluxColumnTarget(ConfigFile config, boolean recreate, GeneratedAccessPoint[] allAPs) throws IOException {
         super(config, recreate);
         this.allAPs = allAPs;
+        this.apMapping = new AccessPointMapping(allAPs);
+    }
+
+    /**
+     * Writes to the given handle, without any database-setup. See {@link AbstractInfluxTarget#AbstractInfluxTarget(ConfigFile, InfluxDB)}.
+     */
+    public InfluxColumnTarget(ConfigFile config, InfluxDB influxDB, GeneratedAccessPoint[] allAPs) {
+        super(config, influxDB);
+        this.allAPs = allAPs;
+        this.apMapping = new AccessPointMapping(allAPs);
     }
 
     @Override
@@ -25,14 +39,27 @@ public class InfluxColumnTarget extends AbstractInfluxTarget {
         assert entry instanceof GeneratedColumnEntry : "Generated entry passed to column target must be a column-entry";
         GeneratedColumnEntry columnEntry = (GeneratedColumnEntry) entry;
 
-        HashMap<String, Integer> map = columnEntry.getMapping();
-
+        int[] apIndices = apMapping.sourceIndices(columnEntry.getAccessPoints());
         long time = columnEntry.getTime(granularity);
         Point.Builder builder = Point.measurement(measurementName).time(time, granularity.toTimeUnit());
-        for(GeneratedAccessPoint AP : allAPs){
+        for(int apId = 0; apId < allAPs.length; apId++){
             //Note: Influx doesn't support null as field-values so we are forced to write '0' here for non-existent APs.
-            builder.addField(AP.getAPname(), map.getOrDefault(AP.getAPname(), 0));
+            builder.addField(allAPs[apId].getAPname(), columnEntry.getClients(apIndices[apId]));
         }
         influxDB.write(builder.build());
     }
+
+    @Override
+    public void addBatch(EntryBatch batch) {
+        int[] apIndices = apMapping.sourceIndices(batch.getAccessPoints());
+        TimeUnit timeUnit = granularity.toTimeUnit();
+        for(int i = 0; i < batch.size(); i++){
+            Point.Builder builder = Point.measurement(measurementName).time(batch.getTime(i, granularity), timeUnit);
+            for(int apId = 0; apId < allAPs.length; apId++){
+                //Note: Influx doesn't support null as field-values so we are forced to write '0' here for non-existent APs.
+                builder.addField(allAPs[apId].getAPname(), batch.getClients(i, apIndices[apId]));
+            }
+            influxDB.write(builder.build());
+        }
+    }
 }
@@ -0,0 +1,5 @@
+package Benchmark.Databases.Influx;
+
+public enum InfluxIngestMode {
+    CLIENT, LINE_PROTOCOL;
+}
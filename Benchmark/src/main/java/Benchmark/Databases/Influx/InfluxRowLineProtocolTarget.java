@@ -0,0 +1,67 @@
+package Benchmark.Databases.Influx;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the added entries to InfluxDB with nanosecond precision, in row-format, by encoding them as line protocol.
+ */
+public class InfluxRowLineProtocolTarget extends AbstractInfluxLineProtocolTarget {
+    // Everything before the field-value of a line, which only depends on the AP: "measurement,AP=name clients="
+    private final Map<String, byte[]> linePrefixes = new HashMap<>();
+    // The line-prefixes of the APs of the most recent batch, indexed like the APs of the batch.
+    private GeneratedAccessPoint[] batchAPs;
+    private byte[][] batchLinePrefixes;
+
+    public InfluxRowLineProtocolTarget(ConfigFile config, boolean recreate) throws IOException {
+        super(config, recreate);
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) throws IOException {
+        assert entry instanceof GeneratedRowEntry : "Generated entry passed to row target must be a row-entry";
+        GeneratedRowEntry rowEntry = (GeneratedRowEntry) entry;
+
+        byte[] linePrefix = linePrefixes.computeIfAbsent(rowEntry.getAP(), this::encodeLinePrefix);
+        writeLine(linePrefix, rowEntry.getNumClients(), rowEntry.getTime(granularity));
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws IOException {
+        // The generator reuses the same APs for all of its batches, so the prefixes are only looked up once.
+        if(batch.getAccessPoints() != batchAPs){
+            batchAPs = batch.getAccessPoints();
+            batchLinePrefixes = new byte[batchAPs.length][];
+            for(int apId = 0; apId < batchAPs.length; apId++){
+                batchLinePrefixes[apId] = linePrefixes.computeIfAbsent(batchAPs[apId].getAPname(), this::encodeLinePrefix);
+            }
+        }
+
+        for(int i = 0; i < batch.size(); i++){
+            writeLine(batchLinePrefixes[batch.getAccessPointId(i)], batch.getClients(i), batch.getTime(i, granularity));
+        }
+    }
+
+    private void writeLine(byte[] linePrefix, int clients, long time) throws IOException {
+        beginLine(linePrefix.length + MAX_INTEGER_BYTES + MAX_TIMESTAMP_BYTES + 1);
+        writeBytes(linePrefix);
+        writeInteger(clients);
+        writeTimestamp(time);
+        endLine();
+    }
+
+    private byte[] encodeLinePrefix(String apName){
+        byte[] tagAndField = encode(",AP=" + escapeKey(apName) + " clients=");
+        byte[] prefix = new byte[escapedMeasurement.length + tagAndField.length];
+        System.arraycopy(escapedMeasurement, 0, prefix, 0, escapedMeasurement.length);
+        System.arraycopy(tagAndField, 0, prefix, escapedMeasurement.length, tagAndField.length);
+        return prefix;
+    }
+}
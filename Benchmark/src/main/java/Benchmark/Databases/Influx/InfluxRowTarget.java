@@ -1,11 +1,14 @@
 package Benchmark.Databases.Influx;
 
 import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import org.influxdb.InfluxDB;
 import org.influxdb.dto.Point;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Writes the added entries to InfluxDB with nanosecond precision, in row-format.
@@ -15,6 +18,13 @@ public class InfluxRowTarget extends AbstractInfluxTarget {
         super(config, recreate);
     }
 
+    /**
+     * Writes to the given handle, without any database-setup. See {@link AbstractInfluxTarget#AbstractInfluxTarget(ConfigFile, InfluxDB)}.
+     */
+    public InfluxRowTarget(ConfigFile config, InfluxDB influxDB) {
+        super(config, influxDB);
+    }
+
     @Override
     public void add(IGeneratedEntry entry) {
         assert entry instanceof GeneratedRowEntry : "Generated entry passed to row target must be a row-entry";
@@ -28,4 +38,17 @@ public class InfluxRowTarget extends AbstractInfluxTarget {
                         .addField("clients", rowEntry.getNumClients())
                         .build());
     }
+
+    @Override
+    public void addBatch(EntryBatch batch) {
+        TimeUnit timeUnit = granularity.toTimeUnit();
+        for(int i = 0; i < batch.size(); i++){
+            influxDB.write(
+                    Point.measurement(measurementName)
+                            .time(batch.getTime(i, granularity), timeUnit)
+                            .tag("AP", batch.getAccessPoint(i).getAPname())
+                            .addField("clients", batch.getClients(i))
+                            .build());
+        }
+    }
 }
@@ -1,37 +1,67 @@
 package Benchmark.Databases.Kudu;
 
+import Benchmark.CSVLogger;
 import Benchmark.Config.ConfigFile;
 import Benchmark.Config.Granularity;
+import Benchmark.Databases.AdaptiveBatchSize;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 import Benchmark.Generator.Targets.ITarget;
 import Benchmark.Logger;
-import org.apache.kudu.client.Insert;
-import org.apache.kudu.client.KuduException;
-import org.apache.kudu.client.KuduSession;
-import org.apache.kudu.client.OperationResponse;
+import org.apache.kudu.client.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Abstract class for Kudu target-implementations containing default-implementation for some ITarget-functions and
+ * a constructor that opens the client and the session that the inserts are applied to.
+ *
+ * With the MANUAL flush-mode, the session is flushed on the ingest-thread every {@code KUDU_BATCH_SIZE} inserts, and
+ * the response of every insert is checked. The latency of each flush is reported to the adaptive batch-size.
+ *
+ * With the BACKGROUND flush-mode, the session flushes its buffered inserts in the background while new inserts are
+ * applied to its other buffer. Errors from the background-flushes are then collected by the session, and are sampled
+ * every {@code KUDU_BATCH_SIZE} inserts instead. When both buffers are full, inserts wait for a flush to finish. These
+ * waits are counted and reported when the target is closed. The batch-size isn't adaptive in this mode, since the
+ * flushes are issued by the session.
+ *
+ * If the range-partitions are created on-the-fly, the inserted times are published to the
+ * {@link KuduRangePartitionManager} of the table, and inserts wait when they are beyond its last partition.
+ */
 public abstract class AbstractKuduTarget implements ITarget {
+    // The newest inserted time is published to the partition manager at most once per this much time of data.
+    private static final long PUBLISH_INTERVAL_MICROS = 3_600_000_000L;
+
+    protected final KuduClient kuduClient;
     protected final Granularity granularity;
-    protected final int batchSize;
+    protected final AdaptiveBatchSize batchSize;
     protected boolean errorOccured = false;
     private int inserts = 0;
     private final long lastDateWithPartition;
     private boolean hasWarnedAboutPartitionDate = false;
 
+    private final KuduFlushMode flushMode;
+    private final boolean doCsvLogging;
+    private KuduSession session;
+    private AsyncKuduSession asyncSession;
+    private long throttledInserts;
+    private long throttledNanos;
+    private KuduRangePartitionManager partitionManager;
+    private long nextPublishMicros = Long.MIN_VALUE;
+
     public AbstractKuduTarget(ConfigFile config){
         // Kudu granularity is microseconds at best.
         this.granularity = config.getGeneratorGranularity() == Granularity.NANOSECOND
                 ? Granularity.MICROSECOND : config.getGeneratorGranularity();
 
-        this.batchSize = config.getKuduBatchSize();
+        this.flushMode = config.getKuduFlushMode();
+        this.batchSize = new AdaptiveBatchSize(config, "Kudu", config.getKuduBatchSize(), flushMode == KuduFlushMode.MANUAL);
+        this.doCsvLogging = config.doLoggingToCSV();
 
         // We only pre-create a set number of range partitions, so warn when we exceed them.
-        if(config.getKuduPartitionType() == KuduPartitionType.RANGE || config.getKuduPartitionType() == KuduPartitionType.HASH_AND_RANGE){
+        if(hasRangePartitions(config) && config.getKuduRangePartitionsAhead() == 0){
             LocalDate startDate = config.getGeneratorStartDate().isBefore(config.getIngestStartDate()) ? config.getGeneratorStartDate() : config.getIngestStartDate();
             LocalDateTime lastDate = startDate.atTime(0,0,0).plusYears(config.getKuduRangePrecreatedNumberOfYears());
             lastDateWithPartition = Granularity.MICROSECOND.getTime(lastDate);
@@ -39,9 +69,42 @@ public abstract class AbstractKuduTarget implements ITarget {
             lastDateWithPartition = Long.MAX_VALUE;
         }
 
+        if(flushMode == KuduFlushMode.BACKGROUND){
+            // The synchronous session hides when it waits for full buffers, so the asynchronous session is used instead.
+            AsyncKuduClient asyncClient = KuduHelper.openAsyncConnection(config);
+            this.kuduClient = asyncClient.syncClient();
+            asyncSession = asyncClient.newSession();
+            asyncSession.setFlushMode(SessionConfiguration.FlushMode.AUTO_FLUSH_BACKGROUND);
+            asyncSession.setMutationBufferSpace(config.getKuduMutationBufferSpace());
+        } else {
+            this.kuduClient = KuduHelper.openConnection(config);
+            session = kuduClient.newSession();
+            // We could probably rely on one of the automatic modes, but the java examples talk about how the
+            // time-based flushing isn't quite reliable so we'll go manual for now.
+            session.setFlushMode(SessionConfiguration.FlushMode.MANUAL_FLUSH);
+            session.setMutationBufferSpace(config.getKuduMutationBufferSpace());
+        }
+    }
+
+    private static boolean hasRangePartitions(ConfigFile config){
+        return config.getKuduPartitionType() == KuduPartitionType.RANGE || config.getKuduPartitionType() == KuduPartitionType.HASH_AND_RANGE;
+    }
+
+    /**
+     * Starts creating the range-partitions of the table on-the-fly, if configured to. Must be called once the table exists.
+     */
+    protected void startPartitionManagement(ConfigFile config) throws KuduException {
+        if(hasRangePartitions(config) && config.getKuduRangePartitionsAhead() > 0){
+            partitionManager = KuduRangePartitionManager.acquire(config);
+        }
     }
 
-    protected void doInsert(KuduSession session, Insert insert) throws KuduException{
+    protected void doInsert(Insert insert) throws KuduException{
+        if(flushMode == KuduFlushMode.BACKGROUND){
+            doBackgroundInsert(insert);
+            return;
+        }
+
         try{
             OperationResponse response = session.apply(insert);
             inserts++;
@@ -54,9 +117,11 @@ public abstract class AbstractKuduTarget implements ITarget {
             throw e;
         }
 
-        if(inserts == batchSize){
-            inserts = 0;
+        if(inserts >= batchSize.get()){
+            long start = System.nanoTime();
             List<OperationResponse> responses = session.flush();
+            batchSize.record(inserts, System.nanoTime() - start);
+            inserts = 0;
             for(OperationResponse response : responses){
                 if(response.hasRowError()){
                     errorOccured = true;
@@ -66,20 +131,94 @@ public abstract class AbstractKuduTarget implements ITarget {
         }
     }
 
+    private void doBackgroundInsert(Insert insert) throws KuduException{
+        while(true){
+            try{
+                asyncSession.apply(insert);
+                break;
+            } catch (PleaseThrottleException e){
+                // Both buffers are full, so wait for the buffer that is being flushed and then apply the insert again.
+                throttledInserts++;
+                long start = System.nanoTime();
+                try{
+                    e.getDeferred().join(asyncSession.getTimeoutMillis());
+                } catch (InterruptedException interrupted){
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a Kudu flush-buffer.", interrupted);
+                } catch (Exception flushError){
+                    // The rows of a failed flush are reported through the pending errors, which are checked below.
+                }
+                throttledNanos += System.nanoTime() - start;
+            }
+        }
+
+        inserts++;
+        if(inserts >= batchSize.get()){
+            inserts = 0;
+            checkPendingErrors();
+        }
+    }
+
+    private void checkPendingErrors(){
+        if(asyncSession.countPendingErrors() == 0) return;
+
+        RowErrorsAndOverflowStatus pendingErrors = asyncSession.getPendingErrors();
+        RowError[] rowErrors = pendingErrors.getRowErrors();
+        if(rowErrors.length == 0) return;
+        errorOccured = true;
+        // Only the first error is logged, since a failing flush usually fails the same way for all of its rows.
+        Logger.LOG("KUDU: " + rowErrors.length + (pendingErrors.isOverflowed() ? "+" : "") +
+                " errors occurred during background flushes. First error was: " + rowErrors[0].toString());
+    }
+
     @Override
     public boolean shouldStopEarly() {
-        return errorOccured;
+        return errorOccured || (partitionManager != null && partitionManager.hasFailed());
     }
 
     protected long padTime(IGeneratedEntry entry){
         // We want a long of microseconds, so we need to pad to that precision regardless of
         //   the desired granularity, so first we truncate and then pad if needed.
-        long granularTime = entry.getTime(granularity);
+        return padTime(entry.getTime(granularity));
+    }
+
+    protected long padTime(long granularTime){
         long timestamp = TimeUnit.MICROSECONDS.convert(granularTime, granularity.toTimeUnit());
+        if(partitionManager != null){
+            if(timestamp >= nextPublishMicros){
+                partitionManager.publish(timestamp);
+                nextPublishMicros = timestamp + PUBLISH_INTERVAL_MICROS;
+            }
+            if(timestamp >= partitionManager.getHorizon()) partitionManager.awaitPartition(timestamp);
+        }
         if(timestamp > lastDateWithPartition && !hasWarnedAboutPartitionDate){
             hasWarnedAboutPartitionDate = true;
             Logger.LOG("Warning: Kudu target implementation has exceeded the pre-created range partitions. All further inserts will be put in the last, unbounded partition.");
         }
         return timestamp;
     }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            if(flushMode == KuduFlushMode.BACKGROUND){
+                asyncSession.close().join(asyncSession.getTimeoutMillis());
+                checkPendingErrors();
+
+                String message = String.format("Kudu inserts waited for a full flush-buffer %d times, for %.2f seconds in total.",
+                        throttledInserts, throttledNanos / 1_000_000_000.0);
+                Logger.LOG(String.format("%s: %s", Thread.currentThread().getName(), message));
+                if(doCsvLogging) CSVLogger.GeneralLogger.createOrGetInstance().write(Thread.currentThread().getName(), message);
+            } else {
+                session.close();
+                batchSize.close();
+            }
+        } finally {
+            try {
+                if(partitionManager != null) partitionManager.release();
+            } finally {
+                kuduClient.close();
+            }
+        }
+    }
 }
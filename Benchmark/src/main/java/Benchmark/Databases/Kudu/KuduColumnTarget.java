@@ -1,32 +1,36 @@
 package Benchmark.Databases.Kudu;
 
 import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.AccessPointMapping;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 import org.apache.kudu.client.*;
 
 public class KuduColumnTarget extends AbstractKuduTarget {
-    private final KuduClient kuduClient;
     private final GeneratedAccessPoint[] allAPs;
+    private final AccessPointMapping apMapping;
     private final KuduTable kuduTable;
-    private final KuduSession kuduSession;
+    private final int[] columnIndices;
 
     public KuduColumnTarget(ConfigFile config, boolean recreate, GeneratedAccessPoint[] allAPs) throws KuduException {
         super(config);
-        this.kuduClient = KuduHelper.openConnection(config);
         this.allAPs = allAPs;
+        this.apMapping = new AccessPointMapping(allAPs);
 
         if(recreate){
             KuduHelper.deleteTable(kuduClient, config);
             KuduHelper.createTableWithColumnSchema(kuduClient, config, allAPs);
         }
         this.kuduTable = kuduClient.openTable(config.getKuduTable());
-        this.kuduSession = kuduClient.newSession();
-        // We could probably rely on one of the automatic modes, but the java examples talk about how the
-        // time-based flushing isn't quite reliable so we'll go manual for now.
-        kuduSession.setFlushMode(SessionConfiguration.FlushMode.MANUAL_FLUSH);
-        kuduSession.setMutationBufferSpace(config.getKuduMutationBufferSpace());
+        startPartitionManagement(config);
+
+        // Resolve the column of each AP once, so that batches can be bound by index rather than by column name.
+        this.columnIndices = new int[allAPs.length];
+        for(int i = 0; i < allAPs.length; i++){
+            columnIndices[i] = kuduTable.getSchema().getColumnIndex(allAPs[i].getAPname());
+        }
     }
 
     @Override
@@ -38,16 +42,26 @@ public class KuduColumnTarget extends AbstractKuduTarget {
         PartialRow row = insert.getRow();
         assert insert.getTable().getSchema().getColumnId("time") == 0 : "Has the Kudu row-schema been changed?";
         row.addLong(0, padTime(columnEntry));
-        for(GeneratedAccessPoint AP : allAPs){
-            row.addInt(AP.getAPname(), columnEntry.getMapping().getOrDefault(AP.getAPname(), 0));
+        int[] apIndices = apMapping.sourceIndices(columnEntry.getAccessPoints());
+        for(int apId = 0; apId < allAPs.length; apId++){
+            row.addInt(columnIndices[apId], columnEntry.getClients(apIndices[apId]));
         }
 
-        doInsert(kuduSession, insert);
+        doInsert(insert);
     }
 
     @Override
-    public void close() throws KuduException {
-        kuduSession.close();
-        kuduClient.close();
+    public void addBatch(EntryBatch batch) throws KuduException {
+        int[] apIndices = apMapping.sourceIndices(batch.getAccessPoints());
+        for(int i = 0; i < batch.size(); i++){
+            Insert insert = kuduTable.newInsert();
+            PartialRow row = insert.getRow();
+            row.addLong(0, padTime(batch.getTime(i, granularity)));
+            for(int apId = 0; apId < allAPs.length; apId++){
+                row.addInt(columnIndices[apId], batch.getClients(i, apIndices[apId]));
+            }
+
+            doInsert(insert);
+        }
     }
 }
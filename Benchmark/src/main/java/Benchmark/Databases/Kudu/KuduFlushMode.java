@@ -0,0 +1,5 @@
+package Benchmark.Databases.Kudu;
+
+public enum KuduFlushMode {
+    MANUAL, BACKGROUND;
+}
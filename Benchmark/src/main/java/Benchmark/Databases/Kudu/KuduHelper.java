@@ -24,8 +24,19 @@ public class KuduHelper {
         return new KuduClient.KuduClientBuilder(kuduMasters).defaultAdminOperationTimeoutMs(120000).build();
     }
 
-    public static void createTableWithRowSchema(KuduClient client, ConfigFile config) throws KuduException {
-        String table = config.getKuduTable();
+    /**
+     * Opens an asynchronous connection to the Kudu database. Its synchronous counterpart is available through
+     * {@link AsyncKuduClient#syncClient()}, and closing either of them closes both.
+     */
+    public static AsyncKuduClient openAsyncConnection(ConfigFile config){
+        String kuduMasters = config.getKuduMasters();
+        return new AsyncKuduClient.AsyncKuduClientBuilder(kuduMasters).defaultAdminOperationTimeoutMs(120000).build();
+    }
+
+    /**
+     * @return The schema of the table used for the row-format.
+     */
+    public static Schema createRowSchema(){
         List<ColumnSchema> columns = new ArrayList<>();
         columns.add(
                 new ColumnSchema.ColumnSchemaBuilder("time", Type.UNIXTIME_MICROS)
@@ -49,7 +60,12 @@ public class KuduHelper {
                         .build()
         );
 
-        Schema schema = new Schema(columns);
+        return new Schema(columns);
+    }
+
+    public static void createTableWithRowSchema(KuduClient client, ConfigFile config) throws KuduException {
+        String table = config.getKuduTable();
+        Schema schema = createRowSchema();
         CreateTableOptions options = new CreateTableOptions();
         options.setNumReplicas(1);
         List<String> hashKeys = new ArrayList<>();
@@ -103,9 +119,10 @@ public class KuduHelper {
         }
     }
 
-    public static void createTableWithColumnSchema(KuduClient client, ConfigFile config, GeneratedAccessPoint[] allAPs) throws KuduException {
-        String table = config.getKuduTable();
-
+    /**
+     * @return The schema of the table used for the column-format, with a column for each of the given APs.
+     */
+    public static Schema createColumnSchema(GeneratedAccessPoint[] allAPs){
         List<ColumnSchema> columns = new ArrayList<>();
         columns.add(
                 new ColumnSchema.ColumnSchemaBuilder("time", Type.UNIXTIME_MICROS)
@@ -127,11 +144,17 @@ public class KuduHelper {
             );
         }
 
-        if(columns.size() > config.getKuduMaxColumns()){
+        return new Schema(columns);
+    }
+
+    public static void createTableWithColumnSchema(KuduClient client, ConfigFile config, GeneratedAccessPoint[] allAPs) throws KuduException {
+        String table = config.getKuduTable();
+        Schema schema = createColumnSchema(allAPs);
+
+        if(schema.getColumnCount() > config.getKuduMaxColumns()){
             throw new IllegalStateException("Too many columns are needed to store the chosen config in a column-format. Reduce the scaling or switch to a row-format.");
         }
 
-        Schema schema = new Schema(columns);
         CreateTableOptions options = new CreateTableOptions();
         options.setNumReplicas(1);
         List<String> rangeKeys = new ArrayList<>();
@@ -185,8 +208,13 @@ public class KuduHelper {
         unboundedStart.addLong("time", Granularity.MICROSECOND.getTime(startDateWithTime));
         options.addRangePartition(schema.newPartialRow(),unboundedStart);
 
+        // When the partitions are created on-the-fly, only the first few partitions are created here.
+        // See KuduRangePartitionManager.
+        boolean createdOnTheFly = config.getKuduRangePartitionsAhead() > 0;
+        int partitions = 0;
+
         LocalDateTime date = startDateWithTime;
-        while(date.isBefore(startDateWithTime.plusYears(config.getKuduRangePrecreatedNumberOfYears()))){
+        while(createdOnTheFly ? partitions < config.getKuduRangePartitionsAhead() : date.isBefore(startDateWithTime.plusYears(config.getKuduRangePrecreatedNumberOfYears()))){
             LocalDateTime next = date;
             switch (config.getKuduPartitionInterval()){
                 case WEEKLY:
@@ -206,8 +234,12 @@ public class KuduHelper {
             options.addRangePartition(startRow, endRow);
 
             date = next;
+            partitions++;
         }
 
+        // The manager can't add partitions after an unbounded partition, so the last partition must be bounded.
+        if(createdOnTheFly) return;
+
         // Create an unbounded range-partition from [startDate + x years, +INFINITY).
         // Might be needed if ingestion/generation runs for long enough that the defined partitions are exceeded.
         // Without this, we would crash when we reach this point. The Kudu ITarget-implementations contain code that'll
@@ -0,0 +1,272 @@
+package Benchmark.Databases.Kudu;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Config.Granularity;
+import Benchmark.Logger;
+import org.apache.kudu.Schema;
+import org.apache.kudu.client.*;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Creates the range-partitions of a Kudu-table as ingestion reaches them, rather than pre-creating them all when the
+ * table is created. Optionally also drops the partitions that have fallen out of the retention-window.
+ *
+ * The targets of a table in this process share a single manager, which runs on its own thread. The targets publish
+ * the newest time that they have inserted, and the manager keeps {@code KUDU_RANGE_PARTITION_AHEAD} partitions ahead
+ * of it. If a target is about to insert beyond the last partition anyway, it waits for the manager to create it.
+ *
+ * With multiple ingest-processes, each process runs its own manager. A manager that fails to add or drop a partition
+ * re-reads the partitions of the table, to check whether another process already did it.
+ */
+public class KuduRangePartitionManager implements Runnable {
+    private static final Map<String, KuduRangePartitionManager> instances = new HashMap<>();
+    private static final long NONE = Long.MIN_VALUE;
+    private static final long CHECK_INTERVAL_NANOS = 100_000_000L;
+
+    private final ConfigFile config;
+    private final KuduClient client;
+    private final KuduTable table;
+    private final Schema schema;
+    private final int partitionsAhead;
+    private final int partitionsRetained;
+    // The start of each bounded range-partition that the table has, in order, followed by the end of the last one.
+    private final List<Long> boundaries = new ArrayList<>();
+    private final AtomicLong newestTime = new AtomicLong(NONE);
+    private final Thread thread;
+    private volatile long horizon;
+    private volatile boolean stopped;
+    private volatile boolean failed;
+    private int references;
+
+    private KuduRangePartitionManager(ConfigFile config) throws KuduException {
+        this.config = config;
+        this.partitionsAhead = config.getKuduRangePartitionsAhead();
+        this.partitionsRetained = config.getKuduRangePartitionsRetained();
+        this.client = KuduHelper.openConnection(config);
+        this.table = client.openTable(config.getKuduTable());
+        this.schema = table.getSchema();
+        readPartitions();
+
+        thread = new Thread(this, "Kudu partition manager");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * @return The manager of the table specified in the config, which is started if it isn't already running.
+     *         Every call must be paired with a call to {@link #release()}.
+     */
+    public static synchronized KuduRangePartitionManager acquire(ConfigFile config) throws KuduException {
+        KuduRangePartitionManager manager = instances.get(config.getKuduTable());
+        if(manager == null){
+            manager = new KuduRangePartitionManager(config);
+            instances.put(config.getKuduTable(), manager);
+            manager.thread.start();
+        }
+        manager.references++;
+        return manager;
+    }
+
+    /**
+     * Releases the manager. The manager is stopped once it has been released by every target that acquired it.
+     */
+    public void release() throws KuduException {
+        synchronized (KuduRangePartitionManager.class){
+            references--;
+            if(references > 0) return;
+            instances.remove(config.getKuduTable());
+        }
+
+        stopped = true;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while stopping the Kudu partition manager.", e);
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * @return The end of the last range-partition, in microseconds since the epoch. Times before this have a partition.
+     */
+    public long getHorizon(){
+        return horizon;
+    }
+
+    /**
+     * Records that the given time, in microseconds since the epoch, has been inserted.
+     */
+    public void publish(long epochMicros){
+        long newest = newestTime.get();
+        while(epochMicros > newest){
+            if(newestTime.compareAndSet(newest, epochMicros)) return;
+            newest = newestTime.get();
+        }
+    }
+
+    /**
+     * Waits until a partition exists for the given time, in microseconds since the epoch.
+     */
+    public void awaitPartition(long epochMicros){
+        publish(epochMicros);
+        LockSupport.unpark(thread);
+        int spins = 0;
+        while(!stopped && epochMicros >= horizon){
+            if(spins++ < 100) Thread.yield();
+            else LockSupport.parkNanos(50_000);
+        }
+    }
+
+    /**
+     * @return True if the manager has stopped because it failed to manage the partitions.
+     */
+    public boolean hasFailed(){
+        return failed;
+    }
+
+    @Override
+    public void run() {
+        try {
+            while(!stopped){
+                long newest = newestTime.get();
+                if(newest != NONE){
+                    addPartitions(newest);
+                    if(partitionsRetained > 0) dropPartitions(newest);
+                }
+                LockSupport.parkNanos(CHECK_INTERVAL_NANOS);
+            }
+        } catch (Exception e) {
+            Logger.LOG("KUDU: Partition manager failed. No further partitions will be created. Error was: " + e.toString());
+            failed = true;
+            stopped = true;
+        }
+    }
+
+    private void addPartitions(long newest) throws Exception {
+        while(partitionsAfter(newest) < partitionsAhead){
+            long start = boundaries.get(boundaries.size() - 1);
+            long end = nextBoundary(start);
+            AlterTableOptions options = new AlterTableOptions().addRangePartition(boundaryRow(start), boundaryRow(end));
+            try {
+                client.alterTable(table.getName(), options);
+            } catch (KuduException e) {
+                // Another ingest-process may have added the partition already.
+                readPartitions();
+                if(horizon < end) throw e;
+                continue;
+            }
+            boundaries.add(end);
+            horizon = end;
+        }
+    }
+
+    private void dropPartitions(long newest) throws Exception {
+        while(partitionsBefore(newest) > partitionsRetained){
+            long start = boundaries.get(0);
+            long end = boundaries.get(1);
+            AlterTableOptions options = new AlterTableOptions().dropRangePartition(boundaryRow(start), boundaryRow(end));
+            try {
+                client.alterTable(table.getName(), options);
+            } catch (KuduException e) {
+                // Another ingest-process may have dropped the partition already.
+                readPartitions();
+                if(boundaries.get(0) <= start) throw e;
+                continue;
+            }
+            boundaries.remove(0);
+        }
+    }
+
+    /**
+     * @return The number of partitions that start after the given time.
+     */
+    private int partitionsAfter(long epochMicros){
+        int partitions = 0;
+        for(int i = boundaries.size() - 2; i >= 0 && boundaries.get(i) > epochMicros; i--){
+            partitions++;
+        }
+        return partitions;
+    }
+
+    /**
+     * @return The number of partitions that end at or before the given time.
+     */
+    private int partitionsBefore(long epochMicros){
+        int partitions = 0;
+        for(int i = 1; i < boundaries.size() && boundaries.get(i) <= epochMicros; i++){
+            partitions++;
+        }
+        return partitions;
+    }
+
+    private long nextBoundary(long epochMicros){
+        LocalDateTime date = Granularity.fromEpochNanos(epochMicros * 1000);
+        switch (config.getKuduPartitionInterval()){
+            case WEEKLY:
+                return Granularity.MICROSECOND.getTime(date.plusDays(7));
+            case MONTHLY:
+                return Granularity.MICROSECOND.getTime(date.plusMonths(1));
+            default:
+                throw new IllegalStateException("Unexpected value: " + config.getKuduPartitionInterval());
+        }
+    }
+
+    private PartialRow boundaryRow(long epochMicros){
+        PartialRow row = schema.newPartialRow();
+        row.addLong("time", epochMicros);
+        return row;
+    }
+
+    /**
+     * Reads the bounded range-partitions of the table. These are expected to be contiguous, which they are when they
+     * have been created by {@link KuduHelper} and this manager.
+     */
+    private void readPartitions() throws KuduException {
+        List<Partition> partitions;
+        try {
+            partitions = table.getRangePartitions(client.getDefaultAdminOperationTimeoutMs());
+        } catch (KuduException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to read the range-partitions of Kudu table " + table.getName(), e);
+        }
+
+        List<Long> starts = new ArrayList<>();
+        long end = NONE;
+        for(Partition partition : partitions){
+            // The unbounded partition before the first bounded partition is never managed.
+            if(partition.getRangeKeyStart().length == 0) continue;
+            if(partition.getRangeKeyEnd().length == 0){
+                throw new IllegalStateException("Kudu table " + table.getName() + " has an unbounded last range-partition, " +
+                        "so no partitions can be added after it. Recreate the table to manage its partitions.");
+            }
+            starts.add(decodeTime(partition.getRangeKeyStart()));
+            end = Math.max(end, decodeTime(partition.getRangeKeyEnd()));
+        }
+        if(starts.isEmpty()) throw new IllegalStateException("Kudu table " + table.getName() + " has no bounded range-partitions.");
+
+        starts.sort(Long::compare);
+        boundaries.clear();
+        boundaries.addAll(starts);
+        boundaries.add(end);
+        horizon = end;
+    }
+
+    /**
+     * Decodes the time of a range-key. The key of a single 64-bit column is encoded as big-endian, with the sign-bit
+     * flipped so that the keys sort as unsigned bytes.
+     */
+    private static long decodeTime(byte[] rangeKey){
+        return ByteBuffer.wrap(rangeKey).getLong() ^ Long.MIN_VALUE;
+    }
+}
@@ -1,6 +1,7 @@
 package Benchmark.Databases.Kudu;
 
 import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 import org.apache.kudu.client.*;
@@ -8,23 +9,16 @@ import org.apache.kudu.client.*;
 import java.io.IOException;
 
 public class KuduRowTarget extends AbstractKuduTarget {
-    private final KuduClient kuduClient;
     private final KuduTable kuduTable;
-    private final KuduSession kuduSession;
 
     public KuduRowTarget(ConfigFile config, boolean recreate) throws KuduException {
         super(config);
-        this.kuduClient = KuduHelper.openConnection(config);
         if(recreate){
             KuduHelper.deleteTable(kuduClient, config);
             KuduHelper.createTableWithRowSchema(kuduClient, config);
         }
         this.kuduTable = kuduClient.openTable(config.getKuduTable());
-        this.kuduSession = kuduClient.newSession();
-        // We could probably rely on one of the automatic modes, but the java examples talk about how the
-        // time-based flushing isn't quite reliable so we'll go manual for now.
-        kuduSession.setFlushMode(SessionConfiguration.FlushMode.MANUAL_FLUSH);
-        kuduSession.setMutationBufferSpace(config.getKuduMutationBufferSpace());
+        startPartitionManagement(config);
     }
 
     @Override
@@ -41,12 +35,19 @@ public class KuduRowTarget extends AbstractKuduTarget {
         assert insert.getTable().getSchema().getColumnId("clients") == 2 : "Has the Kudu row-schema been changed?";
         row.addInt(2, rowEntry.getNumClients());
 
-        doInsert(kuduSession, insert);
+        doInsert(insert);
     }
 
     @Override
-    public void close() throws KuduException {
-        kuduSession.close();
-        kuduClient.close();
+    public void addBatch(EntryBatch batch) throws KuduException {
+        for(int i = 0; i < batch.size(); i++){
+            Insert insert = kuduTable.newInsert();
+            PartialRow row = insert.getRow();
+            row.addLong(0, padTime(batch.getTime(i, granularity)));
+            row.addString(1, batch.getAccessPoint(i).getAPname());
+            row.addInt(2, batch.getClients(i));
+
+            doInsert(insert);
+        }
     }
 }
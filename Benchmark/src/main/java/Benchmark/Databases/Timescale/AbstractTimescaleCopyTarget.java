@@ -0,0 +1,259 @@
+package Benchmark.Databases.Timescale;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Databases.AdaptiveBatchSize;
+import Benchmark.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.TimeZone;
+
+/**
+ * Abstract class for Timescale target-implementations that write their rows using the COPY-protocol
+ * ({@code COPY ... FROM STDIN}) rather than prepared INSERT-statements.
+ *
+ * Rows are encoded directly into a reusable byte-buffer in either the text- or the binary-format of COPY, and the
+ * buffer is handed to the driver whenever it fills up. Each COPY-operation contains {@code TIMESCALE_COPY_CHUNKSIZE}
+ * rows, after which it is ended (and thereby committed) and a new one is started for the following rows. The time
+ * spent in the driver during a COPY-operation is reported to the adaptive batch-size as the latency of the chunk.
+ *
+ * Implementations encode a row by calling {@link #beginRow(int, int)}, then one write-method per column in the
+ * column-order of the COPY-statement, and then {@link #endRow()}.
+ */
+public abstract class AbstractTimescaleCopyTarget extends AbstractTimescaleTarget {
+    private static final int MIN_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] BINARY_HEADER = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0, // Signature
+            0, 0, 0, 0, // Flags
+            0, 0, 0, 0  // Length of the header extension
+    };
+    // The binary format stores timestamps as microseconds since 2000-01-01.
+    private static final long POSTGRES_EPOCH_MICROS = 946_684_800_000_000L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    // Upper bounds on the number of bytes that a field takes up in either format, including its separator or length.
+    protected static final int MAX_TIMESTAMP_BYTES = 25;
+    protected static final int MAX_INTEGER_BYTES = 12;
+
+    protected final boolean binary;
+    private final CopyManager copyManager;
+    private final String copySql;
+    private final AdaptiveBatchSize chunkSize;
+    private final TimeZone timeZone = TimeZone.getDefault();
+    private byte[] buffer = new byte[MIN_BUFFER_SIZE];
+    private int position;
+    private boolean firstFieldInRow;
+    private CopyIn copyIn;
+    private int rowsInChunk;
+    private long chunkNanos;
+
+    /**
+     * @param columns The quoted names of the columns to copy into, in the order that the rows are encoded.
+     */
+    public AbstractTimescaleCopyTarget(ConfigFile config, String columns) throws SQLException {
+        super(config);
+        assert config.getTimescaleIngestMode() != TimescaleIngestMode.INSERT;
+        this.binary = config.getTimescaleIngestMode() == TimescaleIngestMode.COPY_BINARY;
+        this.chunkSize = new AdaptiveBatchSize(config, "Timescale", config.getTimescaleCopyChunkSize(), true);
+        this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        this.copySql = String.format("COPY %s (%s) FROM STDIN%s", config.getTimescaleTable(), columns, binary ? " WITH (FORMAT binary)" : "");
+    }
+
+    /**
+     * Starts a new row.
+     *
+     * @param fields The number of fields in the row.
+     * @param maxBytes An upper bound on the number of bytes that the encoded row takes up.
+     */
+    protected void beginRow(int fields, int maxBytes) throws SQLException {
+        if(copyIn == null){
+            long start = System.nanoTime();
+            copyIn = copyManager.copyIn(copySql);
+            chunkNanos = System.nanoTime() - start;
+            if(binary) writeBytes(BINARY_HEADER);
+        }
+
+        // Rows are never split between buffers, so that the encoders don't have to check the remaining space.
+        // Also reserves the space for the end of the row (text), or for the field count and the trailer of the
+        //   COPY-operation (binary).
+        int required = maxBytes + (binary ? 4 : 1);
+        if(position + required > buffer.length){
+            flushBuffer();
+            if(required > buffer.length) buffer = new byte[Math.max(MIN_BUFFER_SIZE, required * 2)];
+        }
+
+        if(binary) writeShort(fields);
+        firstFieldInRow = true;
+    }
+
+    protected void endRow() throws SQLException {
+        if(!binary) buffer[position++] = '\n';
+        rowsInChunk++;
+        if(rowsInChunk >= chunkSize.get()){
+            endChunk();
+        }
+    }
+
+    /**
+     * Writes a timestamp, given as milliseconds since the epoch. The timestamp is written as the wall-clock time in
+     * the default time-zone of the JVM, which is how the driver sends a {@link java.sql.Timestamp} to the TIMESTAMP
+     * column when inserting rows with {@code setTimestamp}, so both ingest-modes store the same times.
+     */
+    protected void writeTimestamp(long epochMillis){
+        long localMillis = epochMillis + timeZone.getOffset(epochMillis);
+        beginField();
+        if(binary){
+            writeInt(8);
+            writeLong(localMillis * 1000 - POSTGRES_EPOCH_MICROS);
+            return;
+        }
+
+        // Formatted as "yyyy-MM-dd HH:mm:ss.SSS" by hand, to avoid allocating date-objects for every row.
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        long millisOfDay = Math.floorMod(localMillis, MILLIS_PER_DAY);
+        // Converts days since the epoch to a civil date (see http://howardhinnant.github.io/date_algorithms.html).
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        writeDigits(year, 4);
+        buffer[position++] = '-';
+        writeDigits(month, 2);
+        buffer[position++] = '-';
+        writeDigits(day, 2);
+        buffer[position++] = ' ';
+        writeDigits((int) (millisOfDay / 3_600_000), 2);
+        buffer[position++] = ':';
+        writeDigits((int) (millisOfDay / 60_000 % 60), 2);
+        buffer[position++] = ':';
+        writeDigits((int) (millisOfDay / 1000 % 60), 2);
+        buffer[position++] = '.';
+        writeDigits((int) (millisOfDay % 1000), 3);
+    }
+
+    /**
+     * Writes a text-value that has been encoded using {@link #encodeText(String)}.
+     */
+    protected void writeText(byte[] encodedText){
+        beginField();
+        if(binary) writeInt(encodedText.length);
+        writeBytes(encodedText);
+    }
+
+    protected void writeInteger(int value){
+        beginField();
+        if(binary){
+            writeInt(4);
+            writeInt(value);
+            return;
+        }
+
+        long remaining = value;
+        if(remaining < 0){
+            buffer[position++] = '-';
+            remaining = -remaining;
+        }
+        int digits = 1;
+        for(long rest = remaining / 10; rest > 0; rest /= 10){
+            digits++;
+        }
+        writeDigits(remaining, digits);
+    }
+
+    /**
+     * @return The given text, encoded so that it can be written with {@link #writeText(byte[])}.
+     */
+    protected byte[] encodeText(String text){
+        if(binary) return text.getBytes(StandardCharsets.UTF_8);
+        // The text-format uses backslash-escapes for the characters that delimit fields and rows.
+        String escaped = text.replace("\\", "\\\\").replace("\t", "\\t").replace("\n", "\\n").replace("\r", "\\r");
+        return escaped.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return An upper bound on the number of bytes that a text-value with the given encoding takes up.
+     */
+    protected static int maxTextBytes(byte[] encodedText){
+        return encodedText.length + 5;
+    }
+
+    private void beginField(){
+        if(binary || firstFieldInRow){
+            firstFieldInRow = false;
+            return;
+        }
+        buffer[position++] = '\t';
+    }
+
+    private void writeDigits(long value, int digits){
+        for(int i = position + digits - 1; i >= position; i--){
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        position += digits;
+    }
+
+    private void writeBytes(byte[] bytes){
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeShort(int value){
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeInt(int value){
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeLong(long value){
+        writeInt((int) (value >>> 32));
+        writeInt((int) value);
+    }
+
+    private void flushBuffer() throws SQLException {
+        if(position == 0) return;
+        long start = System.nanoTime();
+        copyIn.writeToCopy(buffer, 0, position);
+        chunkNanos += System.nanoTime() - start;
+        position = 0;
+    }
+
+    private void endChunk() throws SQLException {
+        if(binary) writeShort(-1); // File trailer. The buffer always has room for it, since it's reserved by beginRow.
+        flushBuffer();
+        long start = System.nanoTime();
+        long rows = copyIn.endCopy();
+        chunkSize.record(rowsInChunk, chunkNanos + System.nanoTime() - start);
+        if(rows != rowsInChunk){
+            error = true;
+            Logger.LOG("TIMESCALE: Error during timescale copy. Copied " + rows + " rows, expected " + rowsInChunk);
+        }
+        copyIn = null;
+        rowsInChunk = 0;
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            if(copyIn != null && rowsInChunk > 0) endChunk();
+            else if(copyIn != null) copyIn.cancelCopy();
+            chunkSize.close();
+        } finally {
+            connection.close();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package Benchmark.Databases.Timescale;
 
 import Benchmark.Config.ConfigFile;
 import Benchmark.Config.Granularity;
+import Benchmark.Databases.AdaptiveBatchSize;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 import Benchmark.Generator.Targets.ITarget;
 import Benchmark.Logger;
@@ -9,19 +10,43 @@ import Benchmark.Logger;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Abstract class for Influx target-implementations containing default-implementation for some ITarget-functions,
  * convenience functions and a constructor that handles the database-setup that any Timescale-implementation must do.
+ *
+ * Implementations that insert using prepared statements bind their rows to {@link #stmt} and call
+ * {@link #flushBatch(int)} when the batch is full, which is when it contains {@link #batchSize} rows.
+ * If {@code TIMESCALE_FLUSH_CONNECTIONS} is above 1, the target owns that many connections, each with its own
+ * statement. A full batch is then executed in the background while the rows of the next batch are bound to the
+ * statement of the next connection. The batches are awaited in the order they were flushed, so errors are reported
+ * in the same order as with a single connection.
+ *
+ * The latency of each flush is measured on the thread that executes it, and is reported to {@link #batchSize}.
  */
 public abstract class AbstractTimescaleTarget implements ITarget {
     protected final Granularity granularity;
     protected PreparedStatement stmt;
+    protected AdaptiveBatchSize batchSize;
     protected Connection connection;
     protected boolean error;
 
+    private final ConfigFile config;
+    private Connection[] flushConnections;
+    private PreparedStatement[] flushStatements;
+    private Future<int[]>[] pendingFlushes;
+    private int[] pendingRows;
+    private long[] pendingNanos;
+    private ExecutorService flushExecutor;
+    private int currentFlushStatement;
+
     public AbstractTimescaleTarget(ConfigFile config) throws SQLException {
+        this.config = config;
         // NOTE: Postgres doesn't support nano-second timestamps, so set granularity to milliseconds if nanoseconds is set.
         //       This is mentioned in the config documentation for granularity as well.
         this.granularity = config.getGeneratorGranularity() == Granularity.NANOSECOND || config.getGeneratorGranularity() == Granularity.MICROSECOND
@@ -31,18 +56,122 @@ public abstract class AbstractTimescaleTarget implements ITarget {
                 config.getTimescaleHost(), config.getTimescaleDBName(), config.reWriteBatchedTimescaleInserts());
     }
 
+    /**
+     * Prepares the insert-statement that rows are bound to, on each of the connections that batches are flushed on.
+     */
+    @SuppressWarnings("unchecked")
+    protected void prepareStatements(String sql) throws SQLException {
+        int connections = config.getTimescaleFlushConnections();
+        flushConnections = new Connection[connections];
+        flushStatements = new PreparedStatement[connections];
+        flushConnections[0] = connection;
+        for(int i = 1; i < connections; i++){
+            flushConnections[i] = TimescaleHelper.openConnection(config.getTimescaleUsername(), config.getTimescalePassword(),
+                    config.getTimescaleHost(), config.getTimescaleDBName(), config.reWriteBatchedTimescaleInserts());
+        }
+        for(int i = 0; i < connections; i++){
+            flushStatements[i] = flushConnections[i].prepareStatement(sql);
+        }
+        stmt = flushStatements[0];
+        batchSize = new AdaptiveBatchSize(config, "Timescale", config.getTimescaleBatchSize(), true);
+
+        if(connections > 1){
+            pendingFlushes = new Future[connections];
+            pendingRows = new int[connections];
+            pendingNanos = new long[connections];
+            // The statement that rows are currently bound to is never being flushed, so 1 connection is always idle.
+            flushExecutor = Executors.newFixedThreadPool(connections - 1, runnable -> {
+                Thread thread = new Thread(runnable, "Timescale flush");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * Executes the rows that have been bound to {@link #stmt}. With multiple flush-connections, the batch is executed
+     * in the background, and {@link #stmt} then refers to the statement of the next connection.
+     *
+     * @param rows The number of rows that have been bound.
+     */
+    protected void flushBatch(int rows) throws SQLException {
+        if(flushExecutor == null){
+            long start = System.nanoTime();
+            int[] counts = stmt.executeBatch();
+            batchSize.record(rows, System.nanoTime() - start);
+            checkForErrors(counts);
+            return;
+        }
+
+        PreparedStatement fullStatement = stmt;
+        int statement = currentFlushStatement;
+        pendingRows[statement] = rows;
+        pendingFlushes[statement] = flushExecutor.submit(() -> {
+            long start = System.nanoTime();
+            int[] counts = fullStatement.executeBatch();
+            // Read by the ingest-thread once the flush has been awaited.
+            pendingNanos[statement] = System.nanoTime() - start;
+            return counts;
+        });
+        currentFlushStatement = (currentFlushStatement + 1) % flushStatements.length;
+        // The next statement may still be flushing the batch from a full round ago. Since the statements are used in
+        //   round-robin order, that's also the oldest flush that is still pending.
+        awaitFlush(currentFlushStatement);
+        stmt = flushStatements[currentFlushStatement];
+    }
+
+    private void awaitFlush(int statement) throws SQLException {
+        Future<int[]> pending = pendingFlushes[statement];
+        if(pending == null) return;
+        pendingFlushes[statement] = null;
+        try {
+            int[] counts = pending.get();
+            batchSize.record(pendingRows[statement], pendingNanos[statement]);
+            checkForErrors(counts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Timescale batch to be flushed.", e);
+        } catch (ExecutionException e) {
+            error = true;
+            if(e.getCause() instanceof SQLException) throw (SQLException) e.getCause();
+            throw new IllegalStateException("Flushing a Timescale batch failed.", e.getCause());
+        }
+    }
+
     protected long padTime(IGeneratedEntry entry){
         // The Timestamp-constructor expects a long of milliseconds, so we need to pad to that precision regardless of
         //   the desired granularity, so first we truncate and then pad if needed.
-        long granularTime = entry.getTime(granularity);
+        return padTime(entry.getTime(granularity));
+    }
+
+    protected long padTime(long granularTime){
         return TimeUnit.MILLISECONDS.convert(granularTime, granularity.toTimeUnit());
     }
 
     @Override
     public void close() throws Exception {
-        stmt.executeBatch();
-        stmt.close();
-        connection.close();
+        if(flushExecutor == null){
+            stmt.executeBatch();
+            batchSize.close();
+            stmt.close();
+            connection.close();
+            return;
+        }
+
+        try {
+            // Wait for the pending batches in the order they were flushed, then execute the remaining rows.
+            for(int i = 1; i <= flushStatements.length; i++){
+                awaitFlush((currentFlushStatement + i) % flushStatements.length);
+            }
+            stmt.executeBatch();
+            batchSize.close();
+        } finally {
+            flushExecutor.shutdownNow();
+            for(int i = 0; i < flushStatements.length; i++){
+                flushStatements[i].close();
+                flushConnections[i].close();
+            }
+        }
     }
 
     @Override
@@ -0,0 +1,69 @@
+package Benchmark.Databases.Timescale;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.AccessPointMapping;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+
+import java.sql.SQLException;
+
+/**
+ * Writes the added entries to TimescaleDB with millisecond precision, in column-format, using the COPY-protocol.
+ */
+public class TimescaleColumnCopyTarget extends AbstractTimescaleCopyTarget {
+    private final GeneratedAccessPoint[] allAPs;
+    private final AccessPointMapping apMapping;
+    private final int maxRowBytes;
+
+    public TimescaleColumnCopyTarget(ConfigFile config, boolean recreate, GeneratedAccessPoint[] allAPs) throws SQLException {
+        super(config, columnNames(allAPs));
+        this.allAPs = allAPs;
+        this.apMapping = new AccessPointMapping(allAPs);
+        this.maxRowBytes = MAX_TIMESTAMP_BYTES + allAPs.length * MAX_INTEGER_BYTES;
+
+        if(recreate){
+            TimescaleHelper.dropTable(connection, config.getTimescaleTable());
+            TimescaleHelper.createTableWithColumnSchema(connection, config.getTimescaleTable(), allAPs);
+        }
+    }
+
+    private static String columnNames(GeneratedAccessPoint[] allAPs){
+        StringBuilder sb = new StringBuilder("time");
+        for(GeneratedAccessPoint AP : allAPs){
+            sb.append(",\"");
+            //AP-names contain a '-' character that needs to be escaped
+            sb.append(AP.getAPname());
+            sb.append("\"");
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) throws SQLException {
+        assert entry instanceof GeneratedColumnEntry : "Generated entry passed to column target must be a column-entry";
+        GeneratedColumnEntry columnEntry = (GeneratedColumnEntry) entry;
+
+        beginRow(allAPs.length + 1, maxRowBytes);
+        writeTimestamp(padTime(columnEntry));
+        int[] apIndices = apMapping.sourceIndices(columnEntry.getAccessPoints());
+        for(int apId = 0; apId < allAPs.length; apId++){
+            writeInteger(columnEntry.getClients(apIndices[apId]));
+        }
+        endRow();
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws SQLException {
+        int[] apIndices = apMapping.sourceIndices(batch.getAccessPoints());
+        for(int i = 0; i < batch.size(); i++){
+            beginRow(allAPs.length + 1, maxRowBytes);
+            writeTimestamp(padTime(batch.getTime(i, granularity)));
+            for(int apId = 0; apId < allAPs.length; apId++){
+                writeInteger(batch.getClients(i, apIndices[apId]));
+            }
+            endRow();
+        }
+    }
+}
@@ -1,26 +1,27 @@
 package Benchmark.Databases.Timescale;
 
 import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.AccessPointMapping;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 
 import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.util.HashMap;
 
 /**
  * Writes the added entries to TimescaleDB with millisecond precision, in column-format.
  */
 public class TimescaleColumnTarget extends AbstractTimescaleTarget {
-    private final int batchSize;
     private int inserts = 0;
     private final GeneratedAccessPoint[] allAPs;
+    private final AccessPointMapping apMapping;
 
     public TimescaleColumnTarget(ConfigFile config, boolean recreate, GeneratedAccessPoint[] allAPs) throws SQLException {
         super(config);
         this.allAPs = allAPs;
-        this.batchSize = config.getTimescaleBatchSize();
+        this.apMapping = new AccessPointMapping(allAPs);
 
         if(recreate){
             TimescaleHelper.dropTable(connection, config.getTimescaleTable());
@@ -39,7 +40,7 @@ public class TimescaleColumnTarget extends AbstractTimescaleTarget {
             sb.append(",?");
         }
         sb.append(")");
-        stmt = connection.prepareStatement(sb.toString());
+        prepareStatements(sb.toString());
     }
 
     @Override
@@ -49,20 +50,38 @@ public class TimescaleColumnTarget extends AbstractTimescaleTarget {
 
         Timestamp timestamp = new Timestamp(padTime(columnEntry));
         stmt.setTimestamp(1, timestamp);
-        int nextParamIndex = 2;
-        HashMap<String, Integer> map = columnEntry.getMapping();
-        for(GeneratedAccessPoint AP : allAPs){
-            stmt.setInt(nextParamIndex, map.getOrDefault(AP.getAPname(), 0));
-            nextParamIndex++;
+        int[] apIndices = apMapping.sourceIndices(columnEntry.getAccessPoints());
+        for(int apId = 0; apId < allAPs.length; apId++){
+            stmt.setInt(apId + 2, columnEntry.getClients(apIndices[apId]));
         }
 
         stmt.addBatch();
         inserts++;
 
-        if(inserts == batchSize){
+        if(inserts >= batchSize.get()){
+            flushBatch(inserts);
             inserts = 0;
-            int[] counts = stmt.executeBatch();
-            checkForErrors(counts);
+        }
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws SQLException {
+        int[] apIndices = apMapping.sourceIndices(batch.getAccessPoints());
+        // The driver converts the timestamp to its textual representation while binding it, so the instance can be reused.
+        Timestamp timestamp = new Timestamp(0);
+        for(int i = 0; i < batch.size(); i++){
+            timestamp.setTime(padTime(batch.getTime(i, granularity)));
+            stmt.setTimestamp(1, timestamp);
+            for(int apId = 0; apId < allAPs.length; apId++){
+                stmt.setInt(apId + 2, batch.getClients(i, apIndices[apId]));
+            }
+            stmt.addBatch();
+            inserts++;
+
+            if(inserts >= batchSize.get()){
+                flushBatch(inserts);
+                inserts = 0;
+            }
         }
     }
 }
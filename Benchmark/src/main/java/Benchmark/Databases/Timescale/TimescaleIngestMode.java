@@ -0,0 +1,5 @@
+package Benchmark.Databases.Timescale;
+
+public enum TimescaleIngestMode {
+    INSERT, COPY_TEXT, COPY_BINARY;
+}
@@ -0,0 +1,63 @@
+package Benchmark.Databases.Timescale;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the added entries to TimescaleDB with millisecond precision, in row-format, using the COPY-protocol.
+ */
+public class TimescaleRowCopyTarget extends AbstractTimescaleCopyTarget {
+    private final Map<String, byte[]> encodedAPs = new HashMap<>();
+    // The encoded names of the APs of the most recent batch, indexed like the APs of the batch.
+    private GeneratedAccessPoint[] batchAPs;
+    private byte[][] encodedBatchAPs;
+
+    public TimescaleRowCopyTarget(ConfigFile config, boolean recreate) throws SQLException {
+        super(config, "time, AP, clients");
+
+        if(recreate){
+            TimescaleHelper.dropTable(connection, config.getTimescaleTable());
+            TimescaleHelper.createTableWithRowSchema(connection, config.getTimescaleTable(), config.getTimescaleCreateSecondaryIndex());
+        }
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) throws SQLException {
+        assert entry instanceof GeneratedRowEntry : "Generated entry passed to row target must be a row-entry";
+        GeneratedRowEntry rowEntry = (GeneratedRowEntry) entry;
+
+        byte[] encodedAP = encodedAPs.computeIfAbsent(rowEntry.getAP(), this::encodeText);
+        writeRow(padTime(rowEntry), encodedAP, rowEntry.getNumClients());
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws SQLException {
+        // The generator reuses the same APs for all of its batches, so the names are only encoded once.
+        if(batch.getAccessPoints() != batchAPs){
+            batchAPs = batch.getAccessPoints();
+            encodedBatchAPs = new byte[batchAPs.length][];
+            for(int apId = 0; apId < batchAPs.length; apId++){
+                encodedBatchAPs[apId] = encodedAPs.computeIfAbsent(batchAPs[apId].getAPname(), this::encodeText);
+            }
+        }
+
+        for(int i = 0; i < batch.size(); i++){
+            writeRow(padTime(batch.getTime(i, granularity)), encodedBatchAPs[batch.getAccessPointId(i)], batch.getClients(i));
+        }
+    }
+
+    private void writeRow(long epochMillis, byte[] encodedAP, int clients) throws SQLException {
+        beginRow(3, MAX_TIMESTAMP_BYTES + maxTextBytes(encodedAP) + MAX_INTEGER_BYTES);
+        writeTimestamp(epochMillis);
+        writeText(encodedAP);
+        writeInteger(clients);
+        endRow();
+    }
+}
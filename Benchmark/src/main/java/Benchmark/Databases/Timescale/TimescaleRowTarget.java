@@ -1,6 +1,7 @@
 package Benchmark.Databases.Timescale;
 
 import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 
@@ -10,19 +11,17 @@ import java.sql.*;
  * Writes the added entries to TimescaleDB with millisecond precision, in row-format.
  */
 public class TimescaleRowTarget extends AbstractTimescaleTarget {
-    private final int batchSize;
     private int inserts = 0;
 
     public TimescaleRowTarget(ConfigFile config, boolean recreate) throws SQLException {
         super(config);
-        this.batchSize = config.getTimescaleBatchSize();
 
         if(recreate){
             TimescaleHelper.dropTable(connection, config.getTimescaleTable());
             TimescaleHelper.createTableWithRowSchema(connection, config.getTimescaleTable(), config.getTimescaleCreateSecondaryIndex());
         }
 
-        stmt = connection.prepareStatement(
+        prepareStatements(
                 String.format("INSERT INTO %s (time, AP, clients) VALUES (?, ?, ?)", config.getTimescaleTable()));
     }
 
@@ -38,10 +37,28 @@ public class TimescaleRowTarget extends AbstractTimescaleTarget {
         stmt.addBatch();
         inserts++;
 
-        if(inserts == batchSize){
+        if(inserts >= batchSize.get()){
+            flushBatch(inserts);
             inserts = 0;
-            int[] counts = stmt.executeBatch();
-            checkForErrors(counts);
+        }
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws SQLException {
+        // The driver converts the timestamp to its textual representation while binding it, so the instance can be reused.
+        Timestamp timestamp = new Timestamp(0);
+        for(int i = 0; i < batch.size(); i++){
+            timestamp.setTime(padTime(batch.getTime(i, granularity)));
+            stmt.setTimestamp(1, timestamp);
+            stmt.setString(2, batch.getAccessPoint(i).getAPname());
+            stmt.setInt(3, batch.getClients(i));
+            stmt.addBatch();
+            inserts++;
+
+            if(inserts >= batchSize.get()){
+                flushBatch(inserts);
+                inserts = 0;
+            }
         }
     }
 }
@@ -1,34 +1,66 @@
 package Benchmark;
 
+import Benchmark.Config.Granularity;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Facilitates synchronized communication between the ingestion- and queries-threads for date/time metadata.
+ *
+ * The newest time is stored as microseconds since the epoch in an atomic, so that ingestion can publish it after every
+ * insert without taking a lock, and queries can read it without allocating.
  */
 public class DateCommunication {
-    private final Object timeLock = new Object();
-    private boolean initial_val_set;
+    private static final long NOT_SET = Long.MIN_VALUE;
 
-    private volatile LocalDateTime newestDateTime;
+    private final AtomicLong newestEpochMicros = new AtomicLong(NOT_SET);
 
+    /**
+     * @throws IllegalStateException If the initial date has already been set.
+     */
     public void setInitialDate(LocalDate date, LocalTime time){
-        assert !initial_val_set : "DateCommunication::setInitialDate called more than once";
-        newestDateTime = date.atTime(time);
-        initial_val_set = true;
+        if(!newestEpochMicros.compareAndSet(NOT_SET, toEpochMicros(date.atTime(time)))){
+            throw new IllegalStateException("DateCommunication::setInitialDate called more than once");
+        }
     }
 
     public void setNewestTime(LocalDateTime datetime){
-        assert initial_val_set : "DateCommunication::setInitialDate wasn't called.";
-        synchronized (timeLock){
-            if(datetime.isAfter(newestDateTime)) {
-                newestDateTime = datetime;
-            }
+        setNewestEpochMicros(toEpochMicros(datetime));
+    }
+
+    /**
+     * Sets the newest time, if the given time is newer than the current newest time.
+     *
+     * @throws IllegalStateException If the initial date hasn't been set.
+     */
+    public void setNewestEpochMicros(long epochMicros){
+        long newest = getNewestEpochMicros();
+        while(epochMicros > newest){
+            if(newestEpochMicros.compareAndSet(newest, epochMicros)) return;
+            newest = newestEpochMicros.get();
         }
     }
 
+    /**
+     * @throws IllegalStateException If the initial date hasn't been set.
+     */
+    public long getNewestEpochMicros(){
+        long newest = newestEpochMicros.get();
+        if(newest == NOT_SET) throw new IllegalStateException("DateCommunication::setInitialDate wasn't called.");
+        return newest;
+    }
+
+    /**
+     * @throws IllegalStateException If the initial date hasn't been set.
+     */
     public LocalDateTime getNewestTime(){
-        return newestDateTime;
+        return Granularity.fromEpochNanos(getNewestEpochMicros() * 1000);
+    }
+
+    private static long toEpochMicros(LocalDateTime datetime){
+        return Granularity.MICROSECOND.getTime(Granularity.toEpochNanos(datetime));
     }
 }
@@ -0,0 +1,46 @@
+package Benchmark.Generator;
+
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+/**
+ * Draws the random numbers of each day from a separate stream, seeded by the date of the day. See {@link RandomStreams#DAILY}.
+ */
+public class DailyGeneratorRandom implements IGeneratorRandom {
+    private final long streamSeed;
+    private SplittableRandom dayRng;
+
+    public DailyGeneratorRandom(long streamSeed){
+        this.streamSeed = streamSeed;
+    }
+
+    @Override
+    public void startDay(LocalDate date) {
+        dayRng = new SplittableRandom(Mix64(streamSeed + date.toEpochDay() * 0x9E3779B97F4A7C15L));
+    }
+
+    @Override
+    public void selectKey(long tickEpochNanos, long key) { }
+
+    @Override
+    public int nextInt(int bound) {
+        assert dayRng != null : "startDay must be called before drawing numbers.";
+        return dayRng.nextInt(bound);
+    }
+
+    @Override
+    public IGeneratorRandom copy() {
+        return new DailyGeneratorRandom(streamSeed);
+    }
+
+    /**
+     * The finalizer of the SplitMix64 generator. Used so that the seeds of consecutive days aren't correlated,
+     * since SplittableRandom would otherwise produce overlapping streams for seeds that are a multiple of its
+     * increment apart.
+     */
+    static long Mix64(long z){
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -2,24 +2,32 @@ package Benchmark.Generator;
 
 import Benchmark.Config.ConfigFile;
 import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
 import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
-import Benchmark.SeedLoader.Seeddata.Entry;
 import Benchmark.Generator.Targets.ITarget;
-import Benchmark.SeedLoader.Seeddata.SeedEntries;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedDay;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
+import Benchmark.SeedLoader.Seeddata.ISeedDay;
+import Benchmark.SeedLoader.Seeddata.InterpolatedSeedDay;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Generates data that is directly ready for insertion into a database, a file, etc.
  */
 public class DataGenerator {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+
     /**
      * Generates data for the given APs, based on the given data, between the specified start-date (inclusive)
      * and end-date (exclusive). Generated data is added to the specified target.
@@ -35,197 +43,346 @@ public class DataGenerator {
      * @param config The config file to use.
      * @throws IOException Thrown if the outputTarget throws when data is added.
      */
-    public static void Generate(GeneratedAccessPoint[] APs, SeedEntries data, LocalDate startDate, LocalDate endDate, Random rng,
+    public static void Generate(GeneratedAccessPoint[] APs, CompiledSeedEntries data, LocalDate startDate, LocalDate endDate, Random rng,
                                 ITarget outputTarget, ConfigFile config) throws IOException, SQLException {
-        int generatorSampleRate = config.getGeneratorGenerationSamplerate();
-        int seedSampleRate = config.getGeneratorSeedSamplerate();
-        double clientsScaleFactor = config.getGeneratorScaleFactorConnectedClients();
-        int jitterMax = config.getGeneratorJitter();
+        AssertValidSampleRates(config);
+        assert startDate.isBefore(endDate);
 
-        assert generatorSampleRate == seedSampleRate || // Intervals match
-                (generatorSampleRate < seedSampleRate && seedSampleRate % generatorSampleRate == 0) || // Interval to generate is quicker than data-interval. Then the generate-interval must be evenly divisible by the data-interval
-                (generatorSampleRate > seedSampleRate && generatorSampleRate % seedSampleRate == 0) :  // Interval to generate is slower than data-interval.  Then the data-interval must be evenly divisible by the generate-interval
-                "Mismatching sample rates. Sample rates must match, or one sample rate must be evenly divisible by the other.\n Generator sample rate: " + generatorSampleRate + ". Seed sample rate: " + seedSampleRate;
+        int startSecond = DrawStartSecond(config, rng);
+        IGeneratorRandom random = CreateRandom(config, rng);
+        GenerationContext context = new GenerationContext(APs, data, startSecond, random, outputTarget, config);
 
-        assert startDate.isBefore(endDate);
+        int seedDayIndex = FirstSeedDayIndex(config, data, startDate);
+        for(LocalDate date = startDate; date.isBefore(endDate); date = date.plusDays(1)){
+            if(outputTarget.shouldStopEarly()) break;
+            GenerateDay(context, date, seedDayIndex);
+            seedDayIndex = (seedDayIndex + 1) % data.getNumberOfDays(); // If we run out of data to generate from, then go back to the beginning.
+        }
 
-        LocalDate[] sortedEntryKeys = data.loadedEntries.keySet().toArray(new LocalDate[0]);
-        Arrays.sort(sortedEntryKeys);
+        FlushBatch(context);
+    }
 
-        int startSecond = rng.nextInt(10) + 1;
+    /**
+     * Generates the same data as {@link #Generate(GeneratedAccessPoint[], CompiledSeedEntries, LocalDate, LocalDate, Random, ITarget, ConfigFile)},
+     * but splits the days between the given targets and generates them in parallel, with one thread per target.
+     *
+     * Requires the configured random streams to be independent of the order that days are generated in, which
+     * ensures that the generated data is identical regardless of the number of threads. The days are distributed
+     * dynamically between the threads, so the days written to each of the targets may differ between runs.
+     *
+     * @param outputTargets The targets to add generated data to. Each thread gets its own target.
+     */
+    public static void GenerateParallel(GeneratedAccessPoint[] APs, CompiledSeedEntries data, LocalDate startDate, LocalDate endDate, Random rng,
+                                        ITarget[] outputTargets, ConfigFile config) throws IOException, SQLException {
+        AssertValidSampleRates(config);
+        assert startDate.isBefore(endDate);
+        assert config.getGeneratorRandomStreams() != RandomStreams.SHARED : "Parallel generation requires independent random streams for each day.";
+
+        // Draw from the rng in the same way as the single-threaded generator so that both produce the same data.
+        int startSecond = DrawStartSecond(config, rng);
+        IGeneratorRandom random = CreateRandom(config, rng);
+        int firstSeedDayIndex = FirstSeedDayIndex(config, data, startDate);
+
+        long numDays = ChronoUnit.DAYS.between(startDate, endDate);
+        AtomicInteger nextDay = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        ForkJoinPool pool = new ForkJoinPool(outputTargets.length);
+        try {
+            List<ForkJoinTask<Void>> tasks = new ArrayList<>();
+            for(ITarget outputTarget : outputTargets){
+                GenerationContext context = new GenerationContext(APs, data, startSecond, random.copy(), outputTarget, config);
+                tasks.add(pool.submit(() -> {
+                    int day;
+                    while(!stop.get() && (day = nextDay.getAndIncrement()) < numDays){
+                        if(outputTarget.shouldStopEarly()){
+                            stop.set(true);
+                            break;
+                        }
+                        GenerateDay(context, startDate.plusDays(day), (int)((firstSeedDayIndex + day) % data.getNumberOfDays()));
+                    }
+                    FlushBatch(context);
+                    return null;
+                }));
+            }
 
-        LocalDate nextDate = startDate;
-        while(!nextDate.isAfter(endDate)){ // If we run out of data to generate from, then go back to the beginning.
-            nextDate = GenerateEntries(nextDate, endDate, startSecond, generatorSampleRate, seedSampleRate, APs, sortedEntryKeys, data, rng, clientsScaleFactor, outputTarget, jitterMax, config.getSchema(), config.DEBUG_synchronizeRngState());
-            if(nextDate.isEqual(endDate) || outputTarget.shouldStopEarly()) break;
+            for(ForkJoinTask<Void> task : tasks){
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for generator-threads to finish.", e);
+                } catch (ExecutionException e) {
+                    if(e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                    if(e.getCause() instanceof SQLException) throw (SQLException) e.getCause();
+                    throw new IllegalStateException("Generator-thread failed.", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
         }
     }
 
-    private static LocalDate GenerateEntries(LocalDate startDate, LocalDate endDate, int startSecond, int generatorSampleRate,
-                                             int seedSampleRate, GeneratedAccessPoint[] APs, LocalDate[] sortedEntryKeys,
-                                             SeedEntries data, Random rng, double clientsScaleFactor, ITarget outputTarget,
-                                             int jitterMax, SchemaFormats schema, boolean DEBUG_sync_rng_state)
-                                             throws IOException, SQLException {
-        boolean generateFasterThanLoadedData = generatorSampleRate < seedSampleRate;
-        boolean generateSlowerThanLoadedData = generatorSampleRate > seedSampleRate;
-
-        LocalDate nextDate = startDate;
-        int numEntriesToSkip = (generatorSampleRate / seedSampleRate) - 1; // Example: (120 / 60) - 1 = 1. Skip 1 entry every loop
-        int numAdditionalEntriesToInclude = (seedSampleRate / generatorSampleRate) - 1; // Example: (60 / 20) - 1 = 2. Add 2 extra entries every loop
+    private static void AssertValidSampleRates(ConfigFile config){
+        int generatorSampleRate = config.getGeneratorGenerationSamplerate();
+        int seedSampleRate = config.getGeneratorSeedSamplerate();
+        assert generatorSampleRate == seedSampleRate || // Intervals match
+                (generatorSampleRate < seedSampleRate && seedSampleRate % generatorSampleRate == 0) || // Interval to generate is quicker than data-interval. Then the generate-interval must be evenly divisible by the data-interval
+                (generatorSampleRate > seedSampleRate && generatorSampleRate % seedSampleRate == 0) :  // Interval to generate is slower than data-interval.  Then the data-interval must be evenly divisible by the generate-interval
+                "Mismatching sample rates. Sample rates must match, or one sample rate must be evenly divisible by the other.\n Generator sample rate: " + generatorSampleRate + ". Seed sample rate: " + seedSampleRate;
+    }
 
-        for (int k = 0; k < sortedEntryKeys.length; k++) {
-            if(outputTarget.shouldStopEarly()) break;
+    private static IGeneratorRandom CreateRandom(ConfigFile config, Random rng){
+        switch (config.getGeneratorRandomStreams()){
+            case SHARED:
+                return new SharedGeneratorRandom(rng);
+            case DAILY:
+                return new DailyGeneratorRandom(rng.nextLong());
+            case KEYED:
+                // Keyed on the benchmark seed rather than the given rng, so that all generator- and ingest-threads agree.
+                return new KeyedGeneratorRandom(config.getSeed());
+            default:
+                throw new IllegalStateException("Unknown random stream type: " + config.getGeneratorRandomStreams());
+        }
+    }
 
-            LocalDate sortedEntryKey = sortedEntryKeys[k];
-            LocalTime startTime = LocalTime.of(0, 0, startSecond, 0);
+    private static int DrawStartSecond(ConfigFile config, Random rng){
+        if(config.getGeneratorRandomStreams() == RandomStreams.KEYED){
+            return new KeyedGeneratorRandom(config.getSeed()).drawStartSecond();
+        }
+        return rng.nextInt(10) + 1;
+    }
 
-            Entry[] entriesOnDate = data.loadedEntries.get(sortedEntryKey);
-            int skippedEntries = numEntriesToSkip; // Set to numEntriesToSkip initially so that the first loop-iteration isn't skipped.
-            for (int i = 0; i < entriesOnDate.length; i++) {
-                Entry entryOnDay = entriesOnDate[i];
+    /**
+     * @return The index of the seed day to generate the given start date from. For keyed random streams, the seed days
+     *         are mapped to dates relative to the start date of the initial generation, so that generation can start
+     *         from any date and still produce the same data as a continuous run.
+     */
+    private static int FirstSeedDayIndex(ConfigFile config, CompiledSeedEntries data, LocalDate startDate){
+        if(config.getGeneratorRandomStreams() != RandomStreams.KEYED) return 0;
+        long daysSinceGeneratorStart = ChronoUnit.DAYS.between(config.getGeneratorStartDate(), startDate);
+        return (int) Math.floorMod(daysSinceGeneratorStart, (long) data.getNumberOfDays());
+    }
 
-                // Skip entries to generate data slower than the source-data from the loaded entries
-                if (generateSlowerThanLoadedData && skippedEntries != numEntriesToSkip) {
-                    skippedEntries++;
-                    continue;
-                } else {
-                    skippedEntries = 0;
-                }
+    /**
+     * Holds the settings and the reusable state of a single generator-thread.
+     */
+    private static class GenerationContext {
+        final GeneratedAccessPoint[] APs;
+        final int[] apOrdinals;
+        final long[] apKeys;
+        final CompiledSeedEntries data;
+        final GeneratedRowEntry reusableRowEntry;
+        final GeneratedColumnEntry reusableColumnEntry;
+        final EntryBatch batch;
+        final IGeneratorRandom rng;
+        final ITarget outputTarget;
+        final int startSecond;
+        final int generatorSampleRate;
+        final int seedSampleRate;
+        final double clientsScaleFactor;
+        final int jitterMax;
+        final SchemaFormats schema;
+        final boolean DEBUG_sync_rng_state;
+
+        GenerationContext(GeneratedAccessPoint[] APs, CompiledSeedEntries data, int startSecond, IGeneratorRandom rng,
+                          ITarget outputTarget, ConfigFile config){
+            this.APs = APs;
+            this.data = data;
+            this.startSecond = startSecond;
+            this.rng = rng;
+            this.outputTarget = outputTarget;
+            this.generatorSampleRate = config.getGeneratorGenerationSamplerate();
+            this.seedSampleRate = config.getGeneratorSeedSamplerate();
+            this.clientsScaleFactor = config.getGeneratorScaleFactorConnectedClients();
+            this.jitterMax = config.getGeneratorJitter();
+            this.schema = config.getSchema();
+            this.DEBUG_sync_rng_state = config.DEBUG_synchronizeRngState();
+
+            // Resolve the seed-data of each AP once, rather than looking it up by name for every generated entry.
+            this.apOrdinals = data.resolveOrdinals(APs);
+            this.apKeys = new long[APs.length];
+            for(int a = 0; a < APs.length; a++){
+                apKeys[a] = KeyedGeneratorRandom.KeyOf(APs[a].getAPname());
+            }
+            this.reusableRowEntry = config.doReuseGeneratedEntries() ? new GeneratedRowEntry(0, null, 0) : null;
+            this.reusableColumnEntry = config.doReuseGeneratedEntries() ? new GeneratedColumnEntry(0, APs) : null;
+            this.batch = config.getGeneratorBatchTicks() > 0 ? new EntryBatch(config.getSchema(), APs, config.getGeneratorBatchTicks()) : null;
+        }
+    }
 
-                GenerateBasedOnEntry(startTime, APs, entryOnDay, rng, nextDate, clientsScaleFactor, outputTarget, jitterMax, schema, DEBUG_sync_rng_state);
+    private static void FlushBatch(GenerationContext context) throws IOException, SQLException {
+        // Submit the remaining ticks of the last, partially filled, batch.
+        if(context.batch != null && context.batch.size() > 0){
+            context.outputTarget.addBatch(context.batch);
+            context.batch.clear();
+        }
+    }
 
-                if (generateFasterThanLoadedData) {
-                    Entry nextEntry = null;
-                    boolean noData = false;
-                    if (i + 1 < entriesOnDate.length) { // Next entry is just the next one on this day
-                        nextEntry = entriesOnDate[i + 1];
-                    } else if(k+1 < sortedEntryKeys.length) { // No more entries to interpolate off of today. Grab the first entry from the next day
-                        assert data.loadedEntries.get(sortedEntryKeys[k + 1]) != null && data.loadedEntries.get(sortedEntryKeys[k + 1]).length > 0;
-                        nextEntry = data.loadedEntries.get(sortedEntryKeys[k + 1])[0];
-                    } else {
-                        // No more data left to base interpolation off of.
-                        // In this case, just create a small hole instead.
-                        noData = true;
-                    }
+    /**
+     * Generates the data for a single date, based on the seed data of the day with the given index.
+     */
+    private static void GenerateDay(GenerationContext context, LocalDate date, int seedDayIndex) throws IOException, SQLException {
+        boolean generateFasterThanLoadedData = context.generatorSampleRate < context.seedSampleRate;
+        boolean generateSlowerThanLoadedData = context.generatorSampleRate > context.seedSampleRate;
+
+        int numEntriesToSkip = (context.generatorSampleRate / context.seedSampleRate) - 1; // Example: (120 / 60) - 1 = 1. Skip 1 entry every loop
+        int numAdditionalEntriesToInclude = (context.seedSampleRate / context.generatorSampleRate) - 1; // Example: (60 / 20) - 1 = 2. Add 2 extra entries every loop
+        CompiledSeedEntries data = context.data;
+
+        context.rng.startDay(date);
+
+        // Times are tracked as nanoseconds into the day, and wrap around at midnight.
+        long startTime = context.startSecond * NANOS_PER_SECOND;
+        long dateEpochNanos = date.toEpochDay() * NANOS_PER_DAY;
+
+        CompiledSeedDay entriesOnDate = data.getDay(seedDayIndex);
+        // The interpolated ticks are computed once per pair of sample rates and shared between all threads.
+        InterpolatedSeedDay interpolatedDay = generateFasterThanLoadedData ? data.getInterpolatedDay(context.generatorSampleRate, context.seedSampleRate, seedDayIndex) : null;
+        int skippedEntries = numEntriesToSkip; // Set to numEntriesToSkip initially so that the first loop-iteration isn't skipped.
+        for (int i = 0; i < entriesOnDate.getTicks(); i++) {
+            // Skip entries to generate data slower than the source-data from the loaded entries
+            if (generateSlowerThanLoadedData && skippedEntries != numEntriesToSkip) {
+                skippedEntries++;
+                continue;
+            } else {
+                skippedEntries = 0;
+            }
 
-                    // One entry has a hole so dont interpolate, instead just widen the hole.
-                    if(!entryOnDay.hasData() || (nextEntry != null && !nextEntry.hasData())) noData = true;
+            GenerateBasedOnEntry(context, startTime, entriesOnDate, i, dateEpochNanos);
 
-                    if(!noData){
-                        assert nextEntry != null;
-                        for (int j = 0; j < numAdditionalEntriesToInclude; j++) {
-                            startTime = startTime.plusSeconds(generatorSampleRate);
-                            Entry fakeEntry = CreateFakeEntry(entryOnDay, nextEntry, j, numAdditionalEntriesToInclude);
-                            GenerateBasedOnEntry(startTime, APs, fakeEntry, rng, nextDate, clientsScaleFactor, outputTarget, jitterMax, schema, DEBUG_sync_rng_state);
-                        }
-                    } else {
-                        startTime = startTime.plusSeconds(generatorSampleRate * numAdditionalEntriesToInclude);
+            if (generateFasterThanLoadedData) {
+                if(interpolatedDay.isInterpolated(i)){
+                    for (int j = 0; j < numAdditionalEntriesToInclude; j++) {
+                        startTime = PlusNanosOfDay(startTime, context.generatorSampleRate * NANOS_PER_SECOND);
+                        GenerateBasedOnEntry(context, startTime, interpolatedDay, i * numAdditionalEntriesToInclude + j, dateEpochNanos);
                     }
+                } else {
+                    // One entry has a hole, or there is no more data left to base interpolation off of. So rather than interpolating, widen the hole.
+                    startTime = PlusNanosOfDay(startTime, context.generatorSampleRate * numAdditionalEntriesToInclude * NANOS_PER_SECOND);
                 }
-                startTime = startTime.plusSeconds(generatorSampleRate);
             }
-
-            nextDate = nextDate.plusDays(1);
-            if (nextDate.isEqual(endDate) || nextDate.isAfter(endDate)) break;
+            startTime = PlusNanosOfDay(startTime, context.generatorSampleRate * NANOS_PER_SECOND);
         }
-
-        return nextDate;
     }
 
-    private static void GenerateBasedOnEntry(LocalTime startTime, GeneratedAccessPoint[] APs, Entry entryOnDay, Random rng,
-                                             LocalDate nextDate, double clientsScaleFactor, ITarget outputTarget, int jitterMax,
-                                             SchemaFormats schema, boolean DEBUG_sync_rng_state) throws IOException, SQLException {
-        LocalTime readingTime = startTime;
-        switch (schema){
+    private static void GenerateBasedOnEntry(GenerationContext context, long startTime, ISeedDay entryDay, int entryTick,
+                                             long dateEpochNanos) throws IOException, SQLException {
+        GeneratedAccessPoint[] APs = context.APs;
+        int[] apOrdinals = context.apOrdinals;
+        long[] apKeys = context.apKeys;
+        long tickEpochNanos = dateEpochNanos + startTime;
+        EntryBatch batch = context.batch;
+        GeneratedRowEntry reusableRowEntry = context.reusableRowEntry;
+        GeneratedColumnEntry reusableColumnEntry = context.reusableColumnEntry;
+        IGeneratorRandom rng = context.rng;
+        ITarget outputTarget = context.outputTarget;
+        double clientsScaleFactor = context.clientsScaleFactor;
+        int jitterMax = context.jitterMax;
+        boolean DEBUG_sync_rng_state = context.DEBUG_sync_rng_state;
+
+        long readingTime = startTime;
+        switch (context.schema){
             case NARROW:
-                for (GeneratedAccessPoint AP : APs) {
-                    String apSeedName = AP.getOriginalName();
-                    if (!entryOnDay.hasData())
-                        continue; // Entry has no data, so generate nothing rather than zeros.
-                    if (entryOnDay.getProbabilities().get(apSeedName) == null)
+                for (int a = 0; a < APs.length; a++) {
+                    if (!entryDay.hasData(entryTick))
+                        break; // Entry has no data, so generate nothing rather than zeros.
+                    if (!entryDay.hasProbability(entryTick, apOrdinals[a]))
                         continue; // Entry has data, but no data for this specific AP. So rather than generating a 0, we create a hole in the data.
-                    double probability = entryOnDay.getProbabilities().get(apSeedName);
+                    GeneratedAccessPoint AP = APs[a];
+                    double probability = entryDay.getProbability(entryTick, apOrdinals[a]);
+                    int total = entryDay.getTotal(entryTick);
 
+                    rng.selectKey(tickEpochNanos, apKeys[a]);
                     int nanoSecondsBetweenReadings = 15_000_000 + rng.nextInt(10_000_000);
-                    readingTime = readingTime.plusNanos(nanoSecondsBetweenReadings);
+                    readingTime = PlusNanosOfDay(readingTime, nanoSecondsBetweenReadings);
 
                     int numClients;
                     if(jitterMax == 0){
-                        numClients = (int) (Math.ceil(entryOnDay.getTotal() * clientsScaleFactor * probability));
+                        numClients = (int) (Math.ceil(total * clientsScaleFactor * probability));
                     } else {
-                        numClients = (int) (Math.ceil(entryOnDay.getTotal() * clientsScaleFactor * probability) + Math.ceil(rng.nextInt(jitterMax) * probability));
+                        numClients = (int) (Math.ceil(total * clientsScaleFactor * probability) + Math.ceil(rng.nextInt(jitterMax) * probability));
+                    }
+                    if(batch != null){
+                        batch.addRow(dateEpochNanos + readingTime, a, numClients);
+                    } else if(reusableRowEntry != null){
+                        reusableRowEntry.set(dateEpochNanos + readingTime, AP.getAPname(), numClients);
+                        outputTarget.add(reusableRowEntry);
+                    } else {
+                        outputTarget.add(new GeneratedRowEntry(dateEpochNanos + readingTime, AP.getAPname(), numClients));
                     }
-                    GeneratedRowEntry genEntry = new GeneratedRowEntry(nextDate, readingTime, AP.getAPname(), numClients);
-                    outputTarget.add(genEntry);
                 }
                 break;
             case WIDE:
-                HashMap<String, Integer> entries = new HashMap<>();
+                GeneratedColumnEntry columnEntry = null;
+                if(batch == null){
+                    if(reusableColumnEntry != null){
+                        columnEntry = reusableColumnEntry;
+                        columnEntry.reset(0);
+                    } else {
+                        columnEntry = new GeneratedColumnEntry(0, APs);
+                    }
+                }
+                int batchRow = batch == null ? -1 : batch.addWideRow();
 
                 if (!DEBUG_sync_rng_state){
+                    rng.selectKey(tickEpochNanos, KeyedGeneratorRandom.TICK_KEY);
                     int nanoSecondsBetweenReadings = 15_000_000 + rng.nextInt(10_000_000);
-                    readingTime = readingTime.plusNanos(nanoSecondsBetweenReadings);
+                    readingTime = PlusNanosOfDay(readingTime, nanoSecondsBetweenReadings);
                 }
 
                 // @NOTE: Not a requirement that all APs are present in the "APs" variable.
-                for (GeneratedAccessPoint AP : APs) {
-                    String apSeedName = AP.getOriginalName();
-                    if (!entryOnDay.hasData())
-                        continue; // Entry has no data, so generate nothing (rather than a zero). The code that writes APs to the database needs to handle holes anyway.
-                    if (entryOnDay.getProbabilities().get(apSeedName) == null)
+                for (int a = 0; a < APs.length; a++) {
+                    if (!entryDay.hasData(entryTick))
+                        break; // Entry has no data, so generate nothing (rather than a zero). The code that writes APs to the database needs to handle holes anyway.
+                    if (!entryDay.hasProbability(entryTick, apOrdinals[a]))
                         continue; // Entry has data, but no data for this specific AP. So rather than generating a 0, we create a hole in the data, just like in the source-data.
-                    double probability = entryOnDay.getProbabilities().get(apSeedName);
+                    double probability = entryDay.getProbability(entryTick, apOrdinals[a]);
+                    int total = entryDay.getTotal(entryTick);
 
                     // To be able to directly compare generated data between schema-options, we need to keep the rng-state in sync
                     // and generate our values in the exact same way. This makes no sense from a performance-perspective, so
                     // only do this if the user explicitly requests it.
+                    rng.selectKey(tickEpochNanos, apKeys[a]);
                     if(DEBUG_sync_rng_state){
                         int nanoSecondsBetweenReadings = 15_000_000 + rng.nextInt(10_000_000);
-                        readingTime = readingTime.plusNanos(nanoSecondsBetweenReadings);
+                        readingTime = PlusNanosOfDay(readingTime, nanoSecondsBetweenReadings);
                     }
 
                     int numClients;
                     if(jitterMax == 0){
-                        numClients = (int) (Math.ceil(entryOnDay.getTotal() * clientsScaleFactor * probability));
+                        numClients = (int) (Math.ceil(total * clientsScaleFactor * probability));
                     } else {
-                        numClients = (int) (Math.ceil(entryOnDay.getTotal() * clientsScaleFactor * probability) + Math.ceil(rng.nextInt(jitterMax) * probability));
+                        numClients = (int) (Math.ceil(total * clientsScaleFactor * probability) + Math.ceil(rng.nextInt(jitterMax) * probability));
                     }
-                    entries.put(AP.getAPname(), numClients);
+                    if(batch != null) batch.setClients(batchRow, a, numClients);
+                    else columnEntry.setClients(a, numClients);
                 }
 
-                outputTarget.add(new GeneratedColumnEntry(nextDate, readingTime, entries));
+                if(batch != null) batch.setEpochNanos(batchRow, dateEpochNanos + readingTime);
+                else {
+                    columnEntry.setEpochNanos(dateEpochNanos + readingTime);
+                    outputTarget.add(columnEntry);
+                }
                 break;
             default:
-                assert false : "A schema was specified that isn't supported by data generator: " + schema;
-                throw new IllegalStateException("Schema specified that isn't supported by data generator: " + schema);
+                assert false : "A schema was specified that isn't supported by data generator: " + context.schema;
+                throw new IllegalStateException("Schema specified that isn't supported by data generator: " + context.schema);
         }
-    }
 
-    private static Entry CreateFakeEntry(Entry first, Entry last, int index, int additionalEntries){
-        assert last != null;
-        LocalDateTime time = null; // @NOTE: Time-field isn't used during generation. If that changes, this needs to be changed to give fake entries timestamps.
-
-        double blendPerNum = 1.0 / (additionalEntries+1);
-        int interpolatedTotal = (int)Math.ceil(LinearInterpolate(first.getTotal(), last.getTotal(), blendPerNum * (index+1)));
-
-        Set<String> apsToInterpProbsFor = first.getProbabilities().keySet();
-        Map<String, Double> interpProps = new HashMap<>();
-        for(String name : apsToInterpProbsFor){
-            double firstProp = first.getProbabilities().get(name);
-            // Hole in AP-data for 'last'. In this case we extend the hole by not generating anything.
-            if(!last.getProbabilities().containsKey(name)) continue;
-
-            double lastProp = last.getProbabilities().get(name);
-            double interpProp = LinearInterpolate(firstProp, lastProp, blendPerNum * (index+1));
-            interpProps.put(name, interpProp);
+        if(batch != null){
+            batch.endTick();
+            if(batch.isFull()){
+                outputTarget.addBatch(batch);
+                batch.clear();
+            }
         }
-
-        return new Entry(time, interpolatedTotal, interpProps);
     }
 
-    private static double LinearInterpolate(double v1, double v2, double blend){
-        return ((1 - blend) * v1 + blend * v2);
+    /**
+     * Adds the given nanoseconds to a time-of-day, wrapping around at midnight like {@link java.time.LocalTime#plusNanos(long)}.
+     */
+    private static long PlusNanosOfDay(long nanoOfDay, long nanosToAdd){
+        return Math.floorMod(nanoOfDay + nanosToAdd, NANOS_PER_DAY);
     }
-
-
 }
@@ -3,8 +3,7 @@ package Benchmark.Generator;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedFloor;
 import Benchmark.SeedLoader.Metadata.FloorMetadata;
-import Benchmark.SeedLoader.Seeddata.Entry;
-import Benchmark.SeedLoader.Seeddata.SeedEntries;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
 
 import java.util.*;
 
@@ -80,46 +79,7 @@ public class FloorGenerator {
      * Normalize the probabilities for each time-period (each entry) 100% to account for APs having been
      * assigned multiple times, or not being assigned at all.
      */
-    public static void NormalizeSeedProbabilities(GeneratedFloor[] generatedFloors, SeedEntries seedEntries){
-        Map<String, Integer> assignedSensorsAndAmountOfTimesAssigned = new HashMap<>();
-        for(GeneratedFloor floor : generatedFloors){
-            for(GeneratedAccessPoint AP : floor.getAPs()){
-                AddToCount(assignedSensorsAndAmountOfTimesAssigned, AP.getOriginalName());
-            }
-        }
-
-        for(Entry[] entriesAtSpecificTime : seedEntries.loadedEntries.values()){
-            // Sum up all the probabilities of used APs at a specific timestamp entry.
-            for(Entry entry : entriesAtSpecificTime){
-                if(!entry.hasData()) continue;
-                double totalAssignedProbability = 0.0;
-
-                for(String apName : entry.getProbabilities().keySet()){
-                    if(assignedSensorsAndAmountOfTimesAssigned.containsKey(apName)){
-                        double probability = entry.getProbabilities().get(apName);
-                        int count = assignedSensorsAndAmountOfTimesAssigned.get(apName);
-                        totalAssignedProbability += probability * count;
-                    }
-                }
-
-                // Update probabilities of each used AP at the entry by dividing with the total.
-                // This normalizes the total probability to 1 (100%).
-                for(String apName : entry.getProbabilities().keySet()){
-                    if(assignedSensorsAndAmountOfTimesAssigned.containsKey(apName)){
-                        double probability = entry.getProbabilities().get(apName);
-                        double newprobability = probability / totalAssignedProbability;
-                        entry.getProbabilities().put(apName, newprobability);
-                    }
-                }
-            }
-        }
-    }
-
-    private static void AddToCount(Map<String, Integer> count, String apName){
-        if(!count.containsKey(apName)){
-            count.put(apName, 0);
-        }
-
-        count.put(apName, count.get(apName) + 1);
+    public static void NormalizeSeedProbabilities(GeneratedFloor[] generatedFloors, CompiledSeedEntries seedEntries){
+        seedEntries.normalize(GeneratedFloor.allAPsOnFloors(generatedFloors));
     }
 }
@@ -7,23 +7,31 @@ import java.time.*;
 /**
  * Abstract class for the entries generated by the data generator.
  * Contains implementations of the 2 methods required by the interface.
+ *
+ * The timestamp is stored as nanoseconds since the epoch (UTC) so that no time-objects need to be allocated per entry.
  */
 public abstract class AbstractGeneratedEntry implements IGeneratedEntry {
-    protected final LocalDateTime datetime;
-    protected final Instant instant;
+    protected long epochNanos;
 
     public AbstractGeneratedEntry(LocalDate date, LocalTime time){
-        this.datetime = date.atTime(time);
-        this.instant = datetime.toInstant(ZoneOffset.ofHours(0));
+        this(Granularity.toEpochNanos(date.atTime(time)));
+    }
+
+    public AbstractGeneratedEntry(long epochNanos){
+        this.epochNanos = epochNanos;
+    }
+
+    public final long getEpochNanos(){
+        return epochNanos;
     }
 
     @Override
     public final LocalDateTime getDateTime() {
-        return datetime;
+        return Granularity.fromEpochNanos(epochNanos);
     }
 
     @Override
     public final long getTime(Granularity granularity){
-        return granularity.getTime(instant, datetime);
+        return granularity.getTime(epochNanos);
     }
 }
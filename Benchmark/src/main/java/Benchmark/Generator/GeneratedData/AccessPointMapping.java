@@ -0,0 +1,82 @@
+package Benchmark.Generator.GeneratedData;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Maps between the AP-indices of entries or batches and the AP-indices of a target, so that targets can always read
+ * and write the clients of an AP by index, regardless of the AP-ordering that the entries were generated with.
+ *
+ * The mappings are resolved by AP-name once per AP-array, and are cached by the identity of the array. Ingest-threads
+ * and generator-threads keep using the same AP-arrays, so the mappings are only resolved when a target first sees them.
+ *
+ * Not thread-safe.
+ */
+public class AccessPointMapping {
+    /**
+     * The index used in a mapping for an AP that isn't in the other AP-array.
+     */
+    public static final int MISSING = -1;
+
+    private final GeneratedAccessPoint[] targetAPs;
+    private final Map<String, Integer> targetIndices = new HashMap<>();
+    private final Map<GeneratedAccessPoint[], int[]> sourceIndexCache = new IdentityHashMap<>();
+    private final Map<GeneratedAccessPoint[], int[]> targetIndexCache = new IdentityHashMap<>();
+    private GeneratedAccessPoint[] lastSourceAPs;
+    private int[] lastSourceIndices;
+    private GeneratedAccessPoint[] lastTargetAPs;
+    private int[] lastTargetIndices;
+
+    /**
+     * @param targetAPs The APs of the target, in the order that the target uses.
+     */
+    public AccessPointMapping(GeneratedAccessPoint[] targetAPs){
+        this.targetAPs = targetAPs;
+        for(int apId = 0; apId < targetAPs.length; apId++){
+            targetIndices.put(targetAPs[apId].getAPname(), apId);
+        }
+    }
+
+    /**
+     * @return For each AP of the target, the index of the same AP in the given APs, or {@link #MISSING}.
+     */
+    public int[] sourceIndices(GeneratedAccessPoint[] sourceAPs){
+        if(sourceAPs != lastSourceAPs){
+            lastSourceIndices = sourceIndexCache.computeIfAbsent(sourceAPs, this::resolveSourceIndices);
+            lastSourceAPs = sourceAPs;
+        }
+        return lastSourceIndices;
+    }
+
+    /**
+     * @return For each of the given APs, the index of the same AP in the target, or {@link #MISSING}.
+     */
+    public int[] targetIndices(GeneratedAccessPoint[] sourceAPs){
+        if(sourceAPs != lastTargetAPs){
+            lastTargetIndices = targetIndexCache.computeIfAbsent(sourceAPs, this::resolveTargetIndices);
+            lastTargetAPs = sourceAPs;
+        }
+        return lastTargetIndices;
+    }
+
+    private int[] resolveSourceIndices(GeneratedAccessPoint[] sourceAPs){
+        Map<String, Integer> sourceIndices = new HashMap<>();
+        for(int apId = 0; apId < sourceAPs.length; apId++){
+            sourceIndices.put(sourceAPs[apId].getAPname(), apId);
+        }
+        int[] mapping = new int[targetAPs.length];
+        for(int apId = 0; apId < targetAPs.length; apId++){
+            mapping[apId] = sourceIndices.getOrDefault(targetAPs[apId].getAPname(), MISSING);
+        }
+        return mapping;
+    }
+
+    private int[] resolveTargetIndices(GeneratedAccessPoint[] sourceAPs){
+        int[] mapping = new int[sourceAPs.length];
+        for(int apId = 0; apId < sourceAPs.length; apId++){
+            mapping[apId] = targetIndices.getOrDefault(sourceAPs[apId].getAPname(), MISSING);
+        }
+        return mapping;
+    }
+}
@@ -0,0 +1,229 @@
+package Benchmark.Generator.GeneratedData;
+
+import Benchmark.Config.Granularity;
+import Benchmark.Databases.SchemaFormats;
+
+import java.util.Arrays;
+
+/**
+ * A batch of generated entries stored as a struct-of-arrays, so that targets can bind or encode a whole batch in
+ * a single tight loop instead of receiving one entry-object per row.
+ *
+ * For the narrow schema, each row holds a time, the index of an AP in {@link #getAccessPoints()} and the number of
+ * connected clients. For the wide schema, each row holds a time and a value for every AP in {@link #getAccessPoints()},
+ * plus a presence-bitset that marks which of those values are holes.
+ *
+ * The generator reuses batch-instances, so targets must not keep references to the batch after {@code addBatch} returns.
+ */
+public class EntryBatch {
+    private final SchemaFormats schema;
+    private final GeneratedAccessPoint[] accessPoints;
+    private final int capacityTicks;
+    private final long[] times;
+    private final int[] apIds;
+    private final int[] clients;
+    private final long[] present;
+    private int size;
+    private int ticks;
+
+    /**
+     * @param schema The schema that determines the layout of the batch.
+     * @param accessPoints The APs that the AP-indices in the batch refer to.
+     * @param capacityTicks The number of generation-ticks that fit in the batch.
+     */
+    public EntryBatch(SchemaFormats schema, GeneratedAccessPoint[] accessPoints, int capacityTicks){
+        assert capacityTicks > 0;
+        this.schema = schema;
+        this.accessPoints = accessPoints;
+        this.capacityTicks = capacityTicks;
+
+        switch (schema){
+            case NARROW:
+                // Each tick generates at most 1 row per AP.
+                int capacityRows = capacityTicks * accessPoints.length;
+                times = new long[capacityRows];
+                apIds = new int[capacityRows];
+                clients = new int[capacityRows];
+                present = null;
+                break;
+            case WIDE:
+                // Each tick generates exactly 1 row containing all APs.
+                times = new long[capacityTicks];
+                apIds = null;
+                clients = new int[capacityTicks * accessPoints.length];
+                present = new long[(capacityTicks * accessPoints.length + 63) >>> 6];
+                break;
+            default:
+                throw new IllegalStateException("Unknown schema: " + schema);
+        }
+    }
+
+    public SchemaFormats getSchema(){
+        return schema;
+    }
+
+    public GeneratedAccessPoint[] getAccessPoints(){
+        return accessPoints;
+    }
+
+    /**
+     * @return The number of rows in the batch.
+     */
+    public int size(){
+        return size;
+    }
+
+    /**
+     * @return The number of generation-ticks that fit in the batch.
+     */
+    public int getCapacityTicks(){
+        return capacityTicks;
+    }
+
+    public boolean isFull(){
+        return ticks == capacityTicks;
+    }
+
+    public void clear(){
+        if(present != null) Arrays.fill(present, 0L);
+        size = 0;
+        ticks = 0;
+    }
+
+    /**
+     * Replaces the contents of this batch with the contents of the given batch. The given batch must use the same
+     * schema and APs, and must not have a larger capacity than this batch.
+     */
+    public void copyFrom(EntryBatch other){
+        assert other.schema == schema && other.accessPoints == accessPoints && other.capacityTicks <= capacityTicks;
+        System.arraycopy(other.times, 0, times, 0, other.size);
+        switch (schema){
+            case NARROW:
+                System.arraycopy(other.apIds, 0, apIds, 0, other.size);
+                System.arraycopy(other.clients, 0, clients, 0, other.size);
+                break;
+            case WIDE:
+                int values = other.size * accessPoints.length;
+                System.arraycopy(other.clients, 0, clients, 0, values);
+                System.arraycopy(other.present, 0, present, 0, (values + 63) >>> 6);
+                break;
+            default:
+                throw new IllegalStateException("Unknown schema: " + schema);
+        }
+        size = other.size;
+        ticks = other.ticks;
+    }
+
+    /**
+     * Marks the end of a generation-tick. Batches are considered full once they contain their capacity of ticks.
+     */
+    public void endTick(){
+        assert ticks < capacityTicks;
+        ticks++;
+    }
+
+    /**
+     * Adds a row to a batch with the narrow schema.
+     */
+    public void addRow(long epochNanos, int apId, int numClients){
+        assert schema == SchemaFormats.NARROW;
+        times[size] = epochNanos;
+        apIds[size] = apId;
+        clients[size] = numClients;
+        size++;
+    }
+
+    /**
+     * Adds an empty row (all APs are holes) to a batch with the wide schema.
+     * The time of the row must be set using {@link #setEpochNanos(int, long)}.
+     *
+     * @return The index of the added row.
+     */
+    public int addWideRow(){
+        assert schema == SchemaFormats.WIDE;
+        times[size] = 0;
+        return size++;
+    }
+
+    public void setEpochNanos(int row, long epochNanos){
+        times[row] = epochNanos;
+    }
+
+    /**
+     * Sets the number of clients for the given AP in a row of a batch with the wide schema.
+     */
+    public void setClients(int row, int apId, int numClients){
+        assert schema == SchemaFormats.WIDE;
+        int index = row * accessPoints.length + apId;
+        clients[index] = numClients;
+        present[index >>> 6] |= 1L << index;
+    }
+
+    public long getEpochNanos(int row){
+        return times[row];
+    }
+
+    public long getTime(int row, Granularity granularity){
+        return granularity.getTime(times[row]);
+    }
+
+    /**
+     * @return For the narrow schema, the index of the AP of the given row.
+     */
+    public int getAccessPointId(int row){
+        assert schema == SchemaFormats.NARROW;
+        return apIds[row];
+    }
+
+    /**
+     * @return For the narrow schema, the AP of the given row.
+     */
+    public GeneratedAccessPoint getAccessPoint(int row){
+        assert schema == SchemaFormats.NARROW;
+        return accessPoints[apIds[row]];
+    }
+
+    /**
+     * @return For the narrow schema, the number of clients of the given row.
+     */
+    public int getClients(int row){
+        assert schema == SchemaFormats.NARROW;
+        return clients[row];
+    }
+
+    /**
+     * @return For the wide schema, whether the given AP has a value in the given row.
+     */
+    public boolean hasClients(int row, int apId){
+        assert schema == SchemaFormats.WIDE;
+        int index = row * accessPoints.length + apId;
+        return (present[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * @return For the wide schema, the number of clients of the given AP in the given row, or 0 if the value is a hole
+     *         or the index is {@link AccessPointMapping#MISSING}.
+     */
+    public int getClients(int row, int apId){
+        assert schema == SchemaFormats.WIDE;
+        return apId != AccessPointMapping.MISSING && hasClients(row, apId) ? clients[row * accessPoints.length + apId] : 0;
+    }
+
+    /**
+     * Creates a stand-alone entry for the given row. Used to pass batches to targets that only support single entries.
+     */
+    public IGeneratedEntry toEntry(int row){
+        switch (schema){
+            case NARROW:
+                return new GeneratedRowEntry(times[row], accessPoints[apIds[row]].getAPname(), clients[row]);
+            case WIDE:
+                GeneratedColumnEntry entry = new GeneratedColumnEntry(times[row], accessPoints);
+                for(int apId = 0; apId < accessPoints.length; apId++){
+                    if(hasClients(row, apId)) entry.setClients(apId, clients[row * accessPoints.length + apId]);
+                }
+                return entry;
+            default:
+                throw new IllegalStateException("Unknown schema: " + schema);
+        }
+    }
+}
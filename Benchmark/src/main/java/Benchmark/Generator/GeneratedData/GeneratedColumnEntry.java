@@ -1,21 +1,71 @@
 package Benchmark.Generator.GeneratedData;
 
 import java.time.*;
-import java.util.HashMap;
+import java.util.Arrays;
 
 /**
  * Represents a single generated entry for the column-based schema.
+ *
+ * The number of clients of each AP is stored in an array aligned with {@link #getAccessPoints()}. Targets read them
+ * by index, through the {@link AccessPointMapping} of their own AP-ordering. APs that are missing from the entry are
+ * tracked in a presence-bitset, and read as 0.
+ *
+ * When entry-reuse is enabled, the generator passes the same instance to the target for every generated row and
+ * updates it using {@link #reset(long)}. Targets must therefore not keep references to entries after {@code add} returns.
  */
 public class GeneratedColumnEntry extends AbstractGeneratedEntry {
-    // NOTE: Some APs may be missing from this map
-    private final HashMap<String, Integer> apToNumClientsMap;
+    private final GeneratedAccessPoint[] accessPoints;
+    private final int[] clients;
+    // NOTE: Some APs may be missing from the entry
+    private final long[] present;
 
-    public GeneratedColumnEntry(LocalDate date, LocalTime time, HashMap<String, Integer> apToNumClientsMap){
+    public GeneratedColumnEntry(LocalDate date, LocalTime time, GeneratedAccessPoint[] accessPoints){
         super(date, time);
-        this.apToNumClientsMap = apToNumClientsMap;
+        this.accessPoints = accessPoints;
+        this.clients = new int[accessPoints.length];
+        this.present = new long[(accessPoints.length + 63) >>> 6];
     }
 
-    public HashMap<String, Integer> getMapping(){
-        return apToNumClientsMap;
+    public GeneratedColumnEntry(long epochNanos, GeneratedAccessPoint[] accessPoints){
+        super(epochNanos);
+        this.accessPoints = accessPoints;
+        this.clients = new int[accessPoints.length];
+        this.present = new long[(accessPoints.length + 63) >>> 6];
+    }
+
+    /**
+     * Clears the contents of this entry and sets its time, so that the instance can be reused for the next generated row.
+     */
+    public void reset(long epochNanos){
+        this.epochNanos = epochNanos;
+        Arrays.fill(present, 0L);
+    }
+
+    public void setEpochNanos(long epochNanos){
+        this.epochNanos = epochNanos;
+    }
+
+    /**
+     * @return The APs that the AP-indices of this entry refer to.
+     */
+    public GeneratedAccessPoint[] getAccessPoints(){
+        return accessPoints;
+    }
+
+    public void setClients(int apId, int numClients){
+        clients[apId] = numClients;
+        present[apId >>> 6] |= 1L << apId;
+    }
+
+    public boolean hasClients(int apId){
+        return (present[apId >>> 6] & (1L << apId)) != 0;
+    }
+
+    /**
+     * @return The number of clients of the AP with the given index, or 0 if the AP is missing from the entry or the
+     *         index is {@link AccessPointMapping#MISSING}.
+     */
+    public int getClients(int apId){
+        return apId != AccessPointMapping.MISSING && hasClients(apId) ? clients[apId] : 0;
     }
 }
@@ -6,10 +6,14 @@ import java.time.*;
 
 /**
  * Represents a single generated entry for the row-based schema, ready to be added to a target.
+ *
+ * When entry-reuse is enabled, the generator passes the same instance to the target for every generated row and
+ * updates it using {@link #set(long, String, int)}. Targets must therefore not keep references to entries after
+ * {@code add} returns.
  */
 public class GeneratedRowEntry extends AbstractGeneratedEntry {
-    private final String ap;
-    private final int numClients;
+    private String ap;
+    private int numClients;
 
     public GeneratedRowEntry(LocalDate date, LocalTime time, String AP, int numClients){
         super(date, time);
@@ -17,6 +21,21 @@ public class GeneratedRowEntry extends AbstractGeneratedEntry {
         this.numClients = numClients;
     }
 
+    public GeneratedRowEntry(long epochNanos, String AP, int numClients){
+        super(epochNanos);
+        this.ap = AP;
+        this.numClients = numClients;
+    }
+
+    /**
+     * Overwrites the contents of this entry, so that the instance can be reused for the next generated row.
+     */
+    public void set(long epochNanos, String AP, int numClients){
+        this.epochNanos = epochNanos;
+        this.ap = AP;
+        this.numClients = numClients;
+    }
+
     public String getAP() {
         return ap;
     }
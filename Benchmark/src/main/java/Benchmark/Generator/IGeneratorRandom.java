@@ -0,0 +1,30 @@
+package Benchmark.Generator;
+
+import java.time.LocalDate;
+
+/**
+ * The source of the random numbers drawn by the data generator.
+ */
+public interface IGeneratorRandom {
+    /**
+     * Called before the generator starts generating the given day.
+     */
+    void startDay(LocalDate date);
+
+    /**
+     * Called before drawing the numbers for the given key (an AP, or {@link KeyedGeneratorRandom#TICK_KEY}) at the
+     * tick with the given time. Random sources that aren't keyed ignore this.
+     */
+    void selectKey(long tickEpochNanos, long key);
+
+    /**
+     * @return A random number between 0 (inclusive) and the given bound (exclusive).
+     */
+    int nextInt(int bound);
+
+    /**
+     * @return A new instance that draws the same numbers as this one for any day, but which doesn't share any state
+     *         with this instance. Used to give each generator-thread its own instance.
+     */
+    IGeneratorRandom copy();
+}
@@ -0,0 +1,73 @@
+package Benchmark.Generator;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * A counter-based random source. The numbers drawn after calling {@link #selectKey(long, long)} are a pure function of
+ * the seed, the time and the key (and how many numbers have been drawn since the call), so they don't depend on
+ * anything that was generated before. See {@link RandomStreams#KEYED}.
+ */
+public class KeyedGeneratorRandom implements IGeneratorRandom {
+    /**
+     * The key used for numbers that are drawn once per tick rather than once per AP.
+     */
+    public static final long TICK_KEY = 0x5DEECE66DL;
+    private static final long START_KEY = 0xB5AD4ECEDA1CE2A9L;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private long state;
+    private long counter;
+
+    public KeyedGeneratorRandom(long seed){
+        this.seed = seed;
+        selectKey(0, START_KEY);
+    }
+
+    /**
+     * @return A stable key for the AP with the given name. Computed from the name (rather than e.g. the index of the AP
+     *         in an array) so that the key of an AP is the same regardless of how the APs are partitioned.
+     */
+    public static long KeyOf(String apName){
+        // 64-bit FNV-1a
+        long hash = 0xCBF29CE484222325L;
+        for(byte b : apName.getBytes(StandardCharsets.UTF_8)){
+            hash ^= (b & 0xFF);
+            hash *= 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * @return The second of each day that the first tick of the day is generated at. Drawn from the seed alone, so
+     *         that it is the same for all generator- and ingest-threads.
+     */
+    public int drawStartSecond(){
+        selectKey(0, START_KEY);
+        return nextInt(10) + 1;
+    }
+
+    @Override
+    public void startDay(LocalDate date) { }
+
+    @Override
+    public void selectKey(long tickEpochNanos, long key) {
+        state = DailyGeneratorRandom.Mix64(seed ^ DailyGeneratorRandom.Mix64(tickEpochNanos ^ DailyGeneratorRandom.Mix64(key)));
+        counter = 0;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        assert bound > 0;
+        counter++;
+        long bits = DailyGeneratorRandom.Mix64(state + counter * GOLDEN_GAMMA);
+        // Scale the upper 32 bits to the bound rather than using modulo, which avoids a division.
+        return (int) (((bits >>> 32) * bound) >>> 32);
+    }
+
+    @Override
+    public IGeneratorRandom copy() {
+        return new KeyedGeneratorRandom(seed);
+    }
+}
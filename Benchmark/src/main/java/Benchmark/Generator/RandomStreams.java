@@ -0,0 +1,31 @@
+package Benchmark.Generator;
+
+/**
+ * The ways in which the data generator can draw its random numbers.
+ */
+public enum RandomStreams {
+    /**
+     * All random numbers are drawn from a single random-instance that is threaded through the whole generation.
+     * The generated values of a day therefore depend on every random number drawn for the days before it, so days
+     * must be generated in order on a single thread.
+     */
+    SHARED,
+    /**
+     * Each generated day draws its random numbers from its own stream, which is derived from the date of the day.
+     * Days are therefore independent of each other and can be generated in any order, and on any number of threads,
+     * while still giving the same output.
+     */
+    DAILY,
+    /**
+     * Every random number is a pure function of the benchmark seed, the AP and the timestamp of the tick it is drawn for.
+     * Any day can therefore be generated on its own without generating the days before it, and the values of an AP
+     * don't depend on which other APs are generated alongside it (e.g. by the same ingest-thread or process).
+     *
+     * The seed data is also mapped to dates relative to the start date of the initial generation, rather than relative
+     * to the date that a specific generation- or ingestion-run starts at, so that starting from any date gives the
+     * same data as a single continuous run.
+     *
+     * Note that the timestamps within a tick are still offset by the readings of the preceding APs of the same generator.
+     */
+    KEYED
+}
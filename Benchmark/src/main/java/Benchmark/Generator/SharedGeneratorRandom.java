@@ -0,0 +1,31 @@
+package Benchmark.Generator;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Draws all random numbers from the given Random-instance. See {@link RandomStreams#SHARED}.
+ */
+public class SharedGeneratorRandom implements IGeneratorRandom {
+    private final Random rng;
+
+    public SharedGeneratorRandom(Random rng){
+        this.rng = rng;
+    }
+
+    @Override
+    public void startDay(LocalDate date) { }
+
+    @Override
+    public void selectKey(long tickEpochNanos, long key) { }
+
+    @Override
+    public int nextInt(int bound) {
+        return rng.nextInt(bound);
+    }
+
+    @Override
+    public IGeneratorRandom copy() {
+        throw new IllegalStateException("The generated data depends on the order of the days when using a shared random-instance, so it cannot be copied.");
+    }
+}
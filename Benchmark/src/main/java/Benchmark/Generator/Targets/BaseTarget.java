@@ -1,5 +1,6 @@
 package Benchmark.Generator.Targets;
 
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 
 /**
@@ -10,6 +11,9 @@ public class BaseTarget implements ITarget {
     @Override
     public void add(IGeneratedEntry entry) { }
 
+    @Override
+    public void addBatch(EntryBatch batch) { }
+
     @Override
     public boolean shouldStopEarly() { return false; }
 
@@ -1,5 +1,6 @@
 package Benchmark.Generator.Targets;
 
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 
 /**
@@ -17,6 +18,11 @@ public class CountTarget implements ITarget {
         count++;
     }
 
+    @Override
+    public void addBatch(EntryBatch batch) {
+        count += batch.size();
+    }
+
     @Override
     public boolean shouldStopEarly() {
         return false;
@@ -1,5 +1,6 @@
 package Benchmark.Generator.Targets;
 
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 
 import java.io.IOException;
@@ -17,9 +18,26 @@ public interface ITarget extends AutoCloseable {
      *
      * If entries are batched, make sure that an incomplete
      * batch is submitted before the handle is closed.
+     *
+     * The generator may reuse the same entry-instance across calls,
+     * so implementations must not keep a reference to the entry.
      */
     void add(IGeneratedEntry entry) throws IOException, SQLException;
 
+    /**
+     * Add all the rows of the given batch to the database.
+     *
+     * The default implementation passes each row to {@link #add(IGeneratedEntry)}. Targets should override this
+     * to handle the whole batch at once when they can do so more efficiently.
+     *
+     * The generator reuses batches, so implementations must not keep a reference to the batch.
+     */
+    default void addBatch(EntryBatch batch) throws IOException, SQLException {
+        for(int i = 0; i < batch.size(); i++){
+            add(batch.toEntry(i));
+        }
+    }
+
     /**
      * Indicate that we should gracefully abort because errors occurred during entry insertion.
      */
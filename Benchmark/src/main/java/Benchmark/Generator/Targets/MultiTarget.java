@@ -1,5 +1,6 @@
 package Benchmark.Generator.Targets;
 
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 
 import java.io.IOException;
@@ -23,6 +24,12 @@ public class MultiTarget implements ITarget {
         target2.add(entry);
     }
 
+    @Override
+    public void addBatch(EntryBatch batch) throws IOException, SQLException {
+        target1.addBatch(batch);
+        target2.addBatch(batch);
+    }
+
     @Override
     public boolean shouldStopEarly() {
         return target1.shouldStopEarly() || target2.shouldStopEarly();
@@ -0,0 +1,130 @@
+package Benchmark.Generator.Targets;
+
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decouples the thread that adds batches from the target that the batches are written to, so that the next batch
+ * can be generated while the previous batch is being written.
+ *
+ * Added batches are copied into a bounded ring of batches, which a dedicated writer-thread drains into the wrapped
+ * target. The ring has a single producer and a single consumer, so it needs no locks. When the ring is full, adding
+ * a batch blocks until the writer has made room. The batches of the ring are allocated when the ring is first
+ * filled, and are reused afterwards.
+ *
+ * All calls to the wrapped target are made from the writer-thread. The wrapped target isn't closed by
+ * {@link #close()}, since it's owned by the caller.
+ */
+public class PipelinedTarget implements ITarget {
+    private final ITarget target;
+    private final EntryBatch[] ring;
+    private final Thread writer;
+    // The number of batches that have been added to, and taken from, the ring.
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong taken = new AtomicLong();
+
+    private volatile boolean closing;
+    private volatile boolean stopEarly;
+    private volatile Exception failure;
+
+    /**
+     * @param target The target to write the batches to.
+     * @param depth The number of batches that can wait to be written.
+     * @param threadName The name of the writer-thread.
+     */
+    public PipelinedTarget(ITarget target, int depth, String threadName){
+        assert depth > 0;
+        this.target = target;
+        this.ring = new EntryBatch[depth];
+        this.writer = new Thread(this::write, threadName);
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) {
+        throw new IllegalStateException("Pipelined targets only accept batches of entries.");
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) throws IOException, SQLException {
+        if(batch.size() == 0) return;
+        long index = added.get();
+        int spins = 0;
+        while(index - taken.get() == ring.length){
+            throwIfFailed();
+            backoff(spins++);
+        }
+        throwIfFailed();
+
+        int slot = (int) (index % ring.length);
+        EntryBatch copy = ring[slot];
+        if(copy == null || copy.getAccessPoints() != batch.getAccessPoints() || copy.getCapacityTicks() < batch.getCapacityTicks()){
+            copy = new EntryBatch(batch.getSchema(), batch.getAccessPoints(), batch.getCapacityTicks());
+            ring[slot] = copy;
+        }
+        copy.copyFrom(batch);
+        added.lazySet(index + 1);
+    }
+
+    private void write(){
+        try {
+            long index = 0;
+            while(true){
+                int spins = 0;
+                while(added.get() == index){
+                    if(closing && added.get() == index) return;
+                    // Keep the stop-signal of the wrapped target up to date while waiting for the producer.
+                    stopEarly = target.shouldStopEarly();
+                    backoff(spins++);
+                }
+
+                target.addBatch(ring[(int) (index % ring.length)]);
+                stopEarly = target.shouldStopEarly();
+                taken.lazySet(++index);
+            }
+        } catch (Exception e) {
+            failure = e;
+            stopEarly = true;
+        }
+    }
+
+    private void throwIfFailed() throws IOException, SQLException {
+        Exception e = failure;
+        if(e == null) return;
+        if(e instanceof IOException) throw (IOException) e;
+        if(e instanceof SQLException) throw (SQLException) e;
+        if(e instanceof RuntimeException) throw (RuntimeException) e;
+        throw new IllegalStateException("Pipelined writer-thread failed.", e);
+    }
+
+    private static void backoff(int spins){
+        if(spins < 100) Thread.yield();
+        else LockSupport.parkNanos(50_000);
+    }
+
+    @Override
+    public boolean shouldStopEarly() {
+        return stopEarly;
+    }
+
+    /**
+     * Waits until all the added batches have been written, and then stops the writer-thread.
+     */
+    @Override
+    public void close() throws IOException, SQLException {
+        closing = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the pipelined writer-thread to finish.", e);
+        }
+        throwIfFailed();
+    }
+}
@@ -0,0 +1,143 @@
+package Benchmark.Generator.Targets;
+
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.AccessPointMapping;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
+import Benchmark.Generator.GeneratedData.GeneratedRowEntry;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lets multiple threads write to a single target, such as a target that owns a single database-connection, even though
+ * the target itself isn't thread-safe.
+ *
+ * Each thread writes to its own stripe (see {@link #getStripe(int)}), which buffers single entries in a batch of its
+ * own. Full batches, and batches that are added as a whole, are submitted to the shared target through a single
+ * synchronized path. The shared target is therefore only called by 1 thread at a time, and the threads only contend
+ * with each other once per batch rather than once per entry.
+ *
+ * Closing a stripe submits its remaining entries. Closing the shared target submits the remaining entries of all the
+ * stripes, and then closes the target that it wraps.
+ */
+public class SharedTarget implements ITarget {
+    private final ITarget target;
+    private final Stripe[] stripes;
+    private final GeneratedAccessPoint[] allAPs;
+    // Narrow entries only know the name of their AP.
+    private final Map<String, Integer> apIds = new HashMap<>();
+    private volatile boolean stopEarly;
+
+    /**
+     * @param target The target to share.
+     * @param threads The number of threads that write to the target. Each thread has its own stripe.
+     * @param schema The schema of the entries that are written.
+     * @param allAPs All the APs that entries may be written for.
+     * @param batchRows The number of single entries that each stripe buffers before submitting them.
+     */
+    public SharedTarget(ITarget target, int threads, SchemaFormats schema, GeneratedAccessPoint[] allAPs, int batchRows){
+        assert batchRows > 0;
+        this.target = target;
+        this.allAPs = allAPs;
+        for(int apId = 0; apId < allAPs.length; apId++){
+            apIds.put(allAPs[apId].getAPname(), apId);
+        }
+
+        // Narrow batches fit a row per AP per tick, while wide batches fit a row per tick.
+        int capacityTicks = schema == SchemaFormats.NARROW ? (batchRows + allAPs.length - 1) / allAPs.length : batchRows;
+        stripes = new Stripe[threads];
+        for(int i = 0; i < threads; i++){
+            stripes[i] = new Stripe(new EntryBatch(schema, allAPs, capacityTicks), batchRows);
+        }
+    }
+
+    /**
+     * @return The stripe that the given thread must write to. Each stripe must only be used by a single thread.
+     */
+    public ITarget getStripe(int thread){
+        return stripes[thread];
+    }
+
+    private synchronized void submit(EntryBatch batch) throws IOException, SQLException {
+        target.addBatch(batch);
+        stopEarly = target.shouldStopEarly();
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) {
+        throw new IllegalStateException("Shared targets must be written to through their stripes.");
+    }
+
+    @Override
+    public boolean shouldStopEarly() {
+        return stopEarly;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for(Stripe stripe : stripes){
+            stripe.close();
+        }
+        target.close();
+    }
+
+    private class Stripe implements ITarget {
+        private final EntryBatch buffer;
+        private final int batchRows;
+        private final AccessPointMapping apMapping;
+
+        private Stripe(EntryBatch buffer, int batchRows){
+            this.buffer = buffer;
+            this.batchRows = batchRows;
+            this.apMapping = new AccessPointMapping(allAPs);
+        }
+
+        @Override
+        public void add(IGeneratedEntry entry) throws IOException, SQLException {
+            if(entry instanceof GeneratedRowEntry){
+                GeneratedRowEntry rowEntry = (GeneratedRowEntry) entry;
+                buffer.addRow(rowEntry.getEpochNanos(), apIds.get(rowEntry.getAP()), rowEntry.getNumClients());
+            } else {
+                GeneratedColumnEntry columnEntry = (GeneratedColumnEntry) entry;
+                int row = buffer.addWideRow();
+                buffer.setEpochNanos(row, columnEntry.getEpochNanos());
+                int[] apIndices = apMapping.sourceIndices(columnEntry.getAccessPoints());
+                for(int apId = 0; apId < apIndices.length; apId++){
+                    if(apIndices[apId] != AccessPointMapping.MISSING && columnEntry.hasClients(apIndices[apId])){
+                        buffer.setClients(row, apId, columnEntry.getClients(apIndices[apId]));
+                    }
+                }
+            }
+
+            if(buffer.size() == batchRows) flush();
+        }
+
+        @Override
+        public void addBatch(EntryBatch batch) throws IOException, SQLException {
+            // Buffered entries are submitted first, so that entries reach the target in the order they were added.
+            flush();
+            if(batch.size() > 0) submit(batch);
+        }
+
+        private void flush() throws IOException, SQLException {
+            if(buffer.size() == 0) return;
+            submit(buffer);
+            buffer.clear();
+        }
+
+        @Override
+        public boolean shouldStopEarly() {
+            return stopEarly;
+        }
+
+        @Override
+        public void close() throws IOException, SQLException {
+            flush();
+        }
+    }
+}
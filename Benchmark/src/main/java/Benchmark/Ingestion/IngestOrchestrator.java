@@ -1,6 +1,7 @@
 package Benchmark.Ingestion;
 
 import Benchmark.Config.ConfigFile;
+import Benchmark.Coordinator.CoordinatorClient;
 import Benchmark.Databases.DatabaseTargetFactory;
 import Benchmark.DateCommunication;
 import Benchmark.Debug.PartitionLockstepChannel;
@@ -9,13 +10,16 @@ import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedFloor;
 import Benchmark.Generator.Targets.ITarget;
 import Benchmark.Generator.Targets.MultiTarget;
-import Benchmark.SeedLoader.Seeddata.SeedEntries;
+import Benchmark.Generator.Targets.SharedTarget;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
 
 import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -30,6 +34,10 @@ public class IngestOrchestrator {
     private final Future[] ingestTasks;
     private final IngestRunnable[] ingestRunnables;
     private final ITarget[] ingestTargets;
+    private SharedTarget sharedTarget;
+    private final WideSliceGenerator[] sliceGenerators;
+    private final Future[] sliceTasks;
+    private boolean recreateTarget;
 
     public IngestOrchestrator(ConfigFile config){
         this.config = config;
@@ -39,58 +47,95 @@ public class IngestOrchestrator {
         if(config.getIngestThreadCount() < 1){
             throw new IllegalStateException("Less than 1 ingestion-thread is configured. Must be an invalid config that wasn't caught earlier...");
         }
-        threadPoolIngest = Executors.newFixedThreadPool(config.getIngestThreadCount());
-        ingestTasks = new Future[config.getIngestThreadCount()];
-        ingestRunnables = new IngestRunnable[config.getIngestThreadCount()];
-        ingestTargets = new ITarget[config.useSharedIngestInstance() ? 1 : config.getIngestThreadCount()];
+
+        // When wide rows are assembled from slices, the ingest-threads generate the slices and dedicated writer-threads insert the rows.
+        int writerThreads = config.isWideRowAssemblyEnabled() ? config.getIngestWideWriterThreadCount() : config.getIngestThreadCount();
+        int generatorThreads = config.isWideRowAssemblyEnabled() ? config.getIngestThreadCount() : 0;
+        threadPoolIngest = Executors.newFixedThreadPool(writerThreads + generatorThreads);
+        ingestTasks = new Future[writerThreads];
+        ingestRunnables = new IngestRunnable[writerThreads];
+        ingestTargets = new ITarget[config.useSharedIngestInstance() ? 1 : writerThreads];
+        sliceGenerators = new WideSliceGenerator[generatorThreads];
+        sliceTasks = new Future[generatorThreads];
     }
 
     public void startIngestion(){
+        for(int i = 0; i < sliceTasks.length; i++){
+            sliceTasks[i] = threadPoolIngest.submit(sliceGenerators[i]);
+        }
         for(int i = 0; i < ingestTasks.length; i++){
             ingestTasks[i] = threadPoolIngest.submit(ingestRunnables[i]);
         }
     }
 
-    public void prepareIngestion(GeneratedFloor[] generatedFloors, SeedEntries seedEntries,
+    public void prepareIngestion(GeneratedFloor[] generatedFloors, CompiledSeedEntries seedEntries,
                                   DateCommunication dateComm, Random ingestRngSource, boolean doDirectComm,
+                                  CoordinatorClient.Shard shard,
                                   PartitionLockstepChannel DEBUG_partitionLockstepChannel) throws IOException, SQLException {
         GeneratedAccessPoint[] allAPs = GeneratedFloor.allAPsOnFloors(generatedFloors);
+        // When coordinated, this process only ingests the shard of APs that the coordinator assigned to it.
+        // The targets are still given all the APs, since they describe the layout of the shared database.
+        GeneratedAccessPoint[] ingestedAPs = shard == null ? allAPs : shardAPs(allAPs, shard);
+        // Only the first shard may recreate the target, since the other processes are adding to it.
+        recreateTarget = config.recreateIngestTarget() && (shard == null || shard.index == 0);
 
         if(config.useSharedIngestInstance()) {
-            ingestTargets[0] = DatabaseTargetFactory.createDatabaseTarget(config.getIngestTarget(), config, config.recreateIngestTarget(), allAPs);
+            // Each thread writes to its own stripe of the shared target, which serializes the writes to the actual target.
+            ITarget target = DatabaseTargetFactory.createDatabaseTarget(config.getIngestTarget(), config, recreateTarget, allAPs);
+            sharedTarget = new SharedTarget(target, ingestRunnables.length, config.getSchema(), allAPs, config.getIngestSharedInstanceBatchRows());
+            ingestTargets[0] = sharedTarget;
+        }
+
+        // If ingestion runs alongside querying then ingestion is stopped when we're done querying.
+        // If ingestion runs on its own, then we run ingestion until we hit the configured end-date.
+        LocalDate ingestEndDate = config.isQueryingEnabled() ? LocalDate.MAX : config.getIngestEndDate();
+
+        // A single rate limiter is shared by all the threads, so that the ingest-speed is the combined speed of the threads.
+        IngestRateLimiter rateLimiter = config.getIngestSpeed() > 0 ? new IngestRateLimiter(config.getIngestSpeed()) : null;
+
+        // Tracks the progress of the threads that insert data, so that queries follow the slowest thread and so that
+        //   the threads can be kept within the configured distance of each other.
+        IngestSkewController skewController = new IngestSkewController(ingestRunnables.length, config.getIngestMaxSkewInSeconds());
+
+        GeneratedAccessPoint[][] partitionedAPs = evenlyPartitionAPs(ingestedAPs, config.getIngestThreadCount());
+        if(config.isWideRowAssemblyEnabled()){
+            // Each ingest-thread generates the columns of its own APs, and the writers insert the assembled rows.
+            WideRowRing ring = new WideRowRing(allAPs, partitionedAPs, config.getIngestWideBufferRows(), Math.max(1, config.getGeneratorBatchTicks()));
+            for(int i = 0; i < sliceGenerators.length; i++){
+                Random ingestRngForThread = new Random(ingestRngSource.nextInt());
+                sliceGenerators[i] = new WideSliceGenerator(config, partitionedAPs[i], seedEntries, ingestRngForThread, ring, i, ingestEndDate);
+            }
+            for(int i = 0; i < ingestRunnables.length; i++){
+                ITarget ingestTarget = createIngestTarget(i, allAPs, DEBUG_partitionLockstepChannel);
+                ingestRunnables[i] = new IngestRunnable(config, allAPs, ring, ingestTarget, rateLimiter, skewController, dateComm, i, doDirectComm);
+            }
+            return;
         }
 
-        GeneratedAccessPoint[][] partitionedAPs = evenlyPartitionAPs(allAPs, config.getIngestThreadCount());
-        boolean firstCreatedTarget = true;
-        //TODO: Might need some functionality to ensure that the ingest-threads are kept similar in speeds.
-        //      Otherwise one ingest thread might end up several hours/days in front of the others which then makes
-        //      any queries for 'recent' data too easy. Or I could make queries for 'recent' data be the recency of
-        //      the slowest thread (currently it follows the fastest one).
         for(int i = 0; i < config.getIngestThreadCount(); i++) {
+            // Threads without APs never add any entries, so they must not hold back the low watermark or the others.
+            if(partitionedAPs[i].length == 0 && !config.isIngestReplayEnabled()) skewController.finish(i);
             Random ingestRngForThread = new Random(ingestRngSource.nextInt());
-            ITarget ingestTarget;
-            if (config.useSharedIngestInstance()) {
-                ingestTarget = ingestTargets[0];
-            } else {
-                // Only recreate the ingest-target during the first initialization. Avoids churn on the database/target.
-                //   Probably doesn't really matter since we create all the instances before ingest begins.
-                boolean recreate = false;
-                if (firstCreatedTarget) {
-                    recreate = config.recreateIngestTarget();
-                    firstCreatedTarget = false;
-                }
-                ingestTarget = DatabaseTargetFactory.createDatabaseTarget(config.getIngestTarget(), config, recreate, allAPs);
-
-                if(config.DEBUG_isPartitionLockstepEnabled()) ingestTarget = new MultiTarget(ingestTarget, new PartitionLockstepIngestionController(config, DEBUG_partitionLockstepChannel));
-
-                ingestTargets[i] = ingestTarget;
-            }
+            ITarget ingestTarget = createIngestTarget(i, allAPs, DEBUG_partitionLockstepChannel);
+            ingestRunnables[i] = new IngestRunnable(config, partitionedAPs[i], allAPs, seedEntries, ingestRngForThread, ingestTarget, rateLimiter, skewController, dateComm, i, ingestEndDate, doDirectComm);
+        }
+    }
 
-            // If ingestion runs alongside querying then ingestion is stopped when we're done querying.
-            // If ingestion runs on its own, then we run ingestion until we hit the configured end-date.
-            LocalDate ingestEndDate = config.isQueryingEnabled() ? LocalDate.MAX : config.getIngestEndDate();
-            ingestRunnables[i] = new IngestRunnable(config, partitionedAPs[i], seedEntries, ingestRngForThread, ingestTarget, dateComm, i, ingestEndDate, doDirectComm);
+    private ITarget createIngestTarget(int threadNumber, GeneratedAccessPoint[] allAPs,
+                                       PartitionLockstepChannel DEBUG_partitionLockstepChannel) throws IOException, SQLException {
+        if (config.useSharedIngestInstance()) {
+            return sharedTarget.getStripe(threadNumber);
         }
+
+        // Only recreate the ingest-target during the first initialization. Avoids churn on the database/target.
+        //   Probably doesn't really matter since we create all the instances before ingest begins.
+        boolean recreate = threadNumber == 0 && recreateTarget;
+        ITarget ingestTarget = DatabaseTargetFactory.createDatabaseTarget(config.getIngestTarget(), config, recreate, allAPs);
+
+        if(config.DEBUG_isPartitionLockstepEnabled()) ingestTarget = new MultiTarget(ingestTarget, new PartitionLockstepIngestionController(config, DEBUG_partitionLockstepChannel));
+
+        ingestTargets[threadNumber] = ingestTarget;
+        return ingestTarget;
     }
 
     public boolean hasAllIngestThreadsFinished(){
@@ -112,6 +157,9 @@ public class IngestOrchestrator {
         for (Future ingestTask : ingestTasks) {
             ingestTask.get();
         }
+        for (Future sliceTask : sliceTasks) {
+            sliceTask.get();
+        }
 
         // Then we close their connections
         for(ITarget ingestTarget : ingestTargets){
@@ -123,6 +171,22 @@ public class IngestOrchestrator {
         threadPoolIngest.shutdown();
     }
 
+    private GeneratedAccessPoint[] shardAPs(GeneratedAccessPoint[] allAPs, CoordinatorClient.Shard shard){
+        Map<String, GeneratedAccessPoint> apsByName = new HashMap<>();
+        for(GeneratedAccessPoint ap : allAPs){
+            apsByName.put(ap.getAPname(), ap);
+        }
+
+        GeneratedAccessPoint[] out = new GeneratedAccessPoint[shard.apNames.length];
+        for(int i = 0; i < out.length; i++){
+            out[i] = apsByName.get(shard.apNames[i]);
+            if(out[i] == null){
+                throw new IllegalStateException("The coordinator assigned AP " + shard.apNames[i] + " which isn't on the floors of this process. Do all processes use the same serialized floors?");
+            }
+        }
+        return out;
+    }
+
     private GeneratedAccessPoint[][] evenlyPartitionAPs(GeneratedAccessPoint[] allAPs, int partitions){
         List<List<GeneratedAccessPoint>> results = new ArrayList<>(partitions);
         for(int i = 0; i < partitions; i++){
@@ -0,0 +1,57 @@
+package Benchmark.Ingestion;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token-bucket rate limiter that is shared by all the ingest-threads, so that the configured ingest-speed is the
+ * combined speed of the threads.
+ *
+ * Rather than tracking the number of tokens in the bucket, the limiter tracks the time at which the bucket is
+ * empty again if every permit granted so far is spent at the configured rate. A thread that takes permits moves
+ * this time forward by the time it takes to produce those permits, and must wait until the bucket has refilled
+ * enough that the time is no more than {@link #BURST_NANOS} ahead of the current time. Since the time is only
+ * ever moved forward by the permits granted, the rate holds from the first permit and doesn't need to settle.
+ */
+class IngestRateLimiter {
+    /**
+     * The number of nanoseconds worth of permits that can be granted without waiting, after a period where the
+     * threads took fewer permits than the rate allows.
+     */
+    private static final long BURST_NANOS = 100_000_000L;
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final double nanosPerPermit;
+    private final AtomicLong emptyAtNanos;
+
+    /**
+     * @param permitsPerSecond The number of permits to grant per second, across all threads.
+     */
+    IngestRateLimiter(int permitsPerSecond){
+        assert permitsPerSecond > 0;
+        this.nanosPerPermit = 1e9 / permitsPerSecond;
+        this.emptyAtNanos = new AtomicLong(NOT_STARTED);
+    }
+
+    /**
+     * Takes the given number of permits from the bucket.
+     *
+     * @return The value of {@code System.nanoTime()} at which the permits are available. The caller must wait until
+     *         then before using the permits.
+     */
+    long reserve(int permits){
+        long cost = (long) Math.ceil(permits * nanosPerPermit);
+        while(true){
+            long now = System.nanoTime();
+            long emptyAt = emptyAtNanos.get();
+            // The bucket starts out empty, so that ingestion doesn't begin with a burst above the configured speed.
+            // Afterwards, permits that weren't taken while the threads were idle accumulate, but only up to the size of
+            //   the bucket. The bucket is full when the time is no later than now, so at most BURST_NANOS worth of
+            //   permits are granted without waiting.
+            long start = emptyAt == NOT_STARTED ? now + BURST_NANOS : Math.max(emptyAt, now);
+            long newEmptyAt = start + cost;
+            if(emptyAtNanos.compareAndSet(emptyAt, newEmptyAt)){
+                return newEmptyAt - BURST_NANOS;
+            }
+        }
+    }
+}
@@ -2,12 +2,16 @@ package Benchmark.Ingestion;
 
 import Benchmark.CSVLogger;
 import Benchmark.Config.ConfigFile;
+import Benchmark.Databases.Dataset.DatasetReplay;
 import Benchmark.DateCommunication;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.DataGenerator;
 import Benchmark.Generator.Targets.ITarget;
 import Benchmark.Generator.Targets.MultiTarget;
-import Benchmark.SeedLoader.Seeddata.SeedEntries;
+import Benchmark.Generator.Targets.PipelinedTarget;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
 import Benchmark.Logger;
 
 import java.io.IOException;
@@ -18,35 +22,66 @@ import java.util.Random;
 /**
  * The top-level class for ingestion. Wraps the ingestion-target in an IngestTarget-instance
  * that monitors ingestion, can add delays, etc.
+ *
+ * For multi-threaded ingestion with the wide schema, the runnable writes the rows that are assembled by a
+ * {@link WideRowRing} instead of generating its own data.
+ *
+ * When pipelining is enabled, the generated batches are written to the ingestion-target by a separate writer-thread,
+ * so that generation and insertion overlap. Monitoring and throttling then happen on the writer-thread.
  */
 public class IngestRunnable implements Runnable {
     private final ConfigFile config;
     private final GeneratedAccessPoint[] APs;
-    private final SeedEntries data;
+    private final GeneratedAccessPoint[] allAPs;
+    private final CompiledSeedEntries data;
     private final Random rng;
     private final ITarget actualTarget;
     private final ITarget combinedTarget;
     private final IngestTarget ingestTarget;
     private final String threadName;
+    private final int threadNumber;
     private final LocalDate endDate;
     private final CSVLogger.IngestLogger csvLogger;
+    private final WideRowRing ring;
+    private final IngestSkewController skewController;
 
     private boolean done;
 
-    public IngestRunnable(ConfigFile config, GeneratedAccessPoint[] APs, SeedEntries data, Random rng, ITarget outputTarget,
-                          DateCommunication dateComm, int threadNumber, LocalDate endDate, boolean doDirectComm){
+    public IngestRunnable(ConfigFile config, GeneratedAccessPoint[] APs, GeneratedAccessPoint[] allAPs, CompiledSeedEntries data, Random rng, ITarget outputTarget,
+                          IngestRateLimiter rateLimiter, IngestSkewController skewController, DateCommunication dateComm,
+                          int threadNumber, LocalDate endDate, boolean doDirectComm){
+        this(config, APs, allAPs, data, rng, null, outputTarget, rateLimiter, skewController, dateComm, threadNumber, endDate, doDirectComm);
+    }
+
+    /**
+     * Creates a runnable that writes the rows assembled by the given ring to the output target.
+     */
+    public IngestRunnable(ConfigFile config, GeneratedAccessPoint[] allAPs, WideRowRing ring, ITarget outputTarget,
+                          IngestRateLimiter rateLimiter, IngestSkewController skewController, DateCommunication dateComm,
+                          int threadNumber, boolean doDirectComm){
+        this(config, allAPs, allAPs, null, null, ring, outputTarget, rateLimiter, skewController, dateComm, threadNumber, null, doDirectComm);
+    }
+
+    private IngestRunnable(ConfigFile config, GeneratedAccessPoint[] APs, GeneratedAccessPoint[] allAPs, CompiledSeedEntries data, Random rng, WideRowRing ring,
+                           ITarget outputTarget, IngestRateLimiter rateLimiter, IngestSkewController skewController,
+                           DateCommunication dateComm, int threadNumber, LocalDate endDate, boolean doDirectComm){
         this.config = config;
         this.APs = APs;
+        // Replayed batches refer to all the APs, since the rows of a dataset file aren't partitioned by AP.
+        this.allAPs = allAPs;
         this.data = data;
         this.rng = rng;
         this.threadName = "Ingest " + threadNumber;
+        this.threadNumber = threadNumber;
         this.endDate = endDate;
+        this.ring = ring;
 
         if(config.doLoggingToCSV()) csvLogger = CSVLogger.IngestLogger.createInstance(threadName, threadNumber);
         else csvLogger = null;
 
         this.actualTarget = outputTarget;
-        this.ingestTarget = new IngestTarget(config.getIngestSpeed(), config.getIngestReportFrequency(), dateComm,
+        this.skewController = skewController;
+        this.ingestTarget = new IngestTarget(rateLimiter, skewController, threadNumber, config.getIngestReportFrequency(), dateComm,
                 threadName, doDirectComm, config.doLoggingToCSV(), csvLogger);
         this.combinedTarget = new MultiTarget(actualTarget, ingestTarget);
     }
@@ -54,6 +89,8 @@ public class IngestRunnable implements Runnable {
     public void stop(){
         // Inject a stop-signal into our IngestTarget so that the Generator stops.
         ingestTarget.setStop();
+        // The generator-threads of a ring are stopped through the ring instead.
+        if(ring != null) ring.stop();
     }
 
     @Override
@@ -63,10 +100,28 @@ public class IngestRunnable implements Runnable {
         }
 
         try {
-            DataGenerator.Generate(APs, data, config.getIngestStartDate(), endDate, rng, combinedTarget, config);
+            if(ring != null){
+                write();
+            } else {
+                PipelinedTarget pipeline = config.getIngestPipelineDepth() > 0 ? new PipelinedTarget(combinedTarget, config.getIngestPipelineDepth(), threadName + " writer") : null;
+                ITarget generatorTarget = pipeline != null ? pipeline : combinedTarget;
+                try {
+                    if(config.isIngestReplayEnabled()){
+                        replay(generatorTarget);
+                    } else {
+                        DataGenerator.Generate(APs, data, config.getIngestStartDate(), endDate, rng, generatorTarget, config);
+                    }
+                } finally {
+                    // Waits for the writer-thread to write the remaining batches.
+                    if(pipeline != null) pipeline.close();
+                }
+            }
         } catch (IOException | SQLException e) {
             Logger.LOG(threadName + ": Ingestion failed.");
             throw new RuntimeException(e);
+        } finally {
+            // The other ingest-threads must not wait for this thread to catch up once it's done.
+            skewController.finish(threadNumber);
         }
 
         if(actualTarget.shouldStopEarly()){
@@ -80,6 +135,33 @@ public class IngestRunnable implements Runnable {
         done = true;
     }
 
+    private void replay(ITarget target) throws IOException, SQLException {
+        DatasetReplay replay = new DatasetReplay(config.getIngestReplayFile(), config.getSchema(), allAPs);
+        try {
+            long rows = replay.replay(target, threadNumber, config.getIngestThreadCount());
+            Logger.LOG(threadName + ": Replayed " + rows + " rows from " + config.getIngestReplayFile());
+        } finally {
+            replay.close();
+        }
+    }
+
+    private void write() throws IOException, SQLException {
+        EntryBatch batch = new EntryBatch(SchemaFormats.WIDE, allAPs, Math.max(1, config.getGeneratorBatchTicks()));
+        boolean failed = true;
+        try {
+            while(ring.take(batch)){
+                combinedTarget.addBatch(batch);
+                batch.clear();
+                // Keep writing after a stop-signal, so that the rows that the generator-threads already completed aren't lost.
+                if(actualTarget.shouldStopEarly()) break;
+            }
+            failed = actualTarget.shouldStopEarly();
+        } finally {
+            // The generator-threads would otherwise wait forever for this writer to release its rows.
+            if(failed) ring.abort();
+        }
+    }
+
     public boolean isDone() {
         return done;
     }
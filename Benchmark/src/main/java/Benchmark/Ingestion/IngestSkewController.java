@@ -0,0 +1,96 @@
+package Benchmark.Ingestion;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the generated time that each ingest-thread has reached, and keeps the threads within a bounded distance
+ * of each other.
+ *
+ * Each thread publishes the time of the newest entry it has added. The low watermark is the oldest of these times,
+ * meaning that all entries up to the low watermark have been added by every thread. Until every thread has added
+ * its first entry, there is no low watermark, and the threads that have started are held back. Threads that have
+ * finished ingesting are ignored, so that they don't hold back the others. Threads that will never add any entries
+ * (e.g. if they were assigned no APs) must therefore be finished up front.
+ */
+class IngestSkewController {
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    private final long maxSkewNanos;
+    private final AtomicLongArray newestEpochNanos;
+    private final AtomicIntegerArray finished;
+
+    /**
+     * @param threads The number of ingest-threads.
+     * @param maxSkewSeconds The number of seconds of generated time that a thread may get ahead of the slowest thread,
+     *                       or a negative value to not limit the skew.
+     */
+    IngestSkewController(int threads, int maxSkewSeconds){
+        assert threads > 0;
+        this.maxSkewNanos = maxSkewSeconds < 0 ? Long.MAX_VALUE : maxSkewSeconds * 1_000_000_000L;
+        this.newestEpochNanos = new AtomicLongArray(threads);
+        this.finished = new AtomicIntegerArray(threads);
+        for(int i = 0; i < threads; i++){
+            newestEpochNanos.set(i, NOT_STARTED);
+        }
+    }
+
+    /**
+     * Publishes the time of the newest entry that the given thread has added.
+     */
+    void publish(int thread, long epochNanos){
+        // Only the thread itself writes its slot, so the max doesn't need a CAS.
+        if(epochNanos > newestEpochNanos.get(thread)) newestEpochNanos.lazySet(thread, epochNanos);
+    }
+
+    /**
+     * Marks that the given thread won't publish any more entries.
+     */
+    void finish(int thread){
+        finished.set(thread, 1);
+    }
+
+    /**
+     * @return Whether the given thread has gotten too far ahead of the slowest thread, and must wait for it.
+     */
+    boolean isTooFarAhead(int thread){
+        if(maxSkewNanos == Long.MAX_VALUE) return false;
+        long own = newestEpochNanos.get(thread);
+        if(own == NOT_STARTED) return false;
+        long slowest = slowestOtherThread(thread);
+        // A thread that hasn't started yet is the slowest thread, since it hasn't added anything.
+        return slowest == NOT_STARTED || (slowest != Long.MAX_VALUE && own - slowest > maxSkewNanos);
+    }
+
+    /**
+     * @return The oldest time published by the other unfinished threads, {@code NOT_STARTED} if any of them haven't
+     *         published a time yet, or {@code Long.MAX_VALUE} if they have all finished.
+     */
+    private long slowestOtherThread(int thread){
+        long slowest = Long.MAX_VALUE;
+        for(int i = 0; i < newestEpochNanos.length(); i++){
+            if(i == thread || finished.get(i) != 0) continue;
+            slowest = Math.min(slowest, newestEpochNanos.get(i));
+        }
+        return slowest;
+    }
+
+    /**
+     * @return The newest time that all the active threads have reached, or the newest published time if all threads
+     *         have finished. {@code Long.MIN_VALUE} while an active thread hasn't published a time yet, or if no
+     *         thread has published a time.
+     */
+    long getLowWatermark(){
+        long low = Long.MAX_VALUE;
+        long newest = NOT_STARTED;
+        for(int i = 0; i < newestEpochNanos.length(); i++){
+            long published = newestEpochNanos.get(i);
+            if(finished.get(i) == 0){
+                if(published == NOT_STARTED) return NOT_STARTED;
+                low = Math.min(low, published);
+            }
+            newest = Math.max(newest, published);
+        }
+        return low == Long.MAX_VALUE ? newest : low;
+    }
+}
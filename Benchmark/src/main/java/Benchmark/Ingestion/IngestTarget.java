@@ -1,38 +1,49 @@
 package Benchmark.Ingestion;
 
 import Benchmark.*;
+import Benchmark.Config.Granularity;
+import Benchmark.Generator.GeneratedData.EntryBatch;
 import Benchmark.Generator.GeneratedData.IGeneratedEntry;
 import Benchmark.Generator.Targets.ITarget;
 
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * During ingestion, this class monitors and controls the ingest-process.
  */
 public class IngestTarget implements ITarget {
+    // Waits are split up into parks of at most this length, so that a stop-signal isn't delayed by long waits at low speeds.
+    private static final long MAX_PARK_NANOS = 100_000_000L;
+
     private final CoarseTimer totalTimer;
     private final CoarseTimer reportTimer;
-    private final CoarseTimer speedTimer;
-    private final PreciseTimer busyTimer;
-    private final int desiredIngestSpeedPer100Millis;
+    private final IngestRateLimiter rateLimiter;
+    private final IngestSkewController skewController;
+    private final int threadNumber;
     private long totalCounter;
+    private long lastCommunicatedMicros = Long.MIN_VALUE;
     private int reportCounter;
-    private int speedCounter;
     private boolean timersStarted;
-    private final boolean shouldThrottleIngestion;
     private final boolean reportIntermediateStats;
     private final int reportFrequencyMillis;
     private final DateCommunication dateComm;
     private final String threadName;
     private final boolean doDirectComm;
-    private long sleepDuration = 0;
 
     private final boolean doCsvLogging;
     private final CSVLogger.IngestLogger csvLogger;
     private volatile boolean stop;
 
-    public IngestTarget(int desiredIngestSpeed, int reportFrequency, DateCommunication dateComm, String threadName,
+    /**
+     * @param rateLimiter The rate limiter that throttles ingestion, shared by all ingest-threads. Null to not throttle ingestion.
+     * @param skewController Tracks the progress of all ingest-threads, and keeps them in lockstep.
+     */
+    public IngestTarget(IngestRateLimiter rateLimiter, IngestSkewController skewController, int threadNumber,
+                        int reportFrequency, DateCommunication dateComm, String threadName,
                         boolean doDirectComm, boolean doCsvLogging, CSVLogger.IngestLogger csvLogger){
-        this.desiredIngestSpeedPer100Millis = desiredIngestSpeed / 10;
-        this.shouldThrottleIngestion = desiredIngestSpeed > 0;
+        this.rateLimiter = rateLimiter;
+        this.skewController = skewController;
+        this.threadNumber = threadNumber;
         this.reportFrequencyMillis = reportFrequency * 1000;
         this.reportIntermediateStats = reportFrequency > 0;
         this.dateComm = dateComm;
@@ -42,8 +53,6 @@ public class IngestTarget implements ITarget {
         this.csvLogger = csvLogger;
         totalTimer = new CoarseTimer();
         reportTimer = new CoarseTimer();
-        speedTimer = new CoarseTimer();
-        busyTimer = new PreciseTimer();
     }
 
     public void printFinalStats(){
@@ -59,22 +68,47 @@ public class IngestTarget implements ITarget {
 
     public void add(IGeneratedEntry entry) {
         totalCounter++;
+        skewController.publish(threadNumber, entry.getTime(Granularity.NANOSECOND));
 
         // Update the info about what the newest entry is, so we can use it in queries.
-        // However, updating that info requires taking a lock, so rarely do that update.
-        if(doDirectComm && totalCounter % 20000 == 0){
-            dateComm.setNewestTime(entry.getDateTime());
+        if(doDirectComm) communicateNewestTime();
+
+        monitorAddedEntries(1);
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) {
+        if(batch.size() == 0) return;
+        totalCounter += batch.size();
+        skewController.publish(threadNumber, batch.getEpochNanos(batch.size() - 1));
+
+        if(doDirectComm) communicateNewestTime();
+
+        monitorAddedEntries(batch.size());
+    }
+
+    private void communicateNewestTime(){
+        // Queries may only use the time that all the ingest-threads have reached. Otherwise queries for recent data
+        //   would hit time-ranges that the slower threads haven't inserted yet.
+        long lowWatermark = skewController.getLowWatermark();
+        if(lowWatermark == Long.MIN_VALUE) return;
+        // Only touch the shared time when it has moved, so that the threads don't contend on it after every insert.
+        long lowWatermarkMicros = Granularity.MICROSECOND.getTime(lowWatermark);
+        if(lowWatermarkMicros > lastCommunicatedMicros){
+            dateComm.setNewestEpochMicros(lowWatermarkMicros);
+            lastCommunicatedMicros = lowWatermarkMicros;
         }
+    }
 
+    private void monitorAddedEntries(int numEntries){
         if(!timersStarted) {
             totalTimer.start();
             reportTimer.start();
-            speedTimer.start();
             timersStarted = true;
         }
 
         if(reportIntermediateStats){
-            reportCounter++;
+            reportCounter += numEntries;
             double elapsedMillis = reportTimer.elapsedMilliseconds();
             if(elapsedMillis > reportFrequencyMillis){
                 int averageOverTime = reportCounter / (reportFrequencyMillis/1000);
@@ -86,36 +120,24 @@ public class IngestTarget implements ITarget {
             }
         }
 
-        if(shouldThrottleIngestion){
-            // Since the 'add' method is a part of the tight ingestion-loop, we can spread our throttle-delays out over
-            //   multiple insertions so that we do e.g. "1 insert, wait 2ms, 1 insert, wait 2ms, etc" to insert
-            //   ~500 rows in 1 second.
-            //   The alternative would be to simply start a timer, insert 500 rows as fast as possible and then
-            //   sleeping for the remaining time.
-            // This delay-estimation isn't the best and will take some time to stabilize, especially on big batch-sizes,
-            //   but has been tested at batch-sizes varying from 100-100000 with desired throttling speeds of 10-40000.
-            speedCounter++;
-            double elapsedMillis = speedTimer.elapsedMilliseconds();
-            // Recalculate our delay every 100 milliseconds (so we can calculate how much we ended up insertion over the last 100 and revise our delay-estimate.
-            if(elapsedMillis > 100){
-                if(speedCounter > desiredIngestSpeedPer100Millis){
-                    sleepDuration += (speedCounter - desiredIngestSpeedPer100Millis)*2 + 5000;
-                } else {
-                    sleepDuration -= 500;
-                }
-
-                speedCounter = 0;
-                speedTimer.start();
+        if(rateLimiter != null){
+            // Since the 'add' method is a part of the tight ingestion-loop, the permits are taken per insertion so
+            //   that the throttle-delays are spread out over the insertions, rather than inserting as fast as possible
+            //   and then sleeping for the remainder of the second.
+            // When entries are added in batches, the permits for the whole batch are taken at once instead.
+            // Once ingestion is told to stop, the remaining entries are no longer throttled so that shutdown isn't delayed.
+            long availableAtNanos = rateLimiter.reserve(numEntries);
+            long remainingNanos;
+            while(!stop && (remainingNanos = availableAtNanos - System.nanoTime()) > 0){
+                LockSupport.parkNanos(Math.min(remainingNanos, MAX_PARK_NANOS));
             }
+        }
 
-            if(sleepDuration <= 0) {
-                sleepDuration = 0;
-            } else {
-                busyTimer.start();
-                while(busyTimer.elapsedNanoseconds() < sleepDuration){
-                    // Busy loop
-                }
-            }
+        // Wait for the slowest ingest-thread to catch up, if this thread has gotten too far ahead of it.
+        int spins = 0;
+        while(!stop && skewController.isTooFarAhead(threadNumber)){
+            if(spins++ < 100) Thread.yield();
+            else LockSupport.parkNanos(50_000);
         }
     }
 
@@ -0,0 +1,224 @@
+package Benchmark.Ingestion;
+
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Assembles rows for the wide schema from slices of APs that are generated by separate threads, and hands the
+ * assembled rows to one or more writer-threads.
+ *
+ * Every generator-thread generates exactly one row per tick for its own slice of the APs, so the n'th row of each
+ * slice belongs to the same tick. The rows are stored in a ring of slots. A generator-thread fills in the columns of
+ * its slice in the slot of the row, and the row is complete once all the slices of the row have arrived. The writers
+ * take the complete rows in order, copy them into their own batch and then release the slot so it can be reused.
+ *
+ * The time of an assembled row is the time generated by the first slice. With keyed random streams all slices
+ * generate the same time for a tick, but with the other random streams each generator-thread draws its own times.
+ */
+class WideRowRing {
+    private final GeneratedAccessPoint[] allAPs;
+    private final int[][] sliceColumns;
+    private final int capacity;
+    private final int rowsPerTake;
+    private final long[] times;
+    private final int[] clients;
+    // One byte per value rather than a bitset, so that slices can mark their own values without sharing words.
+    private final boolean[] present;
+    // The row that may be written to each slot next, and the row that was last completed in each slot.
+    private final AtomicLongArray writableRow;
+    private final AtomicLongArray completedRow;
+    private final AtomicIntegerArray arrivedSlices;
+    private final AtomicLong nextRowToTake = new AtomicLong();
+
+    // Rows from this row and onwards will never be completed because a slice stopped before reaching them.
+    private volatile long rowLimit = Long.MAX_VALUE;
+    private volatile boolean stopping;
+    private volatile boolean aborted;
+
+    /**
+     * @param allAPs The APs of the assembled rows.
+     * @param slices The APs of each slice. Every AP in {@code allAPs} must be in exactly one slice.
+     * @param capacity The number of rows that the ring can hold.
+     * @param rowsPerTake The number of rows that a writer takes at a time.
+     */
+    WideRowRing(GeneratedAccessPoint[] allAPs, GeneratedAccessPoint[][] slices, int capacity, int rowsPerTake){
+        assert capacity > 0 && rowsPerTake > 0;
+        this.allAPs = allAPs;
+        this.capacity = capacity;
+        this.rowsPerTake = rowsPerTake;
+
+        // Resolve the column of each AP of the slices once, rather than for every row.
+        this.sliceColumns = new int[slices.length][];
+        for(int s = 0; s < slices.length; s++){
+            sliceColumns[s] = new int[slices[s].length];
+            for(int a = 0; a < slices[s].length; a++){
+                sliceColumns[s][a] = columnOf(slices[s][a]);
+            }
+        }
+
+        times = new long[capacity];
+        clients = new int[capacity * allAPs.length];
+        present = new boolean[capacity * allAPs.length];
+        writableRow = new AtomicLongArray(capacity);
+        completedRow = new AtomicLongArray(capacity);
+        arrivedSlices = new AtomicIntegerArray(capacity);
+        for(int slot = 0; slot < capacity; slot++){
+            writableRow.set(slot, slot);
+            completedRow.set(slot, -1);
+        }
+    }
+
+    private int columnOf(GeneratedAccessPoint AP){
+        for(int i = 0; i < allAPs.length; i++){
+            if(allAPs[i] == AP) return i;
+        }
+        throw new IllegalStateException("AP " + AP.getAPname() + " of a slice isn't one of the APs of the assembled rows.");
+    }
+
+    int getSliceCount(){
+        return sliceColumns.length;
+    }
+
+    /**
+     * Adds the columns of the given slice to the given row. Blocks while the slot of the row is still in use.
+     *
+     * @param batchRow The row of the batch to add, generated for the APs of the slice.
+     * @return False if the row was dropped because the ring is stopping, in which case later rows are dropped too.
+     */
+    boolean publish(int slice, long row, EntryBatch batch, int batchRow){
+        int slot = slotOf(row);
+        if(!awaitWritable(slot, row)) return false;
+
+        int[] columns = sliceColumns[slice];
+        assert batch.getAccessPoints().length == columns.length;
+        int offset = slot * allAPs.length;
+        for(int a = 0; a < columns.length; a++){
+            boolean hasClients = batch.hasClients(batchRow, a);
+            present[offset + columns[a]] = hasClients;
+            clients[offset + columns[a]] = hasClients ? batch.getClients(batchRow, a) : 0;
+        }
+        if(slice == 0) times[slot] = batch.getEpochNanos(batchRow);
+
+        arrive(slot, row);
+        return true;
+    }
+
+    /**
+     * Same as {@link #publish(int, long, EntryBatch, int)}, for generators that don't batch their entries.
+     */
+    boolean publish(int slice, long row, GeneratedColumnEntry entry){
+        int slot = slotOf(row);
+        if(!awaitWritable(slot, row)) return false;
+
+        int[] columns = sliceColumns[slice];
+        assert entry.getAccessPoints().length == columns.length;
+        int offset = slot * allAPs.length;
+        for(int a = 0; a < columns.length; a++){
+            boolean hasClients = entry.hasClients(a);
+            present[offset + columns[a]] = hasClients;
+            clients[offset + columns[a]] = entry.getClients(a);
+        }
+        if(slice == 0) times[slot] = entry.getEpochNanos();
+
+        arrive(slot, row);
+        return true;
+    }
+
+    private void arrive(int slot, long row){
+        // The last slice to arrive completes the row. The counter is reset before the row is released to the writers,
+        //   since the slot can't be written to again until a writer is done with it.
+        if(arrivedSlices.incrementAndGet(slot) == sliceColumns.length){
+            arrivedSlices.set(slot, 0);
+            completedRow.set(slot, row);
+        }
+    }
+
+    /**
+     * Signals that the given slice won't publish any more rows. Rows that the slice didn't publish are never
+     * completed, so writers stop once they reach them.
+     *
+     * @param publishedRows The number of rows that the slice published.
+     */
+    synchronized void finishSlice(long publishedRows){
+        if(publishedRows < rowLimit) rowLimit = publishedRows;
+    }
+
+    /**
+     * Fills the given batch with the next rows, in order, as they are completed.
+     *
+     * @return False once no more rows will be completed.
+     */
+    boolean take(EntryBatch batch){
+        assert batch.size() == 0 && batch.getAccessPoints() == allAPs;
+        long firstRow = nextRowToTake.getAndAdd(rowsPerTake);
+        for(long row = firstRow; row < firstRow + rowsPerTake; row++){
+            int slot = slotOf(row);
+            if(!awaitCompleted(slot, row)) break;
+
+            int batchRow = batch.addWideRow();
+            int offset = slot * allAPs.length;
+            for(int apId = 0; apId < allAPs.length; apId++){
+                if(present[offset + apId]) batch.setClients(batchRow, apId, clients[offset + apId]);
+            }
+            batch.setEpochNanos(batchRow, times[slot]);
+            batch.endTick();
+
+            writableRow.set(slot, row + capacity);
+        }
+        return batch.size() > 0;
+    }
+
+    /**
+     * Makes the generator-threads stop publishing rows. The writers still take the rows that are completed.
+     */
+    void stop(){
+        stopping = true;
+    }
+
+    boolean isStopping(){
+        return stopping;
+    }
+
+    /**
+     * Makes both the generator-threads and the writers stop immediately. Used when a thread fails, since the
+     * remaining threads may otherwise wait forever for a row or slot that the failed thread was responsible for.
+     */
+    void abort(){
+        aborted = true;
+        stopping = true;
+    }
+
+    private boolean awaitWritable(int slot, long row){
+        int spins = 0;
+        while(writableRow.get(slot) != row){
+            if(stopping || row >= rowLimit) return false;
+            backoff(spins++);
+        }
+        return !stopping;
+    }
+
+    private boolean awaitCompleted(int slot, long row){
+        int spins = 0;
+        while(completedRow.get(slot) != row){
+            if(aborted || row >= rowLimit) return false;
+            backoff(spins++);
+        }
+        return !aborted;
+    }
+
+    private int slotOf(long row){
+        return (int) (row % capacity);
+    }
+
+    private static void backoff(int spins){
+        // The slices are generated at roughly the same speed, so waits are usually short.
+        if(spins < 100) Thread.yield();
+        else LockSupport.parkNanos(50_000);
+    }
+}
@@ -0,0 +1,100 @@
+package Benchmark.Ingestion;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Generator.DataGenerator;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.GeneratedColumnEntry;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import Benchmark.Generator.Targets.ITarget;
+import Benchmark.Logger;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Random;
+
+/**
+ * Generates the ingest-data of a slice of the APs for the wide schema, and publishes the generated columns to
+ * a {@link WideRowRing} where they are assembled into whole rows. The assembled rows are inserted by the
+ * writer-threads of the ring, which monitor and throttle ingestion.
+ */
+public class WideSliceGenerator implements Runnable {
+    private final ConfigFile config;
+    private final GeneratedAccessPoint[] APs;
+    private final CompiledSeedEntries data;
+    private final Random rng;
+    private final LocalDate endDate;
+    private final String threadName;
+    private final SliceTarget target;
+
+    public WideSliceGenerator(ConfigFile config, GeneratedAccessPoint[] APs, CompiledSeedEntries data, Random rng,
+                              WideRowRing ring, int slice, LocalDate endDate){
+        this.config = config;
+        this.APs = APs;
+        this.data = data;
+        this.rng = rng;
+        this.endDate = endDate;
+        this.threadName = "Ingest generator " + slice;
+        this.target = new SliceTarget(ring, slice);
+    }
+
+    @Override
+    public void run() {
+        try {
+            DataGenerator.Generate(APs, data, config.getIngestStartDate(), endDate, rng, target, config);
+        } catch (IOException | SQLException e) {
+            Logger.LOG(threadName + ": Ingestion failed.");
+            throw new RuntimeException(e);
+        } finally {
+            target.finish();
+        }
+    }
+
+    /**
+     * Publishes each generated row to the ring. Counts the rows so that the n'th row of every slice ends up in the same assembled row.
+     */
+    private static class SliceTarget implements ITarget {
+        private final WideRowRing ring;
+        private final int slice;
+        private long publishedRows;
+        private boolean stopped;
+
+        SliceTarget(WideRowRing ring, int slice){
+            this.ring = ring;
+            this.slice = slice;
+        }
+
+        @Override
+        public void add(IGeneratedEntry entry) {
+            assert entry instanceof GeneratedColumnEntry : "Generated entry passed to a wide slice must be a column-entry";
+            if(stopped) return;
+            if(ring.publish(slice, publishedRows, (GeneratedColumnEntry) entry)) publishedRows++;
+            else stopped = true;
+        }
+
+        @Override
+        public void addBatch(EntryBatch batch) {
+            for(int i = 0; i < batch.size() && !stopped; i++){
+                if(ring.publish(slice, publishedRows, batch, i)) publishedRows++;
+                else stopped = true;
+            }
+        }
+
+        void finish(){
+            stopped = true;
+            ring.finishSlice(publishedRows);
+        }
+
+        @Override
+        public boolean shouldStopEarly() {
+            return stopped || ring.isStopping();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to clean-up
+        }
+    }
+}
@@ -2,6 +2,7 @@ package Benchmark.Queries;
 
 import Benchmark.*;
 import Benchmark.Config.ConfigFile;
+import Benchmark.Config.Granularity;
 import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
 import Benchmark.Generator.GeneratedData.GeneratedFloor;
 import Benchmark.Queries.Results.*;
@@ -88,6 +89,7 @@ public class QueryRunnable implements Runnable {
 
     private LocalDateTime newestValidDate;
     private LocalDateTime unmodifiedNewestValidDate;
+    private long newestValidEpochMicros;
 
     public QueryRunnable(ConfigFile config, Random rng, DateCommunication dateComm, GeneratedFloor[] generatedFloors, IQueries queryTarget, String threadName, int threadNumber){
         this.config = config;
@@ -102,6 +104,7 @@ public class QueryRunnable implements Runnable {
         this.timerQuery_MaxForAP = new PreciseTimer();
         this.timerQuery_AvgOccupancy = new PreciseTimer();
         this.timerQuery_KMeans = new PreciseTimer();
+        this.newestValidEpochMicros = dateComm.getNewestEpochMicros();
         this.newestValidDate = dateComm.getNewestTime();
         this.unmodifiedNewestValidDate = newestValidDate;
         this.saveQueryResults = config.DEBUG_saveQueryResults();
@@ -788,7 +791,12 @@ public class QueryRunnable implements Runnable {
             if(config.DEBUG_reportQueryStatus()){
                 Logger.LOG(String.format("%s DEBUG: Getting updated timestamp from direct date comm. Old value is: %s", threadName, newestValidDate));
             }
-             newestValidDate = dateComm.getNewestTime();
+            // Only create a new date-object when the time has actually moved since the last query.
+            long newestEpochMicros = dateComm.getNewestEpochMicros();
+            if(newestEpochMicros != newestValidEpochMicros){
+                newestValidEpochMicros = newestEpochMicros;
+                newestValidDate = Granularity.fromEpochNanos(newestEpochMicros * 1000);
+            }
             if(config.DEBUG_reportQueryStatus()){
                 Logger.LOG(String.format("%s DEBUG: Got updated timestamp. New value is: %s", threadName, newestValidDate));
             }
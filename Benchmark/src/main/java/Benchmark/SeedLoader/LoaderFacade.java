@@ -3,11 +3,18 @@ package Benchmark.SeedLoader;
 import Benchmark.Config.ConfigFile;
 import Benchmark.SeedLoader.Metadata.FloorMetadata;
 import Benchmark.SeedLoader.Metadata.MetadataLoader;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
 import Benchmark.SeedLoader.Seeddata.SeedEntries;
+import Benchmark.SeedLoader.Seeddata.SeedSnapshot;
 import Benchmark.SeedLoader.Seeddata.SeeddataLoader;
 import Benchmark.Logger;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -23,6 +30,16 @@ public class LoaderFacade {
         String separator = config.getGeneratorInputSeparator();
 
         try {
+            List<Path> sourceFiles = null;
+            if(config.useSeedSnapshot()){
+                sourceFiles = SourceFiles(idmapFile, floorFile, floorMapFile, ignoreFile, combinedFile, seedDataFolder);
+                SeedData snapshot = SeedSnapshot.Load(Paths.get(config.getGeneratorInputSnapshotFile()), sourceFiles, separator, config.getGeneratorInputSeedWindow());
+                if(snapshot != null){
+                    Logger.LOG("Loaded seed data from snapshot " + config.getGeneratorInputSnapshotFile());
+                    return snapshot;
+                }
+            }
+
             List<MetadataLoader.FloorData> floorData = MetadataLoader.LoadFloorFile(floorFile, separator);
             Map<String, List<String>> floorMap = MetadataLoader.LoadFloorToAccessPointFile(floorMapFile, separator);
             Set<String> ignoreData = MetadataLoader.LoadIgnoreFile(ignoreFile);
@@ -38,10 +55,47 @@ public class LoaderFacade {
             } else {
                 seedData = SeeddataLoader.LoadSeedData(separator, seedDataFolder, ignoreData, floorMetadata, idMapData);
             }
-            return new SeedData(floorMetadata, seedData);
+            SeedData loaded = new SeedData(floorMetadata, CompiledSeedEntries.Compile(seedData));
+
+            if(config.useSeedSnapshot()){
+                try {
+                    SeedSnapshot.Write(Paths.get(config.getGeneratorInputSnapshotFile()), sourceFiles, separator, loaded);
+                } catch (IOException e) {
+                    // The parsed seed data is still usable, e.g. if the snapshot is on a read-only mount.
+                    Logger.LOG("Couldn't write seed snapshot " + config.getGeneratorInputSnapshotFile() + " (" + e + ").");
+                    return loaded;
+                }
+                Logger.LOG("Wrote seed snapshot " + config.getGeneratorInputSnapshotFile());
+
+                if(config.getGeneratorInputSeedWindow() > 0){
+                    // Stream the days from the new snapshot, so that the parsed days can be garbage collected.
+                    loaded = SeedSnapshot.Load(Paths.get(config.getGeneratorInputSnapshotFile()), sourceFiles, separator, config.getGeneratorInputSeedWindow());
+                    assert loaded != null : "The written seed snapshot must be loadable.";
+                }
+            }
+            return loaded;
         } catch (IOException e) {
             Logger.LOG("IO Error during seed loading.");
             throw e;
         }
     }
+
+    /**
+     * @return All the files that the seed data is loaded from, in a fixed order.
+     */
+    private static List<Path> SourceFiles(String idmapFile, String floorFile, String floorMapFile, String ignoreFile,
+                                          String combinedFile, String seedDataFolder) throws IOException {
+        List<Path> sourceFiles = new ArrayList<>();
+        for(String file : new String[]{idmapFile, floorFile, floorMapFile, ignoreFile, combinedFile}){
+            sourceFiles.add(Paths.get(file));
+        }
+
+        File[] seedFiles = new File(seedDataFolder).listFiles();
+        if(seedFiles == null) throw new IOException("No files in directory");
+        Arrays.sort(seedFiles);
+        for(File file : seedFiles){
+            sourceFiles.add(file.toPath());
+        }
+        return sourceFiles;
+    }
 }
@@ -1,13 +1,13 @@
 package Benchmark.SeedLoader;
 
 import Benchmark.SeedLoader.Metadata.FloorMetadata;
-import Benchmark.SeedLoader.Seeddata.SeedEntries;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
 
 public class SeedData {
     public final FloorMetadata[] floorMetadata;
-    public final SeedEntries seedEntries;
+    public final CompiledSeedEntries seedEntries;
 
-    public SeedData(FloorMetadata[] floorMetadata, SeedEntries seedEntries){
+    public SeedData(FloorMetadata[] floorMetadata, CompiledSeedEntries seedEntries){
         this.floorMetadata = floorMetadata;
         this.seedEntries = seedEntries;
     }
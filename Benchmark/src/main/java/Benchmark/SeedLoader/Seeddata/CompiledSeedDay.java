@@ -0,0 +1,160 @@
+package Benchmark.SeedLoader.Seeddata;
+
+/**
+ * Dense, primitive representation of all the seed entries for a single day.
+ *
+ * Probabilities are stored in a flat array indexed by {@code tick * accessPoints + ordinal}, where the ordinal is the
+ * index of the seed access point in {@link CompiledSeedEntries#getAccessPointNames()}. Since the source data may have
+ * holes for specific access points, a parallel presence-bitset tracks which of these values actually exist.
+ *
+ * The day also keeps the order in which the probabilities of each tick were read from the per-{@link Entry} maps, so
+ * that {@link #normalize(int[])} sums them up in the same order as when it iterated the maps. Floating-point sums
+ * depend on their order, so this keeps the normalized probabilities, and thereby the generated data, identical.
+ */
+public class CompiledSeedDay implements ISeedDay {
+    private final int ticks;
+    private final int accessPoints;
+    private final int[] totals;
+    private final boolean[] hasData;
+    private final double[] probabilities;
+    private final long[] present;
+    // The indices of the present probabilities, tick by tick, in the order that they were set.
+    private final int[] sumOrder;
+    private int setProbabilities;
+
+    /**
+     * @param probabilities The number of probabilities that will be set on the day.
+     */
+    public CompiledSeedDay(int ticks, int accessPoints, int probabilities){
+        this.ticks = ticks;
+        this.accessPoints = accessPoints;
+        this.totals = new int[ticks];
+        this.hasData = new boolean[ticks];
+        this.probabilities = new double[ticks * accessPoints];
+        this.present = new long[PresenceLongs(ticks, accessPoints)];
+        this.sumOrder = new int[probabilities];
+    }
+
+    CompiledSeedDay(int ticks, int accessPoints, int[] totals, boolean[] hasData, long[] present, int[] sumOrder, double[] probabilities){
+        assert totals.length == ticks && hasData.length == ticks;
+        assert present.length == PresenceLongs(ticks, accessPoints) && probabilities.length == ticks * accessPoints;
+        this.ticks = ticks;
+        this.accessPoints = accessPoints;
+        this.totals = totals;
+        this.hasData = hasData;
+        this.present = present;
+        this.sumOrder = sumOrder;
+        this.setProbabilities = sumOrder.length;
+        this.probabilities = probabilities;
+    }
+
+    static int PresenceLongs(int ticks, int accessPoints){
+        return (ticks * accessPoints + 63) >>> 6;
+    }
+
+    @Override
+    public int getTicks(){
+        return ticks;
+    }
+
+    @Override
+    public int getTotal(int tick){
+        return totals[tick];
+    }
+
+    /**
+     * Mirrors {@link Entry#hasData()}. A tick without data still exists, it just doesn't have probabilities for any APs.
+     */
+    @Override
+    public boolean hasData(int tick){
+        return hasData[tick];
+    }
+
+    /**
+     * Whether the tick has a probability for the access point with the given ordinal. Negative ordinals
+     * (access points that don't exist in the seed data) never have a probability.
+     */
+    @Override
+    public boolean hasProbability(int tick, int ordinal){
+        if(ordinal < 0) return false;
+        int index = tick * accessPoints + ordinal;
+        return (present[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public double getProbability(int tick, int ordinal){
+        assert hasProbability(tick, ordinal);
+        return probabilities[tick * accessPoints + ordinal];
+    }
+
+    void setTick(int tick, int total, boolean tickHasData){
+        totals[tick] = total;
+        hasData[tick] = tickHasData;
+    }
+
+    /**
+     * Must be called tick by tick, and at most once for each access point of a tick.
+     */
+    void setProbability(int tick, int ordinal, double probability){
+        int index = tick * accessPoints + ordinal;
+        assert !hasProbability(tick, ordinal) && (setProbabilities == 0 || sumOrder[setProbabilities - 1] / accessPoints <= tick);
+        probabilities[index] = probability;
+        present[index >>> 6] |= 1L << index;
+        sumOrder[setProbabilities++] = index;
+    }
+
+    /**
+     * Scales the probabilities of every tick with data, so that the probabilities of the given access points sum up to
+     * 1 when each of them is counted the given number of times. Probabilities of access points with a count of 0 are
+     * left as is.
+     *
+     * @param counts The number of times each access point is counted, indexed by ordinal.
+     */
+    void normalize(int[] counts){
+        assert counts.length == accessPoints && setProbabilities == sumOrder.length;
+        int next = 0;
+        for(int tick = 0; tick < ticks; tick++){
+            int tickStart = tick * accessPoints;
+            int tickEnd = tickStart + accessPoints;
+            if(!hasData[tick]){
+                while(next < sumOrder.length && sumOrder[next] < tickEnd) next++;
+                continue;
+            }
+
+            double totalAssignedProbability = 0.0;
+            for(; next < sumOrder.length && sumOrder[next] < tickEnd; next++){
+                int ordinal = sumOrder[next] - tickStart;
+                if(counts[ordinal] > 0){
+                    totalAssignedProbability += probabilities[sumOrder[next]] * counts[ordinal];
+                }
+            }
+
+            for(int ordinal = 0; ordinal < accessPoints; ordinal++){
+                if(counts[ordinal] > 0 && hasProbability(tick, ordinal)){
+                    int index = tick * accessPoints + ordinal;
+                    probabilities[index] /= totalAssignedProbability;
+                }
+            }
+        }
+    }
+
+    int[] getTotals(){
+        return totals;
+    }
+
+    boolean[] getHasData(){
+        return hasData;
+    }
+
+    long[] getPresent(){
+        return present;
+    }
+
+    int[] getSumOrder(){
+        return sumOrder;
+    }
+
+    double[] getProbabilities(){
+        return probabilities;
+    }
+}
@@ -0,0 +1,195 @@
+package Benchmark.SeedLoader.Seeddata;
+
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Dense, primitive representation of the loaded seed entries, used during data generation.
+ *
+ * Every access point in the seed data is assigned an ordinal, and the probabilities of each day are stored in a
+ * {@link CompiledSeedDay}. This avoids the hashing and boxing that is needed to look up probabilities in the
+ * per-{@link Entry} maps, which matters since the generator performs such a lookup for every AP at every tick.
+ *
+ * The days are either all resident, or streamed through a {@link SeedDayWindow} that only keeps some of them in memory.
+ */
+public class CompiledSeedEntries {
+    private final String[] accessPointNames;
+    private final Map<String, Integer> ordinals;
+    private final LocalDate[] sortedDates;
+    private final CompiledSeedDay[] days;
+    private final SeedDayWindow window;
+    private final Map<String, InterpolatedSeedDay[]> interpolatedDays = new HashMap<>();
+
+    CompiledSeedEntries(String[] accessPointNames, LocalDate[] sortedDates, CompiledSeedDay[] days){
+        this(accessPointNames, sortedDates, days, null);
+    }
+
+    CompiledSeedEntries(String[] accessPointNames, LocalDate[] sortedDates, SeedDayWindow window){
+        this(accessPointNames, sortedDates, null, window);
+    }
+
+    private CompiledSeedEntries(String[] accessPointNames, LocalDate[] sortedDates, CompiledSeedDay[] days, SeedDayWindow window){
+        assert (days == null) != (window == null);
+        this.accessPointNames = accessPointNames;
+        this.ordinals = new HashMap<>();
+        for(int i = 0; i < accessPointNames.length; i++){
+            ordinals.put(accessPointNames[i], i);
+        }
+        this.sortedDates = sortedDates;
+        this.days = days;
+        this.window = window;
+    }
+
+    /**
+     * Compiles the given seed entries into their dense representation.
+     *
+     * @NOTE: The compiled representation is a snapshot. Any changes made to the probabilities of the entries afterwards
+     *        will not be reflected in the compiled data.
+     */
+    public static CompiledSeedEntries Compile(SeedEntries seedEntries){
+        LocalDate[] sortedDates = seedEntries.loadedEntries.keySet().toArray(new LocalDate[0]);
+        Arrays.sort(sortedDates);
+
+        // Sort the names so that the ordinals are independent of the iteration order of the entry-maps.
+        SortedSet<String> names = new TreeSet<>();
+        for(Entry[] entries : seedEntries.loadedEntries.values()){
+            for(Entry entry : entries){
+                if(entry.hasData()) names.addAll(entry.getProbabilities().keySet());
+            }
+        }
+        String[] accessPointNames = names.toArray(new String[0]);
+        Map<String, Integer> ordinals = new HashMap<>();
+        for(int i = 0; i < accessPointNames.length; i++){
+            ordinals.put(accessPointNames[i], i);
+        }
+
+        CompiledSeedDay[] days = new CompiledSeedDay[sortedDates.length];
+        for(int k = 0; k < sortedDates.length; k++){
+            Entry[] entries = seedEntries.loadedEntries.get(sortedDates[k]);
+            int probabilities = 0;
+            for(Entry entry : entries){
+                if(entry.hasData()) probabilities += entry.getProbabilities().size();
+            }
+            CompiledSeedDay day = new CompiledSeedDay(entries.length, accessPointNames.length, probabilities);
+            for(int tick = 0; tick < entries.length; tick++){
+                Entry entry = entries[tick];
+                day.setTick(tick, entry.getTotal(), entry.hasData());
+                if(!entry.hasData()) continue;
+                // Set in the iteration order of the map, which the day sums the probabilities in when normalizing.
+                for(Map.Entry<String, Double> probability : entry.getProbabilities().entrySet()){
+                    day.setProbability(tick, ordinals.get(probability.getKey()), probability.getValue());
+                }
+            }
+            days[k] = day;
+        }
+
+        return new CompiledSeedEntries(accessPointNames, sortedDates, days);
+    }
+
+    /**
+     * Normalizes the probabilities of every tick so that they sum up to 1 (100%) over the given APs. Seed APs that are
+     * assigned to multiple generated APs are counted once per assignment, and seed APs that aren't assigned to any
+     * generated APs are left out of the sum.
+     *
+     * Must be called before {@link #getInterpolatedDays(int, int)}, since the interpolated days read the probabilities.
+     */
+    public synchronized void normalize(GeneratedAccessPoint[] APs){
+        assert interpolatedDays.isEmpty() : "Probabilities must be normalized before they are interpolated.";
+        int[] counts = new int[accessPointNames.length];
+        for(int ordinal : resolveOrdinals(APs)){
+            if(ordinal >= 0) counts[ordinal]++;
+        }
+        if(window != null){
+            // Streamed days are normalized as they are loaded.
+            window.setNormalization(counts);
+            return;
+        }
+        for(CompiledSeedDay day : days){
+            day.normalize(counts);
+        }
+    }
+
+    public String[] getAccessPointNames(){
+        return accessPointNames;
+    }
+
+    public int getNumberOfAccessPoints(){
+        return accessPointNames.length;
+    }
+
+    public int getNumberOfDays(){
+        return sortedDates.length;
+    }
+
+    public LocalDate getDate(int dayIndex){
+        return sortedDates[dayIndex];
+    }
+
+    /**
+     * When the days are streamed, this blocks until the day is loaded. Callers shouldn't hold on to the day for
+     * longer than they need it, so that it can be garbage collected once it is evicted.
+     */
+    public CompiledSeedDay getDay(int dayIndex){
+        return window == null ? days[dayIndex] : window.getDay(dayIndex);
+    }
+
+    public boolean isStreamed(){
+        return window != null;
+    }
+
+    /**
+     * Returns the ticks to interpolate between the seed ticks of each day, when generating data at the given sample
+     * rate. The interpolation is computed on the first call for a given pair of sample rates, and the result is shared
+     * between all callers.
+     *
+     * @return The interpolated ticks of each day, indexed in the same way as {@link #getDay(int)}.
+     */
+    public synchronized InterpolatedSeedDay[] getInterpolatedDays(int generatorSampleRate, int seedSampleRate){
+        assert generatorSampleRate < seedSampleRate && seedSampleRate % generatorSampleRate == 0;
+        if(window != null) throw new IllegalStateException("The interpolated ticks of all days can't be computed at once when the seed days are streamed.");
+        String key = generatorSampleRate + "/" + seedSampleRate;
+        InterpolatedSeedDay[] interpolated = interpolatedDays.get(key);
+        if(interpolated == null){
+            int ticksPerSeedTick = (seedSampleRate / generatorSampleRate) - 1;
+            interpolated = new InterpolatedSeedDay[days.length];
+            for(int k = 0; k < days.length; k++){
+                // The last day has no following day to interpolate its last tick against.
+                CompiledSeedDay nextDay = k + 1 < days.length ? days[k + 1] : null;
+                interpolated[k] = new InterpolatedSeedDay(days[k], nextDay, accessPointNames.length, ticksPerSeedTick);
+            }
+            interpolatedDays.put(key, interpolated);
+        }
+        return interpolated;
+    }
+
+    /**
+     * Same as {@link #getInterpolatedDays(int, int)}, but for a single day. When the days are streamed, the
+     * interpolated ticks are only computed for the days in the window.
+     */
+    public InterpolatedSeedDay getInterpolatedDay(int generatorSampleRate, int seedSampleRate, int dayIndex){
+        if(window == null) return getInterpolatedDays(generatorSampleRate, seedSampleRate)[dayIndex];
+        assert generatorSampleRate < seedSampleRate && seedSampleRate % generatorSampleRate == 0;
+        return window.getInterpolatedDay((seedSampleRate / generatorSampleRate) - 1, dayIndex);
+    }
+
+    /**
+     * @return The ordinal of the seed access point with the given name, or -1 if the seed data doesn't contain the AP.
+     */
+    public int getOrdinal(String accessPointName){
+        Integer ordinal = ordinals.get(accessPointName);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Resolves the seed ordinal of each of the given generated APs, so that lookups during generation can be done by index.
+     */
+    public int[] resolveOrdinals(GeneratedAccessPoint[] APs){
+        int[] resolved = new int[APs.length];
+        for(int i = 0; i < APs.length; i++){
+            resolved[i] = getOrdinal(APs[i].getOriginalName());
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,24 @@
+package Benchmark.SeedLoader.Seeddata;
+
+/**
+ * Read-only view of the seed data of a single day, as consumed by the generator. Ticks are indexed from 0 and
+ * access points are identified by their ordinal in {@link CompiledSeedEntries#getAccessPointNames()}.
+ */
+public interface ISeedDay {
+    int getTicks();
+
+    int getTotal(int tick);
+
+    /**
+     * A tick without data still exists, it just doesn't have probabilities for any APs.
+     */
+    boolean hasData(int tick);
+
+    /**
+     * Whether the tick has a probability for the access point with the given ordinal. Negative ordinals
+     * (access points that don't exist in the seed data) never have a probability.
+     */
+    boolean hasProbability(int tick, int ordinal);
+
+    double getProbability(int tick, int ordinal);
+}
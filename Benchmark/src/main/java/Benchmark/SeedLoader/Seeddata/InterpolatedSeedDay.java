@@ -0,0 +1,130 @@
+package Benchmark.SeedLoader.Seeddata;
+
+/**
+ * The ticks that are interpolated between the ticks of a {@link CompiledSeedDay}, when generating data at a faster
+ * sample rate than the seed data.
+ *
+ * Interpolated tick {@code j} after seed tick {@code i} has the index {@code i * getTicksPerSeedTick() + j}.
+ * Which access points can be interpolated and the interpolated totals are computed up front. The probabilities
+ * themselves are blended from the two surrounding seed ticks when read, since storing them would take
+ * {@link #getTicksPerSeedTick()} times the memory of the seed data.
+ *
+ * Instances are immutable, and are shared between all generator- and ingest-threads.
+ */
+public class InterpolatedSeedDay implements ISeedDay {
+    private final CompiledSeedDay day;
+    private final CompiledSeedDay nextDay;
+    private final int accessPoints;
+    private final int ticksPerSeedTick;
+    private final double[] blends;
+    private final boolean[] interpolated;
+    private final boolean[] hasData;
+    private final int[] totals;
+    private final long[] present;
+
+    /**
+     * @param day The seed day to interpolate between the ticks of.
+     * @param nextDay The seed day following {@code day}, used to interpolate after its last tick. Null if there is
+     *                no following day, in which case the ticks after the last tick become a hole.
+     * @param accessPoints The number of seed access points.
+     * @param ticksPerSeedTick The number of ticks to interpolate after each seed tick.
+     */
+    InterpolatedSeedDay(CompiledSeedDay day, CompiledSeedDay nextDay, int accessPoints, int ticksPerSeedTick){
+        assert ticksPerSeedTick > 0;
+        this.day = day;
+        this.nextDay = nextDay;
+        this.accessPoints = accessPoints;
+        this.ticksPerSeedTick = ticksPerSeedTick;
+
+        int seedTicks = day.getTicks();
+        this.blends = new double[ticksPerSeedTick];
+        this.interpolated = new boolean[seedTicks];
+        this.hasData = new boolean[seedTicks];
+        this.totals = new int[seedTicks * ticksPerSeedTick];
+        this.present = new long[(seedTicks * accessPoints + 63) >>> 6];
+
+        double blendPerNum = 1.0 / (ticksPerSeedTick + 1);
+        for(int j = 0; j < ticksPerSeedTick; j++){
+            blends[j] = blendPerNum * (j + 1);
+        }
+
+        for(int i = 0; i < seedTicks; i++){
+            CompiledSeedDay lastDay = lastDay(i);
+            int lastTick = lastTick(i);
+            // One entry has a hole (or there is no data left to interpolate against), so dont interpolate, instead just widen the hole.
+            if(lastDay == null || !day.hasData(i) || !lastDay.hasData(lastTick)) continue;
+            interpolated[i] = true;
+
+            // Access points that are missing in either tick are left as holes.
+            for(int ordinal = 0; ordinal < accessPoints; ordinal++){
+                if(day.hasProbability(i, ordinal) && lastDay.hasProbability(lastTick, ordinal)){
+                    int index = i * accessPoints + ordinal;
+                    present[index >>> 6] |= 1L << index;
+                    hasData[i] = true;
+                }
+            }
+
+            for(int j = 0; j < ticksPerSeedTick; j++){
+                totals[i * ticksPerSeedTick + j] = (int)Math.ceil(LinearInterpolate(day.getTotal(i), lastDay.getTotal(lastTick), blends[j]));
+            }
+        }
+    }
+
+    private CompiledSeedDay lastDay(int seedTick){
+        return seedTick + 1 < day.getTicks() ? day : nextDay;
+    }
+
+    private int lastTick(int seedTick){
+        return seedTick + 1 < day.getTicks() ? seedTick + 1 : 0;
+    }
+
+    public int getTicksPerSeedTick(){
+        return ticksPerSeedTick;
+    }
+
+    /**
+     * @return Whether ticks were interpolated after the given seed tick. If not, the ticks are a hole in the data
+     *         and nothing should be generated for them.
+     */
+    public boolean isInterpolated(int seedTick){
+        return interpolated[seedTick];
+    }
+
+    @Override
+    public int getTicks(){
+        return totals.length;
+    }
+
+    @Override
+    public int getTotal(int tick){
+        return totals[tick];
+    }
+
+    /**
+     * Whether at least one access point could be interpolated for the tick.
+     */
+    @Override
+    public boolean hasData(int tick){
+        return hasData[tick / ticksPerSeedTick];
+    }
+
+    @Override
+    public boolean hasProbability(int tick, int ordinal){
+        if(ordinal < 0) return false;
+        int index = (tick / ticksPerSeedTick) * accessPoints + ordinal;
+        return (present[index >>> 6] & (1L << index)) != 0;
+    }
+
+    @Override
+    public double getProbability(int tick, int ordinal){
+        assert hasProbability(tick, ordinal);
+        int seedTick = tick / ticksPerSeedTick;
+        double first = day.getProbability(seedTick, ordinal);
+        double last = lastDay(seedTick).getProbability(lastTick(seedTick), ordinal);
+        return LinearInterpolate(first, last, blends[tick - seedTick * ticksPerSeedTick]);
+    }
+
+    private static double LinearInterpolate(double v1, double v2, double blend){
+        return ((1 - blend) * v1 + blend * v2);
+    }
+}
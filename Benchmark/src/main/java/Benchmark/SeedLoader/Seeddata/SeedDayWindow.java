@@ -0,0 +1,137 @@
+package Benchmark.SeedLoader.Seeddata;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps a bounded window of seed days in memory, for seed data that is too large to keep resident as a whole.
+ *
+ * Whenever a day is requested, the days following it are loaded on a background thread, since the generator walks
+ * the days in order. Once the window is full, the least recently used days are evicted. These are the days that
+ * the generator has passed. Days that are evicted while a generator-thread is still using them stay alive until
+ * that thread is done with them.
+ */
+class SeedDayWindow {
+    /**
+     * Loads a single seed day from its backing storage.
+     */
+    interface DayLoader {
+        CompiledSeedDay load(int dayIndex) throws IOException;
+    }
+
+    private final DayLoader loader;
+    private final int numDays;
+    private final int accessPoints;
+    private final int prefetchDays;
+    private final ExecutorService prefetcher;
+    private final Map<Integer, CompletableFuture<CompiledSeedDay>> days;
+    private final Map<String, InterpolatedSeedDay> interpolatedDays;
+    private int[] normalizationCounts;
+
+    /**
+     * @param windowDays The maximum number of days to keep in memory. Half of the window is used to prefetch days.
+     */
+    SeedDayWindow(DayLoader loader, int numDays, int accessPoints, int windowDays){
+        assert windowDays >= 2;
+        this.loader = loader;
+        this.numDays = numDays;
+        this.accessPoints = accessPoints;
+        this.prefetchDays = Math.min(windowDays / 2, numDays - 1);
+        this.prefetcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Seed prefetch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.days = new LinkedHashMap<Integer, CompletableFuture<CompiledSeedDay>>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CompletableFuture<CompiledSeedDay>> eldest) {
+                return size() > windowDays;
+            }
+        };
+        this.interpolatedDays = new LinkedHashMap<String, InterpolatedSeedDay>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, InterpolatedSeedDay> eldest) {
+                return size() > windowDays;
+            }
+        };
+    }
+
+    /**
+     * Makes every day that is loaded from now on be normalized with the given counts.
+     * See {@link CompiledSeedDay#normalize(int[])}. Days that are already loaded are dropped.
+     */
+    synchronized void setNormalization(int[] counts){
+        normalizationCounts = counts;
+        days.clear();
+        interpolatedDays.clear();
+    }
+
+    /**
+     * @return The day with the given index. Blocks until the day is loaded.
+     */
+    CompiledSeedDay getDay(int dayIndex){
+        CompletableFuture<CompiledSeedDay> day;
+        synchronized (this){
+            day = days.get(dayIndex);
+            if(day == null) day = schedule(dayIndex);
+
+            for(int i = 1; i <= prefetchDays; i++){
+                int next = (dayIndex + i) % numDays;
+                // containsKey doesn't count as an access, so prefetching doesn't keep days in the window.
+                if(!days.containsKey(next)) schedule(next);
+            }
+        }
+
+        try {
+            return day.join();
+        } catch (CompletionException e) {
+            synchronized (this){
+                days.remove(dayIndex, day);
+            }
+            if(e.getCause() instanceof UncheckedIOException) throw (UncheckedIOException) e.getCause();
+            throw new IllegalStateException("Failed to load seed day " + dayIndex, e.getCause());
+        }
+    }
+
+    /**
+     * @return The ticks to interpolate between the seed ticks of the day with the given index.
+     *         See {@link CompiledSeedEntries#getInterpolatedDays(int, int)}.
+     */
+    InterpolatedSeedDay getInterpolatedDay(int ticksPerSeedTick, int dayIndex){
+        String key = ticksPerSeedTick + "/" + dayIndex;
+        synchronized (this){
+            InterpolatedSeedDay interpolated = interpolatedDays.get(key);
+            if(interpolated != null) return interpolated;
+        }
+
+        // The last day has no following day to interpolate its last tick against.
+        CompiledSeedDay day = getDay(dayIndex);
+        CompiledSeedDay nextDay = dayIndex + 1 < numDays ? getDay(dayIndex + 1) : null;
+        InterpolatedSeedDay interpolated = new InterpolatedSeedDay(day, nextDay, accessPoints, ticksPerSeedTick);
+        synchronized (this){
+            interpolatedDays.put(key, interpolated);
+        }
+        return interpolated;
+    }
+
+    private CompletableFuture<CompiledSeedDay> schedule(int dayIndex){
+        int[] counts = normalizationCounts;
+        CompletableFuture<CompiledSeedDay> day = CompletableFuture.supplyAsync(() -> {
+            try {
+                CompiledSeedDay loaded = loader.load(dayIndex);
+                if(counts != null) loaded.normalize(counts);
+                return loaded;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, prefetcher);
+        days.put(dayIndex, day);
+        return day;
+    }
+}
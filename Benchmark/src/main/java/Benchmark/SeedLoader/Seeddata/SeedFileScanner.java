@@ -0,0 +1,163 @@
+package Benchmark.SeedLoader.Seeddata;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Scans the lines of a seed file held in memory. Each line is split into a key and a value at the first occurrence of
+ * the separator, without allocating anything besides the strings that are actually needed.
+ *
+ * Lines are terminated by '\n', '\r' or "\r\n", matching {@link java.io.BufferedReader#readLine()}.
+ */
+class SeedFileScanner {
+    private static final byte[] TIME = "Time".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TOTAL_CLIENTS = "Total clients".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NO_DATA = "NO DATA".getBytes(StandardCharsets.UTF_8);
+
+    private final byte[] bytes;
+    private final byte[] separator;
+    private int position;
+
+    private int lineStart;
+    private int keyEnd;
+    private int valueStart;
+    private int lineEnd;
+
+    SeedFileScanner(byte[] bytes, String separator){
+        assert !separator.isEmpty() : "Seed file separator must not be empty.";
+        this.bytes = bytes;
+        this.separator = separator.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Advances to the next line.
+     *
+     * @return False if there are no more lines.
+     */
+    boolean nextLine(){
+        if(position >= bytes.length) return false;
+
+        lineStart = position;
+        int end = position;
+        while(end < bytes.length && bytes[end] != '\n' && bytes[end] != '\r') end++;
+        lineEnd = end;
+        if(end < bytes.length && bytes[end] == '\r') end++;
+        if(end < bytes.length && bytes[end] == '\n' && (end == lineEnd || bytes[end - 1] == '\r')) end++;
+        position = end;
+
+        int sep = indexOfSeparator(lineStart, lineEnd);
+        if(sep < 0){
+            keyEnd = lineEnd;
+            valueStart = lineEnd;
+        } else {
+            keyEnd = sep;
+            valueStart = sep + separator.length;
+            assert indexOfSeparator(valueStart, lineEnd) < 0 : "Too much data on line: " + line();
+        }
+        return true;
+    }
+
+    private int indexOfSeparator(int from, int to){
+        outer:
+        for(int i = from; i <= to - separator.length; i++){
+            for(int j = 0; j < separator.length; j++){
+                if(bytes[i + j] != separator[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    boolean isTime(){
+        return keyEquals(TIME);
+    }
+
+    boolean isTotalClients(){
+        return keyEquals(TOTAL_CLIENTS);
+    }
+
+    boolean isNoData(){
+        return keyEquals(NO_DATA);
+    }
+
+    private boolean keyEquals(byte[] key){
+        if(keyEnd - lineStart != key.length) return false;
+        for(int i = 0; i < key.length; i++){
+            if(bytes[lineStart + i] != key[i]) return false;
+        }
+        return true;
+    }
+
+    String key(){
+        return new String(bytes, lineStart, keyEnd - lineStart, StandardCharsets.UTF_8);
+    }
+
+    String value(){
+        return new String(bytes, valueStart, lineEnd - valueStart, StandardCharsets.UTF_8);
+    }
+
+    String line(){
+        return new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses the value of the line as an integer. Accepts the same input as {@link Integer#parseInt(String)}.
+     */
+    int intValue(){
+        int i = valueStart;
+        boolean negative = false;
+        if(i < lineEnd && (bytes[i] == '-' || bytes[i] == '+')){
+            negative = bytes[i] == '-';
+            i++;
+        }
+        // Leave overflow and malformed values to parseInt so that they fail in the same way.
+        if(i == lineEnd || lineEnd - i > 9) return Integer.parseInt(value());
+
+        int result = 0;
+        for(; i < lineEnd; i++){
+            int digit = bytes[i] - '0';
+            if(digit < 0 || digit > 9) return Integer.parseInt(value());
+            result = result * 10 + digit;
+        }
+        return negative ? -result : result;
+    }
+
+    /**
+     * Parses the value of the line as a date-time of the form 'yyyy-MM-ddTHH:mm' or 'yyyy-MM-ddTHH:mm:ss', optionally
+     * followed by 'Z'. Other formats are passed to {@link LocalDateTime#parse(CharSequence)} after any 'Z' is removed.
+     */
+    LocalDateTime dateTimeValue(){
+        int length = lineEnd - valueStart;
+        if(length > 0 && bytes[lineEnd - 1] == 'Z') length--;
+
+        int s = valueStart;
+        if((length == 16 || length == 19) &&
+                bytes[s + 4] == '-' && bytes[s + 7] == '-' && bytes[s + 10] == 'T' && bytes[s + 13] == ':' &&
+                (length == 16 || bytes[s + 16] == ':')){
+            int year = digits(s, 4);
+            int month = digits(s + 5, 2);
+            int day = digits(s + 8, 2);
+            int hour = digits(s + 11, 2);
+            int minute = digits(s + 14, 2);
+            int second = length == 19 ? digits(s + 17, 2) : 0;
+            if(year >= 0 && month >= 0 && day >= 0 && hour >= 0 && minute >= 0 && second >= 0){
+                return LocalDateTime.of(year, month, day, hour, minute, second);
+            }
+        }
+
+        return LocalDateTime.parse(value().replace("Z", ""));
+    }
+
+    /**
+     * @return The value of the given number of decimal digits, or -1 if any of them aren't digits.
+     */
+    private int digits(int from, int count){
+        int result = 0;
+        for(int i = from; i < from + count; i++){
+            int digit = bytes[i] - '0';
+            if(digit < 0 || digit > 9) return -1;
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
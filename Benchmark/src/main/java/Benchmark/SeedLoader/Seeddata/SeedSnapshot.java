@@ -0,0 +1,351 @@
+package Benchmark.SeedLoader.Seeddata;
+
+import Benchmark.Logger;
+import Benchmark.SeedLoader.Metadata.FloorMetadata;
+import Benchmark.SeedLoader.SeedData;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * A versioned binary snapshot of the fully loaded seed data: the floor metadata and the compiled seed days, with the
+ * ignored and combined APs already applied. Loading a snapshot reads the probabilities of each day directly into
+ * their dense representation instead of parsing the seed files. The snapshot is only read, so it may be read-only.
+ *
+ * The snapshot stores a fingerprint of the input-files (paths, sizes and modification times) and a SHA-256 hash of
+ * their contents. A snapshot is reused when the fingerprint matches, or otherwise when the content hash still matches.
+ *
+ * File format (little-endian):
+ *   Header: long magic, int version, int metadata bytes, 32 bytes fingerprint, 32 bytes content hash.
+ *   Metadata: floors (key, auto-scaling flag, APs, combined APs), seed AP names and the number of days.
+ *   Per day: long epoch-day, int ticks, int number of set probabilities, int[ticks] totals, byte[ticks] has-data,
+ *            padding to 8 bytes, long[] presence-bitset, int[] summation-order padded to 8 bytes and
+ *            double[ticks * APs] probabilities.
+ *   Strings are stored as an int length followed by the UTF-8 bytes. Sections are padded to 8 bytes.
+ */
+public class SeedSnapshot {
+    private static final long MAGIC = 0x314445455343434FL; // "OCCSEED1" in little-endian.
+    private static final int VERSION = 2;
+    private static final int HASH_BYTES = 32;
+    private static final int HEADER_BYTES = 8 + 4 + 4 + HASH_BYTES + HASH_BYTES;
+    private static final int DAY_HEADER_BYTES = 8 + 4 + 4;
+
+    /**
+     * Loads the given snapshot if it exists and was created from the given input-files.
+     *
+     * @param sourceFiles The input-files of the seed data, in a fixed order.
+     * @param windowDays If positive, the days are streamed from the snapshot through a {@link SeedDayWindow} of this
+     *                   many days, instead of all being loaded up front. The snapshot is then kept open.
+     * @return The loaded seed data, or null if the snapshot is missing, unreadable or stale.
+     */
+    public static SeedData Load(Path snapshot, List<Path> sourceFiles, String separator, int windowDays) throws IOException {
+        if(!Files.isRegularFile(snapshot)) return null;
+
+        boolean streamed = windowDays > 0;
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(snapshot, StandardOpenOption.READ);
+        } catch (IOException e) {
+            Logger.LOG("Seed snapshot " + snapshot + " can't be opened (" + e + "). Ignoring it.");
+            return null;
+        }
+        boolean keepOpen = false;
+        try {
+            if(channel.size() < HEADER_BYTES){
+                Logger.LOG("Seed snapshot " + snapshot + " is truncated. Ignoring it.");
+                return null;
+            }
+            ByteBuffer header = read(channel, 0, HEADER_BYTES);
+            if(header.getLong() != MAGIC){
+                Logger.LOG("Seed snapshot " + snapshot + " is not a seed snapshot. Ignoring it.");
+                return null;
+            }
+            int version = header.getInt();
+            if(version != VERSION){
+                Logger.LOG("Seed snapshot " + snapshot + " has version " + version + " but version " + VERSION + " is required. Ignoring it.");
+                return null;
+            }
+            int metadataBytes = header.getInt();
+            byte[] fingerprint = new byte[HASH_BYTES];
+            byte[] contentHash = new byte[HASH_BYTES];
+            header.get(fingerprint);
+            header.get(contentHash);
+
+            if(!Arrays.equals(fingerprint, Fingerprint(sourceFiles, separator))){
+                if(!Arrays.equals(contentHash, ContentHash(sourceFiles, separator))){
+                    Logger.LOG("Seed snapshot " + snapshot + " is stale since the seed files have changed.");
+                    return null;
+                }
+                Logger.LOG("Seed files have been touched since seed snapshot " + snapshot + " was created, but their content is unchanged.");
+            }
+
+            ByteBuffer metadata = read(channel, HEADER_BYTES, metadataBytes);
+            FloorMetadata[] floors = new FloorMetadata[metadata.getInt()];
+            for(int i = 0; i < floors.length; i++){
+                String floorKey = getString(metadata);
+                boolean eligibleForAutoScaling = metadata.get() != 0;
+                List<String> accessPoints = new ArrayList<>();
+                int numAccessPoints = metadata.getInt();
+                for(int j = 0; j < numAccessPoints; j++){
+                    accessPoints.add(getString(metadata));
+                }
+                floors[i] = new FloorMetadata(floorKey, eligibleForAutoScaling, accessPoints);
+                int numCombined = metadata.getInt();
+                for(int j = 0; j < numCombined; j++){
+                    floors[i].combinedAccessPoints.put(getString(metadata), getString(metadata));
+                }
+            }
+            String[] accessPointNames = new String[metadata.getInt()];
+            for(int i = 0; i < accessPointNames.length; i++){
+                accessPointNames[i] = getString(metadata);
+            }
+            int numDays = metadata.getInt();
+
+            LocalDate[] dates = new LocalDate[numDays];
+            int[] ticks = new int[numDays];
+            int[] setProbabilities = new int[numDays];
+            long[] offsets = new long[numDays];
+            long offset = HEADER_BYTES + metadataBytes;
+            for(int k = 0; k < numDays; k++){
+                ByteBuffer dayHeader = read(channel, offset, DAY_HEADER_BYTES);
+                dates[k] = LocalDate.ofEpochDay(dayHeader.getLong());
+                ticks[k] = dayHeader.getInt();
+                setProbabilities[k] = dayHeader.getInt();
+                offsets[k] = offset + DAY_HEADER_BYTES;
+                offset = offsets[k] + DayBytes(ticks[k], accessPointNames.length, setProbabilities[k]);
+                if(offset > channel.size()) throw new IOException("Seed snapshot " + snapshot + " is truncated.");
+            }
+
+            int accessPoints = accessPointNames.length;
+            if(streamed){
+                // Streamed days are read into the heap, since they are evicted again once the generator has passed them.
+                SeedDayWindow window = new SeedDayWindow(dayIndex -> ReadDay(read(channel, offsets[dayIndex], (int) DayBytes(ticks[dayIndex], accessPoints, setProbabilities[dayIndex])),
+                                ticks[dayIndex], accessPoints, setProbabilities[dayIndex]),
+                        numDays, accessPoints, windowDays);
+                keepOpen = true;
+                return new SeedData(floors, new CompiledSeedEntries(accessPointNames, dates, window));
+            }
+
+            CompiledSeedDay[] days = new CompiledSeedDay[numDays];
+            for(int k = 0; k < numDays; k++){
+                // Mapped read-only and copied into the heap by ReadDay, since the probabilities are normalized in-place
+                //   after the floors are generated, and the snapshot may not be writable.
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offsets[k], DayBytes(ticks[k], accessPoints, setProbabilities[k]));
+                days[k] = ReadDay(mapped, ticks[k], accessPoints, setProbabilities[k]);
+            }
+            return new SeedData(floors, new CompiledSeedEntries(accessPointNames, dates, days));
+        } finally {
+            if(!keepOpen) channel.close();
+        }
+    }
+
+    /**
+     * Reads a day from the given buffer, which must contain the day without its header.
+     */
+    private static CompiledSeedDay ReadDay(ByteBuffer buffer, int ticks, int accessPoints, int setProbabilities){
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        int[] totals = new int[ticks];
+        buffer.asIntBuffer().get(totals);
+        buffer.position(ticks * 4);
+        boolean[] hasData = new boolean[ticks];
+        for(int tick = 0; tick < ticks; tick++){
+            hasData[tick] = buffer.get() != 0;
+        }
+        buffer.position(Pad(buffer.position()));
+        long[] present = new long[CompiledSeedDay.PresenceLongs(ticks, accessPoints)];
+        buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asLongBuffer().get(present);
+        buffer.position(buffer.position() + present.length * 8);
+        int[] sumOrder = new int[setProbabilities];
+        buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().get(sumOrder);
+        buffer.position(buffer.position() + Pad(sumOrder.length * 4));
+
+        double[] probabilities = new double[ticks * accessPoints];
+        buffer.slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(probabilities);
+        return new CompiledSeedDay(ticks, accessPoints, totals, hasData, present, sumOrder, probabilities);
+    }
+
+    /**
+     * Writes a snapshot of the given seed data. The data must not have been normalized yet.
+     * The snapshot is written to a temporary file first, so a failed write never leaves a partial snapshot behind.
+     *
+     * @param sourceFiles The input-files that the seed data was loaded from, in the same order as passed to {@link #Load}.
+     */
+    public static void Write(Path snapshot, List<Path> sourceFiles, String separator, SeedData data) throws IOException {
+        CompiledSeedEntries entries = data.seedEntries;
+        String[] accessPointNames = entries.getAccessPointNames();
+
+        List<byte[]> strings = new ArrayList<>();
+        for(FloorMetadata floor : data.floorMetadata){
+            strings.add(utf8(floor.floorKey));
+            for(String accessPoint : floor.accessPointsOnFloor) strings.add(utf8(accessPoint));
+            for(Map.Entry<String, String> combined : floor.combinedAccessPoints.entrySet()){
+                strings.add(utf8(combined.getKey()));
+                strings.add(utf8(combined.getValue()));
+            }
+        }
+        for(String name : accessPointNames) strings.add(utf8(name));
+        int metadataBytes = 4 + data.floorMetadata.length * (1 + 4 + 4) + 4 + 4;
+        for(byte[] string : strings) metadataBytes += 4 + string.length;
+        metadataBytes = Pad(metadataBytes);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + metadataBytes).order(ByteOrder.LITTLE_ENDIAN);
+        header.putLong(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(metadataBytes);
+        header.put(Fingerprint(sourceFiles, separator));
+        header.put(ContentHash(sourceFiles, separator));
+        Iterator<byte[]> nextString = strings.iterator();
+        header.putInt(data.floorMetadata.length);
+        for(FloorMetadata floor : data.floorMetadata){
+            putString(header, nextString.next());
+            header.put((byte) (floor.eligibleForAutoScaling ? 1 : 0));
+            header.putInt(floor.accessPointsOnFloor.size());
+            for(int i = 0; i < floor.accessPointsOnFloor.size(); i++) putString(header, nextString.next());
+            header.putInt(floor.combinedAccessPoints.size());
+            for(int i = 0; i < floor.combinedAccessPoints.size() * 2; i++) putString(header, nextString.next());
+        }
+        header.putInt(accessPointNames.length);
+        for(int i = 0; i < accessPointNames.length; i++) putString(header, nextString.next());
+        header.putInt(entries.getNumberOfDays());
+        header.position(header.capacity());
+        header.flip();
+
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try(FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+            writeFully(channel, header);
+
+            for(int k = 0; k < entries.getNumberOfDays(); k++){
+                CompiledSeedDay day = entries.getDay(k);
+                int ticks = day.getTicks();
+                int[] sumOrder = day.getSumOrder();
+                long dayBytes = DayBytes(ticks, accessPointNames.length, sumOrder.length);
+                if(DAY_HEADER_BYTES + dayBytes > Integer.MAX_VALUE) throw new IllegalStateException("Seed data for " + entries.getDate(k) + " is too large for a seed snapshot.");
+
+                ByteBuffer buffer = ByteBuffer.allocateDirect((int) (DAY_HEADER_BYTES + dayBytes)).order(ByteOrder.LITTLE_ENDIAN);
+                buffer.putLong(entries.getDate(k).toEpochDay());
+                buffer.putInt(ticks);
+                buffer.putInt(sumOrder.length);
+                buffer.asIntBuffer().put(day.getTotals());
+                buffer.position(buffer.position() + ticks * 4);
+                for(boolean tickHasData : day.getHasData()) buffer.put((byte) (tickHasData ? 1 : 0));
+                buffer.position(DAY_HEADER_BYTES + Pad(ticks * 4 + ticks));
+                buffer.asLongBuffer().put(day.getPresent());
+                buffer.position(buffer.position() + day.getPresent().length * 8);
+                buffer.asIntBuffer().put(sumOrder);
+                buffer.position(buffer.position() + Pad(sumOrder.length * 4));
+                buffer.asDoubleBuffer().put(day.getProbabilities());
+                buffer.position(buffer.capacity());
+                buffer.flip();
+                writeFully(channel, buffer);
+            }
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return The number of bytes of a day, excluding its header.
+     */
+    private static long DayBytes(int ticks, int accessPoints, int setProbabilities){
+        return Pad(ticks * 4L + ticks) + CompiledSeedDay.PresenceLongs(ticks, accessPoints) * 8L + Pad(setProbabilities * 4L)
+                + (long) ticks * accessPoints * 8L;
+    }
+
+    private static int Pad(int bytes){
+        return (bytes + 7) & ~7;
+    }
+
+    private static long Pad(long bytes){
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * Hashes the paths, sizes and modification times of the input-files. Cheap to compute, but changes whenever the
+     * files are touched or moved.
+     */
+    private static byte[] Fingerprint(List<Path> sourceFiles, String separator) throws IOException {
+        MessageDigest digest = Sha256();
+        digest.update(utf8(separator));
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        for(Path file : sourceFiles){
+            digest.update(utf8(file.toAbsolutePath().normalize().toString()));
+            buffer.clear();
+            buffer.putLong(Files.size(file));
+            buffer.putLong(Files.getLastModifiedTime(file).toMillis());
+            digest.update(buffer.array());
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Hashes the names and contents of the input-files.
+     */
+    private static byte[] ContentHash(List<Path> sourceFiles, String separator) throws IOException {
+        MessageDigest digest = Sha256();
+        digest.update(utf8(separator));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        ByteBuffer size = ByteBuffer.allocate(8);
+        for(Path file : sourceFiles){
+            digest.update(utf8(file.getFileName().toString()));
+            try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)){
+                size.clear();
+                size.putLong(channel.size());
+                digest.update(size.array());
+
+                buffer.clear();
+                while(channel.read(buffer) >= 0){
+                    buffer.flip();
+                    digest.update(buffer);
+                    buffer.clear();
+                }
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest Sha256(){
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported by every Java platform.", e);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while(buffer.hasRemaining()){
+            if(channel.read(buffer, position + buffer.position()) < 0) throw new IOException("Unexpected end of seed snapshot.");
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while(buffer.hasRemaining()){
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] utf8(String string){
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] string){
+        buffer.putInt(string.length);
+        buffer.put(string);
+    }
+
+    private static String getString(ByteBuffer buffer){
+        byte[] string = new byte[buffer.getInt()];
+        buffer.get(string);
+        return new String(string, StandardCharsets.UTF_8);
+    }
+}
@@ -3,18 +3,22 @@ package Benchmark.SeedLoader.Seeddata;
 import Benchmark.SeedLoader.Metadata.FloorMetadata;
 import Benchmark.Logger;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Class responsible for parsing the source data into something usable for combining with the generated data.
  * The input-files containing source-data is in a csv-ish format. See the python-script that generates the
  * files for file-format details.
+ *
+ * The files are parsed in parallel. The separator is matched literally.
  */
 public class SeeddataLoader {
 
@@ -45,45 +49,76 @@ public class SeeddataLoader {
         if(filesToParse == null){
             Logger.LOG("No files in seed data directory");
             throw new IOException("No files in directory");
-        } else {
-            try {
-                for(File file : filesToParse){
-                    List<Entry> parsedEntries = ParseSeedFile(separator, file, ignoreList, idMap, allUnignoredAPs);
-                    Entry[] entries = parsedEntries.toArray(new Entry[0]);
-
-                    // Seed data file is empty.
-                    if(entries.length == 0){
-                        continue;
-                    }
+        }
 
-                    LocalDate firstDate = entries[0].getTime().toLocalDate();
-                    for(int i = 1; i < entries.length; i++){
-                        if(!entries[i].getTime().toLocalDate().equals(firstDate)){
-                            // We could probably support this, but I dont need it so we just abort.
-                            throw new IllegalStateException("Seed data file contains data for multiple dates.");
-                        }
-                    }
+        // Each file holds the data of a single date, so the files are parsed in parallel and combined afterwards.
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(filesToParse.length, Runtime.getRuntime().availableProcessors())));
+        try {
+            List<ForkJoinTask<Entry[]>> tasks = new ArrayList<>();
+            for(File file : filesToParse){
+                tasks.add(pool.submit(() -> LoadSeedFile(separator, file, ignoreList, floorMetadata, idMap, allUnignoredAPs)));
+            }
 
-                    for(Entry entry : entries){
-                        if(!entry.hasData()) continue;
-                        CombineDataForAccessPoints(entry.getProbabilities(), floorMetadata);
-                    }
+            for(ForkJoinTask<Entry[]> task : tasks){
+                Entry[] entries;
+                try {
+                    entries = task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for seed data to load.", e);
+                } catch (ExecutionException e) {
+                    if(e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                    if(e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                    if(e.getCause() instanceof Error) throw (Error) e.getCause();
+                    throw new IllegalStateException("Seed data loading failed.", e.getCause());
+                }
 
-                    if(loadedEntries.containsKey(firstDate)){
-                        throw new IllegalStateException("Seed data file contains data for date that another file also contains data for. Combine all the data for a specific date in that file.");
-                    }
-                    // We index seed files by the date of their contents
-                    loadedEntries.put(firstDate, entries);
+                // Seed data file is empty.
+                if(entries.length == 0){
+                    continue;
                 }
-            } catch (IOException e) {
-                Logger.LOG("IO Error while attempting to read probability map file.");
-                throw e;
+
+                LocalDate date = entries[0].getTime().toLocalDate();
+                if(loadedEntries.containsKey(date)){
+                    throw new IllegalStateException("Seed data file contains data for date that another file also contains data for. Combine all the data for a specific date in that file.");
+                }
+                // We index seed files by the date of their contents
+                loadedEntries.put(date, entries);
             }
+        } catch (IOException e) {
+            Logger.LOG("IO Error while attempting to read probability map file.");
+            throw e;
+        } finally {
+            pool.shutdown();
         }
 
         return new SeedEntries(loadedEntries);
     }
 
+    private static Entry[] LoadSeedFile(String separator, File file, Set<String> ignoreList, FloorMetadata[] floorMetadata,
+                                        Map<String, String> idMap, Set<String> allUnignoredAPs) throws IOException {
+        List<Entry> parsedEntries = ParseSeedFile(separator, file, ignoreList, idMap, allUnignoredAPs);
+        Entry[] entries = parsedEntries.toArray(new Entry[0]);
+        if(entries.length == 0){
+            return entries;
+        }
+
+        LocalDate firstDate = entries[0].getTime().toLocalDate();
+        for(int i = 1; i < entries.length; i++){
+            if(!entries[i].getTime().toLocalDate().equals(firstDate)){
+                // We could probably support this, but I dont need it so we just abort.
+                throw new IllegalStateException("Seed data file contains data for multiple dates.");
+            }
+        }
+
+        for(Entry entry : entries){
+            if(!entry.hasData()) continue;
+            CombineDataForAccessPoints(entry.getProbabilities(), floorMetadata);
+        }
+
+        return entries;
+    }
+
     private static void CombineDataForAccessPoints(Map<String, Double> probabilities, FloorMetadata[] floorMetadata) {
         assert probabilities != null && !probabilities.isEmpty() : "Entry to combine data for has no data.";
 
@@ -111,71 +146,62 @@ public class SeeddataLoader {
                                              Map<String, String> idMap, Set<String> allUnignoredAPs) throws IOException {
         List<Entry> parsedEntries = new ArrayList<>();
 
-        try(BufferedReader reader = new BufferedReader(new FileReader(entryFile))){
-            String time = null;
-            int total = -1;
-            Map<String, Double> probabilities = new HashMap<>();
-
-            String line;
-            while((line = reader.readLine()) != null){
-                String[] entries = line.split(separator);
-                assert entries.length < 3 : "Too much data on line: " + line;
-
-                switch (entries[0]) {
-                    case "Time":
-                        if (time != null) {
-                            parsedEntries.add(new Entry(ParseDate(time), total, probabilities));
-                            total = -1;
-                            probabilities = new HashMap<>();
-                        }
-                        time = entries[1];
-                        break;
-                    case "Total clients":
-                        total = Integer.parseInt(entries[1]);
-                        break;
-                    case "NO DATA":
-                        continue;
-                    default:
-                        String seedAPName = entries[0];
-
-                        // If the pre- or post-idmap translated name exists in the ignore-list, just skip it.
-                        if(ignoreList.contains(seedAPName) || (idMap.containsKey(seedAPName) && ignoreList.contains(idMap.get(seedAPName)))){
-                            continue;
-                        }
-
-                        if(!idMap.containsKey(seedAPName)){
-                            // This isn't 100% required, we could just silently skip entries that we dont know anything about.
-                            //   However, this forces the seed-metadata to contain all APs that exist in the data to ensure that
-                            //   the user doesn't unknowingly ignore some of the data in their dataset. Here we force them
-                            //   to add it to the ignore-list if they intended to ignore it.
-                            throw new IllegalStateException("Seed data entry with name " + seedAPName + " not present in idmap. " +
-                                    "If you provided a non-empty IdMap file, then please add this AP and its mapping there. " +
-                                    "If you did not, then you probably forgot to add the AP to the floormap-file, the " +
-                                    "combined-file or the ignore-file.");
-                        }
-
-                        String properAPName = idMap.get(seedAPName);
-                        if(!allUnignoredAPs.contains(properAPName)){
-                            // This isn't 100% required, we could just silently skip entries that we dont know anything about.
-                            //   However, this forces the seed-metadata to contain all APs that exist in the data to ensure that
-                            //   the user doesn't unknowingly ignore some of the data in their dataset.
-                            throw new IllegalStateException("Seed data entry with name " + seedAPName + " translated to "
-                                    + properAPName + " via the IdMap is not present in the floor metadata. " +
-                                    "Did you forget to add it to the floormap-file or combined-file?");
-                        }
-
-                        Double probability = Double.parseDouble(entries[1]);
-                        probabilities.put(properAPName, probability);
-                        break;
+        SeedFileScanner scanner = new SeedFileScanner(Files.readAllBytes(entryFile.toPath()), separator);
+        LocalDateTime time = null;
+        int total = -1;
+        Map<String, Double> probabilities = new HashMap<>();
+
+        while(scanner.nextLine()){
+            if(scanner.isTime()){
+                if (time != null) {
+                    parsedEntries.add(new Entry(time, total, probabilities));
+                    total = -1;
+                    probabilities = new HashMap<>();
+                }
+                time = scanner.dateTimeValue();
+            } else if(scanner.isTotalClients()){
+                total = scanner.intValue();
+            } else if(scanner.isNoData()){
+                continue;
+            } else {
+                String seedAPName = scanner.key();
+
+                // If the pre- or post-idmap translated name exists in the ignore-list, just skip it.
+                if(ignoreList.contains(seedAPName) || (idMap.containsKey(seedAPName) && ignoreList.contains(idMap.get(seedAPName)))){
+                    continue;
+                }
+
+                if(!idMap.containsKey(seedAPName)){
+                    // This isn't 100% required, we could just silently skip entries that we dont know anything about.
+                    //   However, this forces the seed-metadata to contain all APs that exist in the data to ensure that
+                    //   the user doesn't unknowingly ignore some of the data in their dataset. Here we force them
+                    //   to add it to the ignore-list if they intended to ignore it.
+                    throw new IllegalStateException("Seed data entry with name " + seedAPName + " not present in idmap. " +
+                            "If you provided a non-empty IdMap file, then please add this AP and its mapping there. " +
+                            "If you did not, then you probably forgot to add the AP to the floormap-file, the " +
+                            "combined-file or the ignore-file.");
+                }
+
+                String properAPName = idMap.get(seedAPName);
+                if(!allUnignoredAPs.contains(properAPName)){
+                    // This isn't 100% required, we could just silently skip entries that we dont know anything about.
+                    //   However, this forces the seed-metadata to contain all APs that exist in the data to ensure that
+                    //   the user doesn't unknowingly ignore some of the data in their dataset.
+                    throw new IllegalStateException("Seed data entry with name " + seedAPName + " translated to "
+                            + properAPName + " via the IdMap is not present in the floor metadata. " +
+                            "Did you forget to add it to the floormap-file or combined-file?");
                 }
-            }
 
-            // This ensures we also add the final data-point in the seed data.
-            if(time != null){
-                parsedEntries.add(new Entry(ParseDate(time), total, probabilities));
+                Double probability = Double.parseDouble(scanner.value());
+                probabilities.put(properAPName, probability);
             }
         }
 
+        // This ensures we also add the final data-point in the seed data.
+        if(time != null){
+            parsedEntries.add(new Entry(time, total, probabilities));
+        }
+
         return parsedEntries;
     }
 
@@ -187,8 +213,4 @@ public class SeeddataLoader {
         }
         return allAPs;
     }
-
-    private static LocalDateTime ParseDate(String time){
-        return LocalDateTime.parse(time.replace("Z", ""));
-    }
 }
@@ -2,6 +2,8 @@ import Benchmark.*;
 import Benchmark.Databases.SchemaFormats;
 import Benchmark.Debug.*;
 import Benchmark.Config.ConfigFile;
+import Benchmark.Coordinator.CoordinatorClient;
+import Benchmark.Coordinator.IngestCoordinator;
 import Benchmark.Databases.DBTargets;
 import Benchmark.Databases.DatabaseTargetFactory;
 import Benchmark.Databases.DatabaseQueriesFactory;
@@ -13,6 +15,7 @@ import Benchmark.Queries.QueryOrchestrator;
 import Benchmark.SeedLoader.LoaderFacade;
 import Benchmark.Generator.Targets.*;
 import Benchmark.SeedLoader.SeedData;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
 import Benchmark.Queries.IQueries;
 
 import java.io.*;
@@ -98,8 +101,11 @@ public class Entrypoint {
         }
 
         GeneratedFloor[] generatedFloors;
+        CompiledSeedEntries compiledSeedEntries = null;
         if(config.isGeneratorEnabled()){
-            generatedFloors = generateFloorData(config, rng, parsedData);
+            generatedFloors = generateFloors(config, rng, parsedData);
+            compiledSeedEntries = parsedData.seedEntries;
+            generateFloorData(config, rng, generatedFloors, compiledSeedEntries);
 
             if(config.doSerialization()){
                 Logger.LOG("Serializing floor and rng.");
@@ -114,10 +120,33 @@ public class Entrypoint {
             Logger.LOG(String.format("Deserialized metadata for %s floors and %s APs", generatedFloors.length, GeneratedFloor.allAPsOnFloors(generatedFloors).length));
             Logger.LOG("Deserializing rng.");
             rng = Serializer.deserializeRandom(config.getSerializationPath());
-        }
 
+            if(config.isIngestionEnabled()){
+                compiledSeedEntries = parsedData.seedEntries;
+            }
+        }
         dateComm.setInitialDate(config.getGeneratorEndDate(), LocalTime.of(0,0,0));
 
+        // When coordinated, the local ingest-threads only ingest a shard of the APs, so queries must instead use the
+        //   newest time that all the ingest-processes have reached.
+        IngestCoordinator coordinator = null;
+        CoordinatorClient coordinatorClient = null;
+        DateCommunication queryDateComm = dateComm;
+        if(config.isCoordinated()){
+            if(config.isCoordinatorHost()){
+                String address = config.getCoordinatorAddress();
+                int port = Integer.parseInt(address.substring(address.lastIndexOf(':') + 1));
+                coordinator = new IngestCoordinator(port, generatedFloors, config.getCoordinatorIngestProcessCount());
+            }
+            Logger.LOG("Connecting to coordinator at " + config.getCoordinatorAddress());
+            coordinatorClient = new CoordinatorClient(config.getCoordinatorAddress());
+
+            if(config.isQueryingEnabled() && !config.doDateCommunicationByQueryingDatabase()){
+                queryDateComm = new DateCommunication();
+                queryDateComm.setInitialDate(config.getGeneratorEndDate(), LocalTime.of(0,0,0));
+            }
+        }
+
         // Create separate rng-sources for ingestion- and querying so that e.g. changing the number of ingest-threads
         //   between runs of the benchmark doesn't change the rng-source for queries (and therefore keeps the
         //   query-workload as comparable as possible)
@@ -129,21 +158,34 @@ public class Entrypoint {
         }
 
         IngestOrchestrator ingestOrchestrator = null;
+        CoordinatorClient.Shard shard = null;
         if(config.isIngestionEnabled()){
-            assert parsedData != null;
+            assert compiledSeedEntries != null;
             Logger.LOG("Starting ingestion.");
             ingestOrchestrator = new IngestOrchestrator(config);
-            ingestOrchestrator.prepareIngestion(generatedFloors, parsedData.seedEntries, dateComm, ingestRngSource,
-                    !config.doDateCommunicationByQueryingDatabase(), DEBUG_partitionLockstepChannel);
+            if(coordinatorClient != null){
+                shard = coordinatorClient.register();
+                Logger.LOG(String.format("Assigned shard %s of %s by coordinator, with %s APs.", shard.index + 1, shard.count, shard.apNames.length));
+                // The first shard may recreate the ingest-target, so the other shards must wait for it.
+                if(shard.index > 0) coordinatorClient.awaitFirstShardPrepared();
+            }
+            // Coordinated ingest-threads always track their progress locally, since it's reported to the coordinator.
+            ingestOrchestrator.prepareIngestion(generatedFloors, compiledSeedEntries, dateComm, ingestRngSource,
+                    !config.doDateCommunicationByQueryingDatabase() || config.isCoordinated(), shard, DEBUG_partitionLockstepChannel);
+            if(shard != null && shard.index == 0) coordinatorClient.markPrepared();
             ingestOrchestrator.startIngestion();
             Logger.LOG("Ingestion started.");
         }
 
+        if(coordinatorClient != null){
+            coordinatorClient.startSync(shard, dateComm, queryDateComm == dateComm ? null : queryDateComm, config.getCoordinatorSyncIntervalInMillisec());
+        }
+
         QueryOrchestrator queryOrchestrator = null;
         if(config.isQueryingEnabled()){
             Logger.LOG("Starting queries.");
             queryOrchestrator = new QueryOrchestrator(config, () -> instantiateQueries(config));
-            queryOrchestrator.prepareQuerying(generatedFloors, queryRngSource, dateComm);
+            queryOrchestrator.prepareQuerying(generatedFloors, queryRngSource, queryDateComm);
             queryOrchestrator.startQuerying();
             Logger.LOG("Queries started.");
         }
@@ -192,6 +234,13 @@ public class Entrypoint {
             queryOrchestrator.shutdownQuerying();
         }
 
+        if(coordinatorClient != null){
+            coordinatorClient.close();
+        }
+        if(coordinator != null){
+            coordinator.close();
+        }
+
         if(config.doLoggingToCSV()){
             CSVLogger.GeneralLogger.createOrGetInstance().setDone();
             Logger.LOG("Writing to CSV files.");
@@ -204,47 +253,70 @@ public class Entrypoint {
     private SeedData parseMapData(ConfigFile config) throws IOException {
         Logger.LOG("Loading seed data.");
         SeedData seedData = LoaderFacade.LoadSeedData(config);
-        Logger.LOG("Loaded seed data for " + seedData.floorMetadata.length + " floors, with " + seedData.seedEntries.loadedEntries.size() + " days of source data.");
+        Logger.LOG("Loaded seed data for " + seedData.floorMetadata.length + " floors and " + seedData.seedEntries.getNumberOfAccessPoints() + " APs, with " + seedData.seedEntries.getNumberOfDays() + " days of source data.");
         return seedData;
     }
 
-    private GeneratedFloor[] generateFloorData(ConfigFile config, Random rng, SeedData parsedData) throws Exception {
+    private GeneratedFloor[] generateFloors(ConfigFile config, Random rng, SeedData parsedData) {
         Logger.LOG("Generating floors.");
         GeneratedFloor[] generatedFloors = GeneratorFacade.GenerateFloors(config, parsedData, rng);
+        Logger.LOG(String.format("Generated metadata for %s floors and %s APs.", generatedFloors.length, GeneratedFloor.allAPsOnFloors(generatedFloors).length));
+        return generatedFloors;
+    }
 
+    private void generateFloorData(ConfigFile config, Random rng, GeneratedFloor[] generatedFloors, CompiledSeedEntries seedEntries) throws Exception {
         GeneratedAccessPoint[] allAPs = GeneratedFloor.allAPsOnFloors(generatedFloors);
-        Logger.LOG(String.format("Generated metadata for %s floors and %s APs.", generatedFloors.length, allAPs.length));
 
         Logger.LOG("Setting up targets.");
-        ITarget target = new BaseTarget();
+        // Each generator-thread gets its own instances of the targets.
+        int threads = config.getGeneratorThreadCount();
+        ITarget[] targets = new ITarget[threads];
+        CountTarget[] counters = new CountTarget[threads];
         try{
-            for(DBTargets configTarget : config.saveGeneratedDataTargets()){
-                target = new MultiTarget(target, DatabaseTargetFactory.createDatabaseTarget(configTarget, config, true, allAPs));
+            for(int i = 0; i < threads; i++){
+                targets[i] = new BaseTarget();
+                for(DBTargets configTarget : config.saveGeneratedDataTargets()){
+                    // Only the first instance recreates the target. The other instances then add to the recreated one.
+                    String csvFilePath = threads == 1 ? config.getGeneratorDiskTarget() : config.getGeneratorDiskTarget() + "." + i;
+                    targets[i] = new MultiTarget(targets[i], DatabaseTargetFactory.createDatabaseTarget(configTarget, config, i == 0, allAPs, csvFilePath));
+                }
+
+                counters[i] = new CountTarget();
+                targets[i] = new MultiTarget(targets[i], counters[i]);
             }
 
             PreciseTimer generationTimer = new PreciseTimer();
-            CountTarget counter = new CountTarget();
-            target = new MultiTarget(target, counter);
             Logger.LOG("Generating data.");
             generationTimer.start();
-            DataGenerator.Generate(allAPs, parsedData.seedEntries, config.getGeneratorStartDate(), config.getGeneratorEndDate(), rng, target, config);
+            if(threads == 1){
+                DataGenerator.Generate(allAPs, seedEntries, config.getGeneratorStartDate(), config.getGeneratorEndDate(), rng, targets[0], config);
+            } else {
+                DataGenerator.GenerateParallel(allAPs, seedEntries, config.getGeneratorStartDate(), config.getGeneratorEndDate(), rng, targets, config);
+            }
             double timeSpent = generationTimer.elapsedSeconds();
-            Logger.LOG(String.format("Generated %s entries in %.2f sec.", counter.getCount(), timeSpent));
-            if(config.doLoggingToCSV()) CSVLogger.GeneralLogger.createOrGetInstance().write("Main", String.format("Generated %s entries in %.2f sec.", counter.getCount(), timeSpent));
 
-            if(target.shouldStopEarly()){
+            long count = 0;
+            boolean stoppedEarly = false;
+            for(int i = 0; i < threads; i++){
+                count += counters[i].getCount();
+                stoppedEarly |= targets[i].shouldStopEarly();
+            }
+            Logger.LOG(String.format("Generated %s entries in %.2f sec.", count, timeSpent));
+            if(config.doLoggingToCSV()) CSVLogger.GeneralLogger.createOrGetInstance().write("Main", String.format("Generated %s entries in %.2f sec.", count, timeSpent));
+
+            if(stoppedEarly){
                 Logger.LOG("POTENTIAL ERROR: Generation was stopped early.");
             }
         } finally {
-            target.close();
+            for(ITarget target : targets){
+                if(target != null) target.close();
+            }
         }
 
         if(config.DEBUG_createPrecomputedTables()){
             Logger.LOG("DEBUG: Filling precomputation tables.");
             InfluxPrecomputationInsights.ComputeTotals(config.getGeneratorGenerationSamplerate(), generatedFloors, config);
         }
-
-        return generatedFloors;
     }
 
     private IQueries instantiateQueries(ConfigFile config){
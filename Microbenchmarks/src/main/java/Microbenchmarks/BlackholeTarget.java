@@ -0,0 +1,47 @@
+package Microbenchmarks;
+
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import Benchmark.Generator.Targets.ITarget;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Consumes the generated entries without doing anything with them, while counting the number of generated rows.
+ */
+public class BlackholeTarget implements ITarget {
+    private final Blackhole blackhole;
+    private long rows;
+
+    public BlackholeTarget(Blackhole blackhole){
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public void add(IGeneratedEntry entry) {
+        blackhole.consume(entry);
+        rows++;
+    }
+
+    @Override
+    public void addBatch(EntryBatch batch) {
+        blackhole.consume(batch);
+        rows += batch.size();
+    }
+
+    /**
+     * @return The number of rows added since the last call.
+     */
+    public long takeRows(){
+        long taken = rows;
+        rows = 0;
+        return taken;
+    }
+
+    @Override
+    public boolean shouldStopEarly() {
+        return false;
+    }
+
+    @Override
+    public void close() { }
+}
@@ -0,0 +1,50 @@
+package Microbenchmarks;
+
+import Benchmark.Databases.Csv.CsvColumnTarget;
+import Benchmark.Databases.Csv.CsvRowTarget;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import Benchmark.Generator.Targets.ITarget;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CSV-encoding of the CSV targets. The encoded rows are written to the null device.
+ *
+ * One operation is one batch of {@link TargetInput#ticks} ticks, added either entry by entry or as a single batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CsvTargetBenchmark {
+    private ITarget target;
+
+    @Setup(Level.Trial)
+    public void setup(TargetInput input) throws IOException {
+        target = input.schema == SchemaFormats.NARROW
+                ? new CsvRowTarget(input.config, Fixtures.NullDevice())
+                : new CsvColumnTarget(input.config, input.APs, Fixtures.NullDevice());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        target.close();
+    }
+
+    @Benchmark
+    public void addEntries(TargetInput input) throws Exception {
+        for(IGeneratedEntry entry : input.entries){
+            target.add(entry);
+        }
+    }
+
+    @Benchmark
+    public void addBatch(TargetInput input) throws Exception {
+        target.addBatch(input.batch);
+    }
+}
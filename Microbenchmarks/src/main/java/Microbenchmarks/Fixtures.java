@@ -0,0 +1,123 @@
+package Microbenchmarks;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
+import Benchmark.SeedLoader.Seeddata.Entry;
+import Benchmark.SeedLoader.Seeddata.SeedEntries;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Builds the synthetic seed data, APs, configs and batches used by the microbenchmarks, so that they don't depend on
+ * the seed-files or on a database being available.
+ */
+public class Fixtures {
+    public static final LocalDate START_DATE = LocalDate.of(2019, 1, 1);
+    public static final int SEED_SAMPLE_RATE = 60;
+    private static final int SEED_TICKS_PER_DAY = 86_400 / SEED_SAMPLE_RATE;
+
+    /**
+     * Loads a config consisting of the default settings, overwritten by the given properties.
+     *
+     * @NOTE: The default settings contain placeholder paths, so the config is not validated. Only use the settings
+     *        that are relevant to the benchmarked code.
+     */
+    public static ConfigFile Config(Properties overrides) throws IOException {
+        File file = File.createTempFile("microbenchmark", ".config");
+        try {
+            try(OutputStream output = new FileOutputStream(file)){
+                overrides.store(output, null);
+            }
+            return ConfigFile.load(file.getPath());
+        } finally {
+            file.delete();
+        }
+    }
+
+    /**
+     * Creates seed data for the given number of days and seed APs, with a sample rate of {@link #SEED_SAMPLE_RATE}.
+     * Like the real seed data, some ticks are missing, and some ticks are missing data for specific APs.
+     */
+    public static CompiledSeedEntries SeedData(int days, int seedAccessPoints, long seed){
+        Random rng = new Random(seed);
+        Map<LocalDate, Entry[]> loadedEntries = new HashMap<>();
+        for(int day = 0; day < days; day++){
+            LocalDate date = START_DATE.plusDays(day);
+            Entry[] entries = new Entry[SEED_TICKS_PER_DAY];
+            for(int tick = 0; tick < SEED_TICKS_PER_DAY; tick++){
+                LocalDateTime time = date.atStartOfDay().plusSeconds((long) tick * SEED_SAMPLE_RATE);
+                Map<String, Double> probabilities = new HashMap<>();
+                if(rng.nextInt(100) != 0){ // 1% of ticks are holes.
+                    for(int ap = 0; ap < seedAccessPoints; ap++){
+                        if(rng.nextInt(50) != 0) probabilities.put("SEED-AP-" + ap, rng.nextDouble() / seedAccessPoints);
+                    }
+                }
+                entries[tick] = new Entry(time, 500 + rng.nextInt(1000), probabilities);
+            }
+            loadedEntries.put(date, entries);
+        }
+        return CompiledSeedEntries.Compile(new SeedEntries(loadedEntries));
+    }
+
+    /**
+     * Creates the given number of APs, based on the given number of seed APs.
+     */
+    public static GeneratedAccessPoint[] AccessPoints(int accessPoints, int seedAccessPoints){
+        GeneratedAccessPoint[] APs = new GeneratedAccessPoint[accessPoints];
+        for(int i = 0; i < accessPoints; i++){
+            APs[i] = new GeneratedAccessPoint("AP-" + i, "SEED-AP-" + (i % seedAccessPoints));
+        }
+        return APs;
+    }
+
+    /**
+     * Creates a full batch of the given schema containing random values, with roughly the same shape as generated data.
+     */
+    public static EntryBatch Batch(SchemaFormats schema, GeneratedAccessPoint[] APs, int ticks, long seed){
+        Random rng = new Random(seed);
+        EntryBatch batch = new EntryBatch(schema, APs, ticks);
+        long time = START_DATE.toEpochDay() * 86_400L * 1_000_000_000L;
+        for(int tick = 0; tick < ticks; tick++){
+            time += SEED_SAMPLE_RATE * 1_000_000_000L;
+            switch (schema){
+                case NARROW:
+                    long readingTime = time;
+                    for(int apId = 0; apId < APs.length; apId++){
+                        readingTime += 15_000_000 + rng.nextInt(10_000_000);
+                        batch.addRow(readingTime, apId, rng.nextInt(50));
+                    }
+                    break;
+                case WIDE:
+                    int row = batch.addWideRow();
+                    for(int apId = 0; apId < APs.length; apId++){
+                        if(rng.nextInt(50) != 0) batch.setClients(row, apId, rng.nextInt(50));
+                    }
+                    batch.setEpochNanos(row, time + 15_000_000 + rng.nextInt(10_000_000));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown schema: " + schema);
+            }
+            batch.endTick();
+        }
+        return batch;
+    }
+
+    /**
+     * @return The path of a file that discards everything written to it.
+     */
+    public static String NullDevice(){
+        return System.getProperty("os.name").startsWith("Windows") ? "NUL" : "/dev/null";
+    }
+}
@@ -0,0 +1,74 @@
+package Microbenchmarks;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.DataGenerator;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how quickly the generator produces a day of data, without any target doing work on the generated rows.
+ * A generation sample rate below the seed sample rate of {@value Fixtures#SEED_SAMPLE_RATE} seconds includes
+ * the interpolation of seed ticks.
+ *
+ * One operation is one generated day. The number of generated rows per second is reported as the "rows" counter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+    @Param({"NARROW", "WIDE"})
+    public SchemaFormats schema;
+
+    @Param({"60", "20", "1"})
+    public int generationSampleRate;
+
+    @Param({"1", "60"})
+    public int batchTicks;
+
+    @Param({"200"})
+    public int accessPoints;
+
+    private ConfigFile config;
+    private CompiledSeedEntries data;
+    private GeneratedAccessPoint[] APs;
+    private BlackholeTarget target;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Rows {
+        public long rows;
+    }
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) throws IOException {
+        Properties settings = new Properties();
+        settings.setProperty("benchmark.schema", schema.toString());
+        settings.setProperty("generator.data.seedsamplerate", Integer.toString(Fixtures.SEED_SAMPLE_RATE));
+        settings.setProperty("generator.data.generationsamplerate", Integer.toString(generationSampleRate));
+        settings.setProperty("generator.data.batchticks", Integer.toString(batchTicks));
+        config = Fixtures.Config(settings);
+
+        // Two days, so that the first day can be interpolated all the way to its end.
+        data = Fixtures.SeedData(2, 100, 1234);
+        APs = Fixtures.AccessPoints(accessPoints, 100);
+        target = new BlackholeTarget(blackhole);
+    }
+
+    @Benchmark
+    public void generateDay(Rows rows) throws IOException, SQLException {
+        DataGenerator.Generate(APs, data, Fixtures.START_DATE, Fixtures.START_DATE.plusDays(1), new Random(1234), target, config);
+        rows.rows += target.takeRows();
+    }
+}
@@ -0,0 +1,53 @@
+package Microbenchmarks;
+
+import Benchmark.Databases.Influx.InfluxColumnTarget;
+import Benchmark.Databases.Influx.InfluxRowTarget;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import Benchmark.Generator.Targets.ITarget;
+import org.influxdb.InfluxDB;
+import org.influxdb.dto.Point;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the Influx targets build their points. The points are passed to a handle that only consumes them,
+ * so neither the batching of the Influx client nor the line-protocol encoding is included.
+ *
+ * One operation is one batch of {@link TargetInput#ticks} ticks, added either entry by entry or as a single batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InfluxTargetBenchmark {
+    private ITarget target;
+
+    @Setup(Level.Trial)
+    public void setup(TargetInput input, Blackhole blackhole) {
+        InfluxDB influxDB = (InfluxDB) Proxy.newProxyInstance(InfluxDB.class.getClassLoader(), new Class<?>[]{InfluxDB.class}, (proxy, method, args) -> {
+            if(args != null && args.length == 1 && args[0] instanceof Point) blackhole.consume(args[0]);
+            return null;
+        });
+        target = input.schema == SchemaFormats.NARROW
+                ? new InfluxRowTarget(input.config, influxDB)
+                : new InfluxColumnTarget(input.config, influxDB, input.APs);
+    }
+
+    @Benchmark
+    public void addEntries(TargetInput input) throws Exception {
+        for(IGeneratedEntry entry : input.entries){
+            target.add(entry);
+        }
+    }
+
+    @Benchmark
+    public void addBatch(TargetInput input) throws Exception {
+        target.addBatch(input.batch);
+    }
+}
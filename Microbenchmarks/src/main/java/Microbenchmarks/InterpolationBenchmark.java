@@ -0,0 +1,48 @@
+package Microbenchmarks;
+
+import Benchmark.SeedLoader.Seeddata.CompiledSeedEntries;
+import Benchmark.SeedLoader.Seeddata.InterpolatedSeedDay;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of reading every probability of a day of interpolated seed ticks, which the generator does once
+ * for every generated AP when generating faster than the seed sample rate.
+ *
+ * One operation is one interpolated day.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class InterpolationBenchmark {
+    @Param({"20", "1"})
+    public int generationSampleRate;
+
+    @Param({"100"})
+    public int seedAccessPoints;
+
+    private InterpolatedSeedDay day;
+
+    @Setup(Level.Trial)
+    public void setup(){
+        CompiledSeedEntries data = Fixtures.SeedData(2, seedAccessPoints, 1234);
+        day = data.getInterpolatedDays(generationSampleRate, Fixtures.SEED_SAMPLE_RATE)[0];
+    }
+
+    @Benchmark
+    public double readDay(){
+        double sum = 0;
+        for(int tick = 0; tick < day.getTicks(); tick++){
+            if(!day.isInterpolated(tick / day.getTicksPerSeedTick())) continue;
+            sum += day.getTotal(tick);
+            for(int ordinal = 0; ordinal < seedAccessPoints; ordinal++){
+                if(day.hasProbability(tick, ordinal)) sum += day.getProbability(tick, ordinal);
+            }
+        }
+        return sum;
+    }
+}
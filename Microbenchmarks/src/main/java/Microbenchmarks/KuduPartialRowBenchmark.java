@@ -0,0 +1,64 @@
+package Microbenchmarks;
+
+import Benchmark.Config.Granularity;
+import Benchmark.Databases.Kudu.KuduHelper;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import org.apache.kudu.Schema;
+import org.apache.kudu.client.PartialRow;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filling Kudu's {@link PartialRow}s with the rows of a batch. The Kudu targets can't be created without a
+ * running Kudu cluster, so this fills rows of the same schemas in the same way as
+ * {@code KuduRowTarget.addBatch} and {@code KuduColumnTarget.addBatch}. Keep the two in sync.
+ *
+ * One operation is one batch of {@link TargetInput#ticks} ticks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KuduPartialRowBenchmark {
+    // Kudu granularity is microseconds at best.
+    private static final Granularity GRANULARITY = Granularity.MICROSECOND;
+
+    private Schema schema;
+    private int[] columnIndices;
+
+    @Setup(Level.Trial)
+    public void setup(TargetInput input){
+        if(input.schema == SchemaFormats.NARROW){
+            schema = KuduHelper.createRowSchema();
+        } else {
+            schema = KuduHelper.createColumnSchema(input.APs);
+            columnIndices = new int[input.APs.length];
+            for(int i = 0; i < input.APs.length; i++){
+                columnIndices[i] = schema.getColumnIndex(input.APs[i].getAPname());
+            }
+        }
+    }
+
+    @Benchmark
+    public void fillRows(TargetInput input, Blackhole blackhole){
+        EntryBatch batch = input.batch;
+        for(int i = 0; i < batch.size(); i++){
+            PartialRow row = schema.newPartialRow();
+            row.addLong(0, TimeUnit.MICROSECONDS.convert(batch.getTime(i, GRANULARITY), GRANULARITY.toTimeUnit()));
+            if(input.schema == SchemaFormats.NARROW){
+                row.addString(1, batch.getAccessPoint(i).getAPname());
+                row.addInt(2, batch.getClients(i));
+            } else {
+                for(int apId = 0; apId < columnIndices.length; apId++){
+                    row.addInt(columnIndices[apId], batch.getClients(i, apId));
+                }
+            }
+            blackhole.consume(row);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package Microbenchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+/**
+ * Runs the microbenchmarks. Accepts the same arguments as the regular JMH runner, but always enables the
+ * GC profiler so that the allocation rate of each benchmark is reported alongside its throughput.
+ */
+public class Main {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        if(cmdOptions.shouldHelp()){
+            cmdOptions.showHelp();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        boolean hasGCProfiler = false;
+        for(ProfilerConfig profiler : cmdOptions.getProfilers()){
+            if(profiler.getKlass().equals(GCProfiler.class.getCanonicalName()) || profiler.getKlass().equals("gc")) hasGCProfiler = true;
+        }
+        if(!hasGCProfiler) options.addProfiler(GCProfiler.class);
+
+        Runner runner = new Runner(options.build());
+        if(cmdOptions.shouldList()){
+            runner.list();
+            return;
+        }
+        runner.run();
+    }
+}
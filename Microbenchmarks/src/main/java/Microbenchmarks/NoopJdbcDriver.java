@@ -0,0 +1,81 @@
+package Microbenchmarks;
+
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * A JDBC driver that accepts PostgreSQL connection-urls and discards everything, so that the Timescale targets can be
+ * benchmarked without a database.
+ *
+ * @NOTE: The connections and statements are dynamic proxies, so the boxing of bound values shows up in the
+ *        allocation rate. Compare allocation rates between runs rather than reading them as absolute numbers.
+ */
+public class NoopJdbcDriver implements Driver {
+    private static final String URL_PREFIX = "jdbc:postgresql:";
+
+    /**
+     * Deregisters all other drivers and registers this one. Drivers registered afterwards (such as the one that
+     * the Timescale targets register when connecting) come after this one, so this driver handles all connections.
+     */
+    public static synchronized void Install() throws SQLException {
+        for(Driver driver : Collections.list(DriverManager.getDrivers())){
+            if(!(driver instanceof NoopJdbcDriver)) DriverManager.deregisterDriver(driver);
+        }
+        DriverManager.registerDriver(new NoopJdbcDriver());
+    }
+
+    @Override
+    public Connection connect(String url, Properties info) {
+        if(!acceptsURL(url)) return null;
+        return Noop(Connection.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T Noop(Class<T> type){
+        return (T) Proxy.newProxyInstance(NoopJdbcDriver.class.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if(returnType == PreparedStatement.class) return Noop(PreparedStatement.class);
+            if(returnType == Statement.class) return Noop(Statement.class);
+            if(returnType == int[].class) return new int[0];
+            if(returnType == boolean.class) return false;
+            if(returnType == int.class) return 0;
+            if(returnType == long.class) return 0L;
+            if(method.getName().equals("hashCode")) return System.identityHashCode(proxy);
+            if(method.getName().equals("equals")) return proxy == args[0];
+            return null;
+        });
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(URL_PREFIX);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+}
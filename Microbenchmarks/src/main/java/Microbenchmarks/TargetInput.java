@@ -0,0 +1,47 @@
+package Microbenchmarks;
+
+import Benchmark.Config.ConfigFile;
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Generator.GeneratedData.EntryBatch;
+import Benchmark.Generator.GeneratedData.GeneratedAccessPoint;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Properties;
+
+/**
+ * The rows that the target benchmarks add to their target. The rows are available both as a batch, and as the
+ * individual entries that the generator adds when batching is disabled.
+ */
+@State(Scope.Thread)
+public class TargetInput {
+    @Param({"NARROW", "WIDE"})
+    public SchemaFormats schema;
+
+    @Param({"200"})
+    public int accessPoints;
+
+    @Param({"60"})
+    public int ticks;
+
+    public ConfigFile config;
+    public GeneratedAccessPoint[] APs;
+    public EntryBatch batch;
+    public IGeneratedEntry[] entries;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Properties settings = new Properties();
+        settings.setProperty("benchmark.schema", schema.toString());
+        settings.setProperty("generator.data.granularity", "NANOSECOND");
+        config = Fixtures.Config(settings);
+
+        APs = Fixtures.AccessPoints(accessPoints, 100);
+        batch = Fixtures.Batch(schema, APs, ticks, 1234);
+        entries = new IGeneratedEntry[batch.size()];
+        for(int i = 0; i < batch.size(); i++){
+            entries[i] = batch.toEntry(i);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package Microbenchmarks;
+
+import Benchmark.Databases.SchemaFormats;
+import Benchmark.Databases.Timescale.TimescaleColumnTarget;
+import Benchmark.Databases.Timescale.TimescaleRowTarget;
+import Benchmark.Generator.GeneratedData.IGeneratedEntry;
+import Benchmark.Generator.Targets.ITarget;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the Timescale targets bind their prepared statements, against the {@link NoopJdbcDriver}.
+ *
+ * One operation is one batch of {@link TargetInput#ticks} ticks, added either entry by entry or as a single batch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TimescaleTargetBenchmark {
+    private ITarget target;
+
+    @Setup(Level.Trial)
+    public void setup(TargetInput input) throws SQLException {
+        NoopJdbcDriver.Install();
+        target = input.schema == SchemaFormats.NARROW
+                ? new TimescaleRowTarget(input.config, false)
+                : new TimescaleColumnTarget(input.config, false, input.APs);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        target.close();
+    }
+
+    @Benchmark
+    public void addEntries(TargetInput input) throws Exception {
+        for(IGeneratedEntry entry : input.entries){
+            target.add(entry);
+        }
+    }
+
+    @Benchmark
+    public void addBatch(TargetInput input) throws Exception {
+        target.addBatch(input.batch);
+    }
+}